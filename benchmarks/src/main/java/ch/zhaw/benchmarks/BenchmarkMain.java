@@ -0,0 +1,40 @@
+package ch.zhaw.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Entry point of the benchmark jar.
+ * <p>
+ * Accepts the command line options of JMH, e.g. a regular expression to select the benchmarks, and always adds the
+ * GC profiler, hence every benchmark reports its allocation rate in bytes per operation next to its throughput.
+ * </p>
+ *
+ * @author StackOverflow
+ * @version 1.0
+ */
+public final class BenchmarkMain {
+
+    private BenchmarkMain() {
+    }
+
+    /**
+     * Runs the benchmarks selected by the command line options.
+     *
+     * @param args the JMH command line options.
+     * @throws CommandLineOptionException if the options are invalid.
+     * @throws RunnerException            if a benchmark fails.
+     */
+    public static void main(String[] args) throws CommandLineOptionException, RunnerException {
+        Options options = new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
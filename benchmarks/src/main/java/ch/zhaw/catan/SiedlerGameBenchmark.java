@@ -0,0 +1,225 @@
+package ch.zhaw.catan;
+
+import ch.zhaw.catan.Config.*;
+import ch.zhaw.catan.games.ThreePlayerStandard;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.awt.Point;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the rule and payout paths of {@link SiedlerGame} on the prepared positions of
+ * {@link ThreePlayerStandard}.
+ * <p>
+ * The illegal constructions do not change the game, hence they run on one game which is prepared once. The legal
+ * constructions, the trade and the thief placement change the game: they run on a batch of {@value #BATCH} games which
+ * are restored from a snapshot before each invocation, and every call consumes one of them. The restore is neither
+ * timed nor does its setup run for each single call. It still allocates within the iteration, hence the
+ * {@code gc.alloc.rate.norm} of these benchmarks minus the one of {@link #restoreBaseline} is the allocation of the
+ * measured call. The dice throws run on a batch of games whose resource cards are reset without allocation. The legal
+ * and illegal coordinates are those of the current player RED.
+ * </p>
+ *
+ * @author StackOverflow
+ * @version 1.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SiedlerGameBenchmark {
+    static final int BATCH = 100;
+    private static final int WIN_POINTS = 10;
+
+    /**
+     * A batch of games after the setup phase, where the resource cards of the players and the bank are reset before
+     * each invocation. The payout tables of the games are kept.
+     */
+    @State(Scope.Thread)
+    public static class DiceState {
+        @Param({"2", "3", "4", "5", "6", "7", "8", "9", "10", "11", "12"})
+        public int dice;
+
+        final SiedlerGame[] games = new SiedlerGame[BATCH];
+        private int[][] playerStocks;
+        private int[] bankStock;
+
+        @Setup
+        public void setUp() {
+            for (int g = 0; g < BATCH; g++) {
+                games[g] = ThreePlayerStandard.getAfterSetupPhase(WIN_POINTS);
+            }
+            List<Player> players = games[0].getPlayers();
+            playerStocks = new int[players.size()][Resource.values().length];
+            bankStock = new int[Resource.values().length];
+            for (Resource resource : Resource.values()) {
+                for (int p = 0; p < players.size(); p++) {
+                    playerStocks[p][resource.ordinal()] = players.get(p).getResourceCount(resource);
+                }
+                bankStock[resource.ordinal()] = games[0].getBank().getResourceCount(resource);
+            }
+        }
+
+        @Setup(Level.Invocation)
+        public void resetStocks() {
+            for (SiedlerGame game : games) {
+                List<Player> players = game.getPlayers();
+                for (Resource resource : Resource.values()) {
+                    for (int p = 0; p < players.size(); p++) {
+                        players.get(p).setResourceCount(resource, playerStocks[p][resource.ordinal()]);
+                    }
+                    game.getBank().setResourceCount(resource, bankStock[resource.ordinal()]);
+                }
+            }
+        }
+    }
+
+    /**
+     * A batch of games which are restored from a snapshot before each invocation.
+     */
+    public abstract static class RestoredState {
+        final SiedlerGame[] games = new SiedlerGame[BATCH];
+        private byte[] snapshot;
+
+        abstract SiedlerGame prepare();
+
+        @Setup
+        public void setUp() {
+            snapshot = GameSnapshot.save(prepare());
+        }
+
+        @Setup(Level.Invocation)
+        public void restore() {
+            for (int g = 0; g < BATCH; g++) {
+                games[g] = GameSnapshot.restore(snapshot);
+            }
+        }
+    }
+
+    /**
+     * The position after the setup phase with an almost empty bank, in which RED has enough resource cards for
+     * every structure.
+     */
+    @State(Scope.Thread)
+    public static class AlmostEmptyBankState extends RestoredState {
+        @Override
+        SiedlerGame prepare() {
+            return ThreePlayerStandard.getAfterSetupPhaseAlmostEmptyBank(WIN_POINTS);
+        }
+    }
+
+    /**
+     * The position in which RED can build its fifth settlement.
+     */
+    @State(Scope.Thread)
+    public static class FifthSettlementState extends RestoredState {
+        @Override
+        SiedlerGame prepare() {
+            return ThreePlayerStandard.getPlayerOneReadyToBuildFifthSettlement(WIN_POINTS);
+        }
+    }
+
+    /**
+     * The positions of {@link AlmostEmptyBankState} and {@link FifthSettlementState} for the calls which do not change
+     * the game. They are prepared once.
+     */
+    @State(Scope.Thread)
+    public static class UnchangedState {
+        SiedlerGame almostEmptyBank;
+        SiedlerGame fifthSettlement;
+
+        @Setup
+        public void setUp() {
+            almostEmptyBank = ThreePlayerStandard.getAfterSetupPhaseAlmostEmptyBank(WIN_POINTS);
+            fifthSettlement = ThreePlayerStandard.getPlayerOneReadyToBuildFifthSettlement(WIN_POINTS);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void throwDice(DiceState state, Blackhole blackhole) {
+        for (SiedlerGame game : state.games) {
+            blackhole.consume(game.throwDice(state.dice));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void restoreBaseline(AlmostEmptyBankState state, Blackhole blackhole) {
+        for (SiedlerGame game : state.games) {
+            blackhole.consume(game);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void buildSettlementLegal(FifthSettlementState state, Blackhole blackhole) {
+        for (SiedlerGame game : state.games) {
+            blackhole.consume(game.buildSettlement(
+                    ThreePlayerStandard.PLAYER_ONE_READY_TO_BUILD_FIFTH_SETTLEMENT_FIFTH_SETTLEMENT_POSITION));
+        }
+    }
+
+    @Benchmark
+    public boolean buildSettlementIllegal(UnchangedState state) {
+        return state.fifthSettlement.buildSettlement(new Point(5, 7));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void buildRoadLegal(AlmostEmptyBankState state, Blackhole blackhole) {
+        for (SiedlerGame game : state.games) {
+            blackhole.consume(game.buildRoad(new Point(6, 6), new Point(7, 7)));
+        }
+    }
+
+    @Benchmark
+    public boolean buildRoadIllegal(UnchangedState state) {
+        return state.almostEmptyBank.buildRoad(new Point(12, 12), new Point(13, 13));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void buildCityLegal(AlmostEmptyBankState state, Blackhole blackhole) {
+        for (SiedlerGame game : state.games) {
+            blackhole.consume(game.buildCity(new Point(5, 7)));
+        }
+    }
+
+    @Benchmark
+    public boolean buildCityIllegal(UnchangedState state) {
+        return state.almostEmptyBank.buildCity(new Point(11, 13));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void tradeWithBankFourToOne(AlmostEmptyBankState state, Blackhole blackhole) {
+        for (SiedlerGame game : state.games) {
+            blackhole.consume(game.tradeWithBankFourToOne(Resource.LUMBER, Resource.ORE));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void placeThiefAndStealCard(AlmostEmptyBankState state, Blackhole blackhole) {
+        for (SiedlerGame game : state.games) {
+            blackhole.consume(game.placeThiefAndStealCard(new Point(6, 8)));
+        }
+    }
+}
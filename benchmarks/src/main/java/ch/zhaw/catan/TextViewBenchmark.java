@@ -0,0 +1,48 @@
+package ch.zhaw.catan;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of the rendering of {@link SiedlerBoardTextView}, and hence of
+ * {@link ch.zhaw.hexboard.HexBoardTextView#toString()}, on the boards of {@link BoardFixtures}. The rendering of
+ * these boards is checked against golden files by the tests, so a faster renderer can be proven to produce the
+ * same output.
+ *
+ * @author StackOverflow
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TextViewBenchmark {
+
+    @Param({"empty", "midGame", "fullyBuilt", "20x20", "50x50"})
+    public String board;
+
+    private SiedlerBoardTextView view;
+
+    @Setup
+    public void setUp() {
+        view = BoardFixtures.createTextView(board);
+    }
+
+    @Benchmark
+    public String render() {
+        return view.toString();
+    }
+}
@@ -0,0 +1,177 @@
+package ch.zhaw.hexboard;
+
+import ch.zhaw.catan.Config;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.awt.Point;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the queries and updates of {@link HexBoard} on the standard board and on synthetic boards with
+ * rows x columns fields.
+ * <p>
+ * Every benchmark works on one element per invocation and cycles through all fields, corners or edges of the board,
+ * hence the results are averages over the whole board. Every fourth corner, every third edge and every corner of
+ * every field hold data, so the queries return non-empty results.
+ * </p>
+ *
+ * @author StackOverflow
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HexBoardBenchmark {
+
+  @Param({"standard", "20x20", "50x50"})
+  public String layout;
+
+  private Point[] fields;
+  private Point[] corners;
+  private Point[][] edges;
+  private HexBoard<String, String, String, String> board;
+  private int next;
+
+  /**
+   * Creates the board of the layout with its corner, edge and annotation data.
+   */
+  @Setup
+  public void setUp() {
+    fields = createFields(layout).toArray(new Point[0]);
+    board = createBoard(fields);
+
+    Set<Point> cornerSet = new LinkedHashSet<>();
+    List<Point[]> edgeList = new ArrayList<>();
+    Set<Edge> edgeSet = new LinkedHashSet<>();
+    for (Point field : fields) {
+      List<Point> fieldCorners = HexBoard.getCornerCoordinatesOfField(field);
+      cornerSet.addAll(fieldCorners);
+      for (Point corner : fieldCorners) {
+        board.addFieldAnnotation(field, corner, "a");
+      }
+      Point[] ring = {fieldCorners.get(0), fieldCorners.get(1), fieldCorners.get(2), fieldCorners.get(3),
+          fieldCorners.get(5), fieldCorners.get(4)};
+      for (int i = 0; i < ring.length; i++) {
+        Point p1 = ring[i];
+        Point p2 = ring[(i + 1) % ring.length];
+        if (edgeSet.add(new Edge(p1, p2))) {
+          edgeList.add(new Point[] {p1, p2});
+        }
+      }
+    }
+    corners = cornerSet.toArray(new Point[0]);
+    edges = edgeList.toArray(new Point[0][]);
+
+    for (int i = 0; i < corners.length; i += 4) {
+      board.setCorner(corners[i], "c");
+    }
+    for (int i = 0; i < edges.length; i += 3) {
+      board.setEdge(edges[i][0], edges[i][1], "e");
+    }
+  }
+
+  /**
+   * Builds a new board with all fields of the layout.
+   *
+   * @return the board
+   */
+  @Benchmark
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public HexBoard<String, String, String, String> addField() {
+    return createBoard(fields);
+  }
+
+  @Benchmark
+  public String getCorner() {
+    return board.getCorner(nextCorner());
+  }
+
+  @Benchmark
+  public void setEdge() {
+    Point[] e = nextEdge();
+    board.setEdge(e[0], e[1], "e");
+  }
+
+  @Benchmark
+  public boolean hasEdge() {
+    Point[] e = nextEdge();
+    return board.hasEdge(e[0], e[1]);
+  }
+
+  @Benchmark
+  public List<String> getAdjacentEdges() {
+    return board.getAdjacentEdges(nextCorner());
+  }
+
+  @Benchmark
+  public List<String> getNeighboursOfCorner() {
+    return board.getNeighboursOfCorner(nextCorner());
+  }
+
+  @Benchmark
+  public List<String> getFieldAnnotationsForCorner() {
+    return board.getFieldAnnotationsForCorner(nextCorner());
+  }
+
+  @Benchmark
+  public Edge createEdge() {
+    Point[] e = nextEdge();
+    return new Edge(e[0], e[1]);
+  }
+
+  private Point nextCorner() {
+    next = next + 1 < corners.length ? next + 1 : 0;
+    return corners[next];
+  }
+
+  private Point[] nextEdge() {
+    next = next + 1 < edges.length ? next + 1 : 0;
+    return edges[next];
+  }
+
+  private static HexBoard<String, String, String, String> createBoard(Point[] fields) {
+    HexBoard<String, String, String, String> board = new HexBoard<>();
+    for (Point field : fields) {
+      board.addField(field, "f");
+    }
+    return board;
+  }
+
+  /**
+   * Returns the fields of a layout: the fields of the standard board, or the fields of a synthetic board given as
+   * rows x columns. The rows of a synthetic board are shifted alternately like the rows of the standard board.
+   */
+  static List<Point> createFields(String layout) {
+    if (layout.equals("standard")) {
+      return new ArrayList<>(Config.getStandardLandPlacement().keySet());
+    }
+    String[] size = layout.split("x");
+    int rows = Integer.parseInt(size[0]);
+    int columns = Integer.parseInt(size[1]);
+    List<Point> fields = new ArrayList<>(rows * columns);
+    for (int row = 0; row < rows; row++) {
+      for (int column = 0; column < columns; column++) {
+        fields.add(new Point(2 * column + (row % 2 == 0 ? 2 : 1), 2 + 3 * row));
+      }
+    }
+    return fields;
+  }
+}
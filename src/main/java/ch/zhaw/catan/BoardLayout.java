@@ -0,0 +1,329 @@
+package ch.zhaw.catan;
+
+import ch.zhaw.catan.Config.*;
+import ch.zhaw.hexboard.HexBoard;
+
+import java.awt.Point;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * This class represents a board layout: the lands and dice values of the fields and the start position of the thief.
+ * <p>
+ * Besides the standard layout of {@link Config}, layouts are loaded from text files with one definition per line.
+ * Empty lines and lines starting with {@code #} are ignored.
+ * </p>
+ * <pre>
+ * field 5 5 FOREST 6     a field with its land and, if the land has a resource, its dice value
+ * field 7 11 DESERT      a field without a resource
+ * thief 7 11             the start position of the thief, on a field which is not water
+ * water-ring             surrounds all fields with water fields, where no field is defined
+ * </pre>
+ * <p>
+ * A file is parsed and validated once, and the layout is cached with a board built from it. Every game on the layout
+ * gets a copy of this board, so switching between layouts costs neither parsing nor building. A changed file is
+ * therefore only read again after a restart.
+ * </p>
+ * <p>
+ * {@link GameJournal} and {@link GameSnapshot} store coordinates and the number of fields as single bytes, hence the
+ * corners of all fields must lie within {@value #MAX_COORDINATE} and a layout has at most {@value #MAX_FIELDS} fields,
+ * including the water ring. A journal identifies its layout by the {@link #getDigest() digest}.
+ * </p>
+ *
+ * @author StackOverflow
+ * @version 1.0
+ */
+public final class BoardLayout {
+    private static final ConcurrentMap<Path, BoardLayout> LOADED = new ConcurrentHashMap<>();
+    private static final int[][] NEIGHBOUR_OFFSETS = {{-2, 0}, {2, 0}, {-1, -3}, {1, -3}, {-1, 3}, {1, 3}};
+    /**
+     * The largest coordinate of a corner, as the journal stores coordinates as signed bytes.
+     */
+    static final int MAX_COORDINATE = Byte.MAX_VALUE;
+    /**
+     * The largest number of fields, as the snapshot stores the number of fields as an unsigned byte.
+     */
+    static final int MAX_FIELDS = 255;
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final Map<Point, Land> landPlacement;
+    private final Map<Point, Integer> diceNumberPlacement;
+    private final Point thiefPosition;
+    private final SiedlerBoard template;
+    private final long fieldDigest;
+    private final long digest;
+
+    private BoardLayout(Map<Point, Land> landPlacement, Map<Point, Integer> diceNumberPlacement, Point thiefPosition) {
+        this.landPlacement = Collections.unmodifiableMap(landPlacement);
+        this.diceNumberPlacement = Collections.unmodifiableMap(diceNumberPlacement);
+        this.thiefPosition = thiefPosition;
+        this.template = new SiedlerBoard(landPlacement, diceNumberPlacement);
+        this.fieldDigest = digestFields(landPlacement, diceNumberPlacement);
+        this.digest = mix(mix(fieldDigest, thiefPosition.x), thiefPosition.y);
+    }
+
+    /**
+     * Returns the standard layout of {@link Config}.
+     *
+     * @return the standard layout.
+     */
+    public static BoardLayout standard() {
+        return Standard.LAYOUT;
+    }
+
+    /**
+     * Returns the layout defined in a file. The file is only parsed on the first call for its path.
+     *
+     * @param file the layout file.
+     * @return the layout.
+     * @throws IOException              if the file cannot be read.
+     * @throws IllegalArgumentException if the file is not a valid layout, with the line of the first error.
+     */
+    public static BoardLayout load(Path file) throws IOException {
+        Path key = file.toAbsolutePath().normalize();
+        BoardLayout layout = LOADED.get(key);
+        if (layout == null) {
+            layout = parse(Files.readAllLines(key, StandardCharsets.UTF_8), key.toString());
+            BoardLayout previous = LOADED.putIfAbsent(key, layout);
+            if (previous != null) {
+                layout = previous;
+            }
+        }
+        return layout;
+    }
+
+    /**
+     * Parses and validates the lines of a layout definition.
+     *
+     * @param lines  the lines.
+     * @param source the name of the definition, for the error messages.
+     * @return the layout.
+     * @throws IllegalArgumentException if the lines are not a valid layout, with the line of the first error.
+     */
+    static BoardLayout parse(List<String> lines, String source) {
+        Map<Point, Land> lands = new HashMap<>();
+        Map<Point, Integer> diceValues = new HashMap<>();
+        Point thief = null;
+        boolean waterRing = false;
+        for (int i = 0; i < lines.size(); i++) {
+            String line = lines.get(i).strip();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            String[] tokens = line.split("\\s+");
+            try {
+                switch (tokens[0]) {
+                    case "field" -> parseField(tokens, lands, diceValues);
+                    case "thief" -> {
+                        checkTokens(tokens, 3);
+                        if (thief != null) {
+                            throw new IllegalArgumentException("The thief is already placed.");
+                        }
+                        thief = parsePoint(tokens);
+                    }
+                    case "water-ring" -> {
+                        checkTokens(tokens, 1);
+                        waterRing = true;
+                    }
+                    default -> throw new IllegalArgumentException("Unknown definition " + tokens[0] + ".");
+                }
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException(source + ", line " + (i + 1) + ": " + e.getMessage(), e);
+            }
+        }
+
+        if (lands.isEmpty()) {
+            throw new IllegalArgumentException(source + ": The layout has no fields.");
+        }
+        if (thief == null || lands.get(thief) == null || lands.get(thief) == Land.WATER) {
+            throw new IllegalArgumentException(source + ": The thief must start on a field which is not water.");
+        }
+        if (waterRing) {
+            addWaterRing(lands, source);
+        }
+        if (lands.size() > MAX_FIELDS) {
+            throw new IllegalArgumentException(source + ": The layout has " + lands.size() + " fields, at most "
+                    + MAX_FIELDS + " are supported.");
+        }
+        return new BoardLayout(lands, diceValues, thief);
+    }
+
+    private static void parseField(String[] tokens, Map<Point, Land> lands, Map<Point, Integer> diceValues) {
+        if (tokens.length != 4 && tokens.length != 5) {
+            throw new IllegalArgumentException("A field needs its coordinates, its land and maybe a dice value.");
+        }
+        Point field = parsePoint(tokens);
+        Land land = Land.valueOf(tokens[3]);
+        if (lands.putIfAbsent(field, land) != null) {
+            throw new IllegalArgumentException("The field " + format(field) + " is already defined.");
+        }
+        if (land.getResource() == null) {
+            if (tokens.length == 5) {
+                throw new IllegalArgumentException("The land " + land + " has no resource and no dice value.");
+            }
+            return;
+        }
+        if (tokens.length != 5) {
+            throw new IllegalArgumentException("The land " + land + " needs a dice value.");
+        }
+        int diceValue = Integer.parseInt(tokens[4]);
+        if (diceValue < 2 || diceValue > 12 || diceValue == SiedlerGame.THIEF_DICE_THROW) {
+            throw new IllegalArgumentException("The dice value " + diceValue + " is not between 2 and 12 or is 7.");
+        }
+        diceValues.put(field, diceValue);
+    }
+
+    private static Point parsePoint(String[] tokens) {
+        Point point = new Point(Integer.parseInt(tokens[1]), Integer.parseInt(tokens[2]));
+        if (!isField(point)) {
+            throw new IllegalArgumentException(format(point) + " is not the center of a field.");
+        }
+        return point;
+    }
+
+    private static boolean isField(Point point) {
+        // the corners of a field lie one column and two rows around its center
+        return point.x >= 1 && point.y >= 2 && point.x + 1 <= MAX_COORDINATE && point.y + 2 <= MAX_COORDINATE
+                && HexBoard.isFieldCoordinate(point);
+    }
+
+    private static void checkTokens(String[] tokens, int count) {
+        if (tokens.length != count) {
+            throw new IllegalArgumentException("The definition " + tokens[0] + " needs " + (count - 1) + " values.");
+        }
+    }
+
+    private static void addWaterRing(Map<Point, Land> lands, String source) {
+        for (Point field : List.copyOf(lands.keySet())) {
+            if (lands.get(field) == Land.WATER) {
+                continue;
+            }
+            for (int[] offset : NEIGHBOUR_OFFSETS) {
+                Point neighbour = new Point(field.x + offset[0], field.y + offset[1]);
+                if (!isField(neighbour)) {
+                    throw new IllegalArgumentException(source + ": The water ring around " + format(field)
+                            + " does not fit on the board, move the fields away from the border.");
+                }
+                lands.putIfAbsent(neighbour, Land.WATER);
+            }
+        }
+    }
+
+    private static String format(Point point) {
+        return "(" + point.x + ", " + point.y + ")";
+    }
+
+    /**
+     * Creates a new board with this layout and without structures.
+     *
+     * @return the board.
+     */
+    public SiedlerBoard createBoard() {
+        return new SiedlerBoard(template);
+    }
+
+    /**
+     * Returns the lands of the fields.
+     *
+     * @return an unmodifiable map of the fields to their lands.
+     */
+    public Map<Point, Land> getLandPlacement() {
+        return landPlacement;
+    }
+
+    /**
+     * Returns the dice values of the fields with a resource.
+     *
+     * @return an unmodifiable map of the fields to their dice values.
+     */
+    public Map<Point, Integer> getDiceNumberPlacement() {
+        return diceNumberPlacement;
+    }
+
+    /**
+     * Returns the field on which the thief starts.
+     *
+     * @return a copy of the position of the thief.
+     */
+    public Point getThiefPosition() {
+        return new Point(thiefPosition);
+    }
+
+    /**
+     * Returns a digest of the fields, lands, dice values and the start position of the thief. Layouts with the same
+     * definition have the same digest, also in another JVM.
+     *
+     * @return the digest.
+     */
+    public long getDigest() {
+        return digest;
+    }
+
+    SiedlerBoard getTemplate() {
+        return template;
+    }
+
+    /**
+     * Returns the board of the standard layout or of a layout loaded from a file, which has the given fields.
+     *
+     * @param lands      the lands of the fields.
+     * @param diceValues the dice values of the fields with a resource.
+     * @return the board without structures or null, if no known layout has these fields.
+     */
+    static SiedlerBoard findTemplate(Map<Point, Land> lands, Map<Point, Integer> diceValues) {
+        long digest = digestFields(lands, diceValues);
+        if (standard().hasFields(digest, lands, diceValues)) {
+            return standard().template;
+        }
+        for (BoardLayout layout : LOADED.values()) {
+            if (layout.hasFields(digest, lands, diceValues)) {
+                return layout.template;
+            }
+        }
+        return null;
+    }
+
+    private boolean hasFields(long digest, Map<Point, Land> lands, Map<Point, Integer> diceValues) {
+        return fieldDigest == digest && landPlacement.equals(lands) && diceNumberPlacement.equals(diceValues);
+    }
+
+    /**
+     * Computes a 64-bit FNV-1a hash over the fields ordered by row and column. The digest of a layout continues it
+     * with the thief position.
+     */
+    private static long digestFields(Map<Point, Land> lands, Map<Point, Integer> diceValues) {
+        List<Point> fields = new ArrayList<>(lands.keySet());
+        fields.sort(Comparator.<Point>comparingInt(p -> p.y).thenComparingInt(p -> p.x));
+        long hash = FNV_OFFSET_BASIS;
+        for (Point field : fields) {
+            hash = mix(hash, field.x);
+            hash = mix(hash, field.y);
+            hash = mix(hash, lands.get(field).ordinal());
+            hash = mix(hash, diceValues.getOrDefault(field, 0));
+        }
+        return hash;
+    }
+
+    private static long mix(long hash, int value) {
+        return (hash ^ value) * FNV_PRIME;
+    }
+
+    /**
+     * Holds the standard layout, which is created on the first use.
+     */
+    private static final class Standard {
+        private static final BoardLayout LAYOUT = new BoardLayout(new HashMap<>(Config.getStandardLandPlacement()),
+                new HashMap<>(Config.getStandardDiceNumberPlacement()), Config.INITIAL_THIEF_POSITION);
+    }
+}
@@ -131,11 +131,18 @@ public class Config {
     ROAD(List.of(Resource.LUMBER, Resource.BRICK), NUMBER_OF_ROADS_PER_PLAYER);
 
     private final List<Resource> costs;
+    private final int[] costCounts = new int[Resource.values().length];
+    private final Map<Resource, Long> costsAsMap;
     private final int stockPerPlayer;
 
     private Structure(List<Resource> costs, int stockPerPlayer) {
       this.costs = costs;
       this.stockPerPlayer = stockPerPlayer;
+      for (Resource resource : costs) {
+        costCounts[resource.ordinal()]++;
+      }
+      this.costsAsMap = Collections.unmodifiableMap(costs.stream()
+          .collect(Collectors.groupingBy(Function.identity(), Collectors.counting())));
     }
 
     /**
@@ -153,11 +160,31 @@ public class Config {
     /**
      * Returns the build costs of this structure.
      *
-     * @return the build costs in terms of the number of resource cards per resource type
+     * @return the build costs in terms of the number of resource cards per resource type, as
+     *     an unmodifiable map
      */
     public Map<Resource, Long> getCostsAsMap() {
-      return costs.stream()
-          .collect(Collectors.groupingBy(Function.identity(), Collectors.counting()));
+      return costsAsMap;
+    }
+
+    /**
+     * Returns the number of resource cards of a resource type in the build costs.
+     *
+     * @param resource the resource type
+     * @return the number of cards, 0 if the resource is not needed
+     */
+    public int getCostCount(Resource resource) {
+      return costCounts[resource.ordinal()];
+    }
+
+    /**
+     * Returns the build costs as the number of resource cards per resource type, indexed by
+     * the ordinal of the {@link Resource}. The array is shared and must not be modified.
+     *
+     * @return the cost counts
+     */
+    int[] getCostCounts() {
+      return costCounts;
     }
 
     /**
@@ -173,13 +200,22 @@ public class Config {
   }
 
   // STANDARD FIXED DICE NUMBER TO FIELD SETUP
+  private static final Map<Point, Integer> STANDARD_DICE_NUMBER_PLACEMENT = createStandardDiceNumberPlacement();
+
   /**
    * Returns a mapping of the dice values per field.
-   * 
+   * <p>
+   * The mapping is created once and shared. It cannot be modified, and neither
+   * may the points be changed.
+   * </p>
+   *
    * @return the dice values per field
    */
   public static final Map<Point, Integer> getStandardDiceNumberPlacement() {
+    return STANDARD_DICE_NUMBER_PLACEMENT;
+  }
 
+  private static Map<Point, Integer> createStandardDiceNumberPlacement() {
     return Map.ofEntries(
             Map.entry(new Point(4, 8), 2),
             Map.entry(new Point(7, 5), 3),
@@ -203,14 +239,24 @@ public class Config {
   }
 
   // STANDARD FIXED LAND SETUP
+  private static final Map<Point, Land> STANDARD_LAND_PLACEMENT = createStandardLandPlacement();
+
   /**
    * Returns the field (coordinate) to {@link Land} mapping for the <a href=
    * "https://www.catan.de/files/downloads/4002051693602_catan_-_das_spiel_0.pdf">standard
    * setup</a> of the game Catan.
-   * 
+   * <p>
+   * The mapping is created once and shared. It cannot be modified, and neither
+   * may the points be changed.
+   * </p>
+   *
    * @return the field to {@link Land} mapping for the standard setup
    */
   public static final Map<Point, Land> getStandardLandPlacement() {
+    return STANDARD_LAND_PLACEMENT;
+  }
+
+  private static Map<Point, Land> createStandardLandPlacement() {
     Map<Point, Land> assignment = new HashMap<>();
     Point[] water = { new Point(4, 2), new Point(6, 2), new Point(8, 2), new Point(10, 2),
         new Point(3, 5), new Point(11, 5), new Point(2, 8), new Point(12, 8), new Point(1, 11),
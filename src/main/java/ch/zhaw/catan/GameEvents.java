@@ -0,0 +1,246 @@
+package ch.zhaw.catan;
+
+import ch.zhaw.catan.Config.*;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+import java.awt.Point;
+import java.util.Arrays;
+
+/**
+ * This class contains the Java Flight Recorder events of the game loop, emitted by {@link SiedlerGame}.
+ * <p>
+ * Every event is timed from the start to the end of the game action and carries the faction of the acting player.
+ * The events are enabled in a recording like any JDK event, e.g. with
+ * {@code -XX:StartFlightRecording:settings=profile}. The events are only created while a recording has enabled their
+ * type, otherwise {@code startIfEnabled} returns null, so the game loop neither allocates nor fills them.
+ * </p>
+ *
+ * @author StackOverflow
+ * @version 1.0
+ */
+final class GameEvents {
+    private static final String CATEGORY = "Siedler";
+
+    private GameEvents() {
+    }
+
+    /**
+     * A throw of the dice, including the payout or the discarding on a 7.
+     */
+    @Name("ch.zhaw.catan.DiceThrow")
+    @Label("Dice Throw")
+    @Category(CATEGORY)
+    static final class DiceThrow extends Event {
+        private static final EventType TYPE = EventType.getEventType(DiceThrow.class);
+
+        @Label("Faction")
+        String faction;
+
+        @Label("Dice Value")
+        int diceValue;
+
+        @Label("Resources Moved")
+        @Description("The resource cards paid out, or discarded if a 7 is thrown")
+        int resourcesMoved;
+
+        static DiceThrow startIfEnabled(Faction faction, int diceValue) {
+            if (!TYPE.isEnabled()) {
+                return null;
+            }
+            DiceThrow event = new DiceThrow();
+            event.begin();
+            event.faction = faction.name();
+            event.diceValue = diceValue;
+            return event;
+        }
+    }
+
+    /**
+     * The payout of the resource cards of all fields with the thrown dice value.
+     */
+    @Name("ch.zhaw.catan.Payout")
+    @Label("Payout")
+    @Category(CATEGORY)
+    static final class Payout extends Event {
+        private static final EventType TYPE = EventType.getEventType(Payout.class);
+
+        @Label("Dice Value")
+        int diceValue;
+
+        @Label("Resources Moved")
+        int resourcesMoved;
+
+        /**
+         * Starts a payout event, but only while a recording has enabled it. The payout runs once per dice throw,
+         * also in the batches of {@link SiedlerGame#throwDice(int[], int[][])}, which must not allocate.
+         *
+         * @return the started event, or null if it is not enabled.
+         */
+        static Payout startIfEnabled() {
+            if (!TYPE.isEnabled()) {
+                return null;
+            }
+            Payout event = new Payout();
+            event.begin();
+            return event;
+        }
+    }
+
+    /**
+     * The construction of a settlement, a city or a road, including the placements of the founder's phase.
+     */
+    @Name("ch.zhaw.catan.Build")
+    @Label("Build")
+    @Category(CATEGORY)
+    static final class Build extends Event {
+        private static final EventType TYPE = EventType.getEventType(Build.class);
+
+        @Label("Faction")
+        String faction;
+
+        @Label("Structure")
+        String structure;
+
+        @Label("X")
+        int x;
+
+        @Label("Y")
+        int y;
+
+        @Label("End X")
+        @Description("The x coordinate of the end of a road")
+        int endX;
+
+        @Label("End Y")
+        @Description("The y coordinate of the end of a road")
+        int endY;
+
+        @Label("Success")
+        boolean success;
+
+        @Label("Resources Moved")
+        @Description("The resource cards paid to the bank")
+        int resourcesMoved;
+
+        static Build startIfEnabled(Faction faction, Structure structure, Point position, Point end) {
+            if (!TYPE.isEnabled()) {
+                return null;
+            }
+            Build event = new Build();
+            event.begin();
+            event.faction = faction.name();
+            event.structure = structure.name();
+            if (position != null) {
+                event.x = position.x;
+                event.y = position.y;
+            }
+            if (end != null) {
+                event.endX = end.x;
+                event.endY = end.y;
+            }
+            return event;
+        }
+
+        void succeed(Structure structure, boolean isPaid) {
+            success = true;
+            resourcesMoved = isPaid ? structure.getCosts().size() : 0;
+        }
+    }
+
+    /**
+     * A trade with the bank or between two players.
+     */
+    @Name("ch.zhaw.catan.Trade")
+    @Label("Trade")
+    @Category(CATEGORY)
+    static final class Trade extends Event {
+        private static final EventType TYPE = EventType.getEventType(Trade.class);
+
+        @Label("Faction")
+        String faction;
+
+        @Label("Counterparty")
+        @Description("The faction of the other player, or BANK")
+        String counterparty;
+
+        @Label("Resources Given")
+        int resourcesGiven;
+
+        @Label("Resources Received")
+        int resourcesReceived;
+
+        @Label("Success")
+        boolean success;
+
+        static Trade startIfEnabled(Faction faction, String counterparty, int resourcesGiven, int resourcesReceived) {
+            if (!TYPE.isEnabled()) {
+                return null;
+            }
+            Trade event = new Trade();
+            event.begin();
+            event.faction = faction.name();
+            event.counterparty = counterparty;
+            event.resourcesGiven = resourcesGiven;
+            event.resourcesReceived = resourcesReceived;
+            return event;
+        }
+
+        static Trade startIfEnabled(Faction faction, Faction counterparty, int[] resourcesGiven,
+                                    int[] resourcesReceived) {
+            if (!TYPE.isEnabled()) {
+                return null;
+            }
+            return startIfEnabled(faction, counterparty.name(), Arrays.stream(resourcesGiven).sum(),
+                    Arrays.stream(resourcesReceived).sum());
+        }
+    }
+
+    /**
+     * The placement of the thief and the card stolen from another player.
+     */
+    @Name("ch.zhaw.catan.Thief")
+    @Label("Thief Placement")
+    @Category(CATEGORY)
+    static final class Thief extends Event {
+        private static final EventType TYPE = EventType.getEventType(Thief.class);
+
+        @Label("Faction")
+        String faction;
+
+        @Label("X")
+        int x;
+
+        @Label("Y")
+        int y;
+
+        @Label("Victim")
+        @Description("The faction of the player a card was stolen from")
+        String victim;
+
+        @Label("Resources Moved")
+        int resourcesMoved;
+
+        @Label("Success")
+        boolean success;
+
+        static Thief startIfEnabled(Faction faction, Point field) {
+            if (!TYPE.isEnabled()) {
+                return null;
+            }
+            Thief event = new Thief();
+            event.begin();
+            event.faction = faction.name();
+            if (field != null) {
+                event.x = field.x;
+                event.y = field.y;
+            }
+            return event;
+        }
+    }
+}
@@ -0,0 +1,282 @@
+package ch.zhaw.catan;
+
+import ch.zhaw.catan.Config.*;
+
+import java.awt.*;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * This class represents an append-only journal of a {@link SiedlerGame}. Every state changing action of the game is
+ * appended as a fixed-size binary record of {@link #RECORD_SIZE} bytes, so that a game can be rebuilt with the
+ * {@link GameJournalReplayer} after a crash.
+ * <p>
+ * The first two records of a journal are a header which contains the win points, the number of players and the
+ * {@link BoardLayout#getDigest() digest} of the board layout. Records are written to the file immediately, but are only forced to the storage device every {@code syncBatchSize} records or
+ * when {@link #flush()} or {@link #close()} is called.
+ * </p>
+ * <p>
+ * Every record has the following layout, one signed byte per field. Fields that are not used by an event are 0.
+ * </p>
+ * <pre>
+ * byte 0      event type
+ * byte 1      faction ordinal of the acting player, the giving player of a TRANSFER
+ * byte 2, 3   x1, y1: the first position, or for a TRANSFER the faction ordinal of the receiving player and 0
+ * byte 4, 5   x2, y2: the second position, e.g. the end of a road
+ * byte 6, 7   argument 1 and 2, e.g. the resource ordinal and the number of cards
+ * </pre>
+ *
+ * @author StackOverflow
+ * @version 1.0
+ */
+public class GameJournal implements Closeable {
+    /**
+     * The size of a single record in bytes.
+     */
+    static final int RECORD_SIZE = 8;
+    /**
+     * The size of the header in bytes: magic, version, win points, number of players, a reserved byte and the layout
+     * digest.
+     */
+    static final int HEADER_SIZE = 2 * RECORD_SIZE;
+    static final int MAGIC = 0x53474A31;
+    static final byte VERSION = 2;
+    /**
+     * The largest number of win points, as the header stores them as an unsigned byte.
+     */
+    static final int MAX_WIN_POINTS = 0xFF;
+
+    /**
+     * {@link Enum} that defines the type of event stored in a record. The ordinal is written to the journal, hence new
+     * types must only be appended at the end.
+     */
+    enum EventType {
+        NEXT_PLAYER, PREVIOUS_PLAYER, INITIAL_SETTLEMENT, INITIAL_ROAD, SETTLEMENT, CITY, ROAD, TRADE, DICE, DISCARD,
+        THIEF, STEAL, TRANSFER
+    }
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocate(RECORD_SIZE);
+    private final int syncBatchSize;
+    private int unsyncedRecords;
+
+    /**
+     * This constructor opens the journal of a game on the standard layout at the given path.
+     *
+     * @param file            the journal file.
+     * @param winPoints       the number of points required to win the game.
+     * @param numberOfPlayers the number of players of the game.
+     * @param syncBatchSize   the number of records after which the journal is forced to the storage device.
+     * @throws IllegalArgumentException if syncBatchSize is lower than one, winPoints is larger than
+     *                                  {@value #MAX_WIN_POINTS}, the file is not a journal or the journal belongs to a
+     *                                  game with other settings.
+     * @throws UncheckedIOException     if the file cannot be opened.
+     * @see #GameJournal(Path, int, int, BoardLayout, int)
+     */
+    public GameJournal(Path file, int winPoints, int numberOfPlayers, int syncBatchSize) {
+        this(file, winPoints, numberOfPlayers, BoardLayout.standard(), syncBatchSize);
+    }
+
+    /**
+     * This constructor opens the journal at the given path. If the file does not exist or is empty, a header is
+     * written. Otherwise, the header is validated, an incomplete last record (e.g., after a crash) is cut off and new
+     * records are appended at the end. A file which is rejected is neither changed nor left open.
+     *
+     * @param file            the journal file.
+     * @param winPoints       the number of points required to win the game.
+     * @param numberOfPlayers the number of players of the game.
+     * @param layout          the board layout of the game.
+     * @param syncBatchSize   the number of records after which the journal is forced to the storage device.
+     * @throws IllegalArgumentException if syncBatchSize is lower than one, winPoints is larger than
+     *                                  {@value #MAX_WIN_POINTS}, the file is not a journal or the journal belongs to a
+     *                                  game with other settings or on another layout.
+     * @throws UncheckedIOException     if the file cannot be opened.
+     */
+    public GameJournal(Path file, int winPoints, int numberOfPlayers, BoardLayout layout, int syncBatchSize) {
+        if (syncBatchSize < 1) {
+            throw new IllegalArgumentException("The sync batch size must be at least 1. Given: " + syncBatchSize);
+        }
+        if (winPoints < 0 || winPoints > MAX_WIN_POINTS) {
+            throw new IllegalArgumentException("The win points must be between 0 and " + MAX_WIN_POINTS + ". Given: "
+                    + winPoints);
+        }
+        this.syncBatchSize = syncBatchSize;
+        FileChannel opened;
+        try {
+            opened = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        try {
+            prepare(opened, file, winPoints, numberOfPlayers, layout);
+        } catch (IOException e) {
+            closeAfterFailure(opened, e);
+            throw new UncheckedIOException(e);
+        } catch (RuntimeException e) {
+            closeAfterFailure(opened, e);
+            throw e;
+        }
+        channel = opened;
+    }
+
+    private static void prepare(FileChannel channel, Path file, int winPoints, int numberOfPlayers, BoardLayout layout)
+            throws IOException {
+        long size = channel.size();
+        if (size == 0) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            header.putInt(MAGIC).put(VERSION).put((byte) winPoints).put((byte) numberOfPlayers).put((byte) 0);
+            header.putLong(layout.getDigest());
+            header.flip();
+            while (header.hasRemaining()) {
+                channel.write(header, header.position());
+            }
+            channel.force(false);
+            channel.position(HEADER_SIZE);
+            return;
+        }
+        Header header = readHeader(channel);
+        if (header.winPoints != winPoints || header.numberOfPlayers != numberOfPlayers) {
+            throw new IllegalArgumentException("The journal " + file + " belongs to a game with "
+                    + header.winPoints + " win points and " + header.numberOfPlayers + " players.");
+        }
+        if (header.layoutDigest != layout.getDigest()) {
+            throw new IllegalArgumentException("The journal " + file + " belongs to a game on another layout.");
+        }
+        long completeSize = size - (size - HEADER_SIZE) % RECORD_SIZE;
+        channel.truncate(completeSize);
+        channel.position(completeSize);
+    }
+
+    private static void closeAfterFailure(FileChannel channel, Exception failure) {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            failure.addSuppressed(e);
+        }
+    }
+
+    /**
+     * Reads and validates the header of a journal.
+     *
+     * @param channel the channel of the journal file.
+     * @return the header.
+     * @throws IOException              if the header cannot be read.
+     * @throws IllegalArgumentException if the file is not a journal or has an unsupported version.
+     */
+    static Header readHeader(FileChannel channel) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        while (header.hasRemaining()) {
+            if (channel.read(header, header.position()) < 0) {
+                throw new IllegalArgumentException("The journal has no complete header.");
+            }
+        }
+        header.flip();
+        if (header.getInt() != MAGIC) {
+            throw new IllegalArgumentException("The file is not a journal.");
+        }
+        byte version = header.get();
+        if (version != VERSION) {
+            throw new IllegalArgumentException("The journal has the unsupported version " + version + ".");
+        }
+        int winPoints = Byte.toUnsignedInt(header.get());
+        int numberOfPlayers = header.get();
+        header.get();
+        return new Header(winPoints, numberOfPlayers, header.getLong());
+    }
+
+    /**
+     * Appends a record to the journal.
+     *
+     * @param type    the type of the event.
+     * @param faction the faction the event belongs to.
+     * @param p1      the first position of the event or null.
+     * @param p2      the second position of the event or null.
+     * @param arg1    the first event specific argument.
+     * @param arg2    the second event specific argument.
+     * @throws UncheckedIOException if the record cannot be written.
+     */
+    synchronized void append(EventType type, Faction faction, Point p1, Point p2, int arg1, int arg2) {
+        write(type, faction, p1 == null ? 0 : p1.x, p1 == null ? 0 : p1.y, p2, arg1, arg2);
+    }
+
+    /**
+     * Appends a {@code TRANSFER} record of resource cards from one player to another.
+     *
+     * @param from     the faction of the giving player.
+     * @param to       the faction of the receiving player.
+     * @param resource the resource type.
+     * @param count    the number of resource cards.
+     * @throws UncheckedIOException if the record cannot be written.
+     */
+    synchronized void appendTransfer(Faction from, Faction to, Resource resource, int count) {
+        write(EventType.TRANSFER, from, to.ordinal(), 0, null, resource.ordinal(), count);
+    }
+
+    private void write(EventType type, Faction faction, int x1, int y1, Point p2, int arg1, int arg2) {
+        buffer.clear();
+        buffer.put((byte) type.ordinal()).put((byte) faction.ordinal());
+        buffer.put((byte) x1).put((byte) y1);
+        buffer.put((byte) (p2 == null ? 0 : p2.x)).put((byte) (p2 == null ? 0 : p2.y));
+        buffer.put((byte) arg1).put((byte) arg2);
+        buffer.flip();
+        try {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            if (++unsyncedRecords >= syncBatchSize) {
+                channel.force(false);
+                unsyncedRecords = 0;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * The settings of the game stored in the header of a journal.
+     */
+    static final class Header {
+        final int winPoints;
+        final int numberOfPlayers;
+        final long layoutDigest;
+
+        private Header(int winPoints, int numberOfPlayers, long layoutDigest) {
+            this.winPoints = winPoints;
+            this.numberOfPlayers = numberOfPlayers;
+            this.layoutDigest = layoutDigest;
+        }
+    }
+
+    /**
+     * Forces all records written so far to the storage device.
+     *
+     * @throws UncheckedIOException if the journal cannot be forced.
+     */
+    public synchronized void flush() {
+        try {
+            channel.force(false);
+            unsyncedRecords = 0;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Forces all records to the storage device and closes the journal.
+     *
+     * @throws IOException if the journal cannot be closed.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (channel.isOpen()) {
+            channel.force(false);
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,221 @@
+package ch.zhaw.catan;
+
+import ch.zhaw.catan.Config.*;
+import ch.zhaw.catan.GameJournal.EventType;
+
+import java.awt.*;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * This class rebuilds a {@link SiedlerGame} from a journal written by {@link GameJournal}.
+ * <p>
+ * The records are applied directly to a new game without any user interaction. Random outcomes, such as the
+ * resources discarded on a 7 or the card stolen by the thief, are taken from the journal, so the rebuilt game is
+ * identical to the journaled one. An incomplete last record is ignored.
+ * </p>
+ *
+ * @author StackOverflow
+ * @version 1.0
+ */
+public final class GameJournalReplayer {
+
+    private GameJournalReplayer() {
+    }
+
+    /**
+     * Rebuilds the game stored in the given journal of a game on the standard layout.
+     *
+     * @param file the journal file.
+     * @return the rebuilt game.
+     * @throws IllegalArgumentException if the file is not a valid journal or belongs to a game on another layout.
+     * @throws IllegalStateException    if a journaled action cannot be applied to the game.
+     * @throws UncheckedIOException     if the file cannot be read.
+     * @see #replay(Path, BoardLayout)
+     */
+    public static SiedlerGame replay(Path file) {
+        return replay(file, BoardLayout.standard());
+    }
+
+    /**
+     * Rebuilds the game stored in the given journal on the given layout. The layout must be the one the journal was
+     * written on, which is checked by its {@link BoardLayout#getDigest() digest}.
+     * <p>
+     * The returned game has no journal attached. To continue journaling, open a new {@link GameJournal} on the same
+     * file and attach it with {@link SiedlerGame#setJournal(GameJournal)}.
+     * </p>
+     *
+     * @param file   the journal file.
+     * @param layout the board layout of the journaled game.
+     * @return the rebuilt game.
+     * @throws IllegalArgumentException if the file is not a valid journal or belongs to a game on another layout.
+     * @throws IllegalStateException    if a journaled action cannot be applied to the game.
+     * @throws UncheckedIOException     if the file cannot be read.
+     * @see #resume(Path, BoardLayout)
+     */
+    public static SiedlerGame replay(Path file, BoardLayout layout) {
+        return resume(file, layout).getGame();
+    }
+
+    /**
+     * Rebuilds the game stored in the given journal on the given layout like {@link #replay(Path, BoardLayout)} and
+     * also returns how far the journaled game has got, so that the game loop can continue where it stopped.
+     *
+     * @param file   the journal file.
+     * @param layout the board layout of the journaled game.
+     * @return the rebuilt game and its progress.
+     * @throws IllegalArgumentException if the file is not a valid journal or belongs to a game on another layout.
+     * @throws IllegalStateException    if a journaled action cannot be applied to the game.
+     * @throws UncheckedIOException     if the file cannot be read.
+     */
+    public static Progress resume(Path file, BoardLayout layout) {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            GameJournal.Header header = GameJournal.readHeader(channel);
+            if (header.layoutDigest != layout.getDigest()) {
+                throw new IllegalArgumentException("The journal " + file + " belongs to a game on another layout.");
+            }
+            Progress progress = new Progress(new SiedlerGame(header.winPoints, header.numberOfPlayers, layout));
+
+            long recordBytes = channel.size() - GameJournal.HEADER_SIZE;
+            ByteBuffer records = ByteBuffer.allocate((int) (recordBytes - recordBytes % GameJournal.RECORD_SIZE));
+            long position = GameJournal.HEADER_SIZE;
+            while (records.hasRemaining()) {
+                int read = channel.read(records, position);
+                if (read < 0) {
+                    break;
+                }
+                position += read;
+            }
+            records.flip();
+
+            while (records.remaining() >= GameJournal.RECORD_SIZE) {
+                apply(progress, records);
+            }
+            return progress;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void apply(Progress progress, ByteBuffer records) {
+        SiedlerGame game = progress.game;
+        EventType type = EventType.values()[records.get()];
+        Faction faction = Faction.values()[records.get()];
+        int x1 = records.get();
+        Point p1 = new Point(x1, records.get());
+        Point p2 = new Point(records.get(), records.get());
+        int arg1 = records.get();
+        int arg2 = records.get();
+
+        boolean successful = true;
+        switch (type) {
+            case NEXT_PLAYER -> {
+                game.switchToNextPlayer();
+                progress.diceThrow = 0;
+                progress.thiefPending = false;
+            }
+            case PREVIOUS_PLAYER -> {
+                game.switchToPreviousPlayer();
+                progress.diceThrow = 0;
+                progress.thiefPending = false;
+            }
+            case INITIAL_SETTLEMENT -> {
+                successful = game.placeInitialSettlement(p1, arg1 != 0);
+                progress.pendingInitialSettlement = p1;
+            }
+            case INITIAL_ROAD -> {
+                successful = game.placeInitialRoad(p1, p2);
+                progress.pendingInitialSettlement = null;
+                progress.placedFounders++;
+            }
+            case SETTLEMENT -> successful = game.buildSettlement(p1);
+            case CITY -> successful = game.buildCity(p1);
+            case ROAD -> successful = game.buildRoad(p1, p2);
+            case TRADE -> successful = game.tradeWithBankFourToOne(Resource.values()[arg1], Resource.values()[arg2]);
+            case DICE -> {
+                if (arg1 != SiedlerGame.THIEF_DICE_THROW) {
+                    game.throwDice(arg1);
+                }
+                progress.diceThrow = arg1;
+                progress.thiefPending = arg1 == SiedlerGame.THIEF_DICE_THROW;
+            }
+            case DISCARD -> game.discardResources(faction, Resource.values()[arg1], arg2);
+            case THIEF -> {
+                game.moveThief(p1);
+                progress.thiefPending = false;
+            }
+            case STEAL -> game.stealResource(faction, Resource.values()[arg1]);
+            case TRANSFER -> game.transferResource(faction, Faction.values()[x1], Resource.values()[arg1], arg2);
+        }
+        if (!successful) {
+            throw new IllegalStateException("The journaled action " + type + " of " + faction
+                    + " could not be applied.");
+        }
+    }
+
+    /**
+     * A game rebuilt from a journal together with the point of the game loop at which the journal ends.
+     */
+    public static final class Progress {
+        private final SiedlerGame game;
+        private int placedFounders;
+        private Point pendingInitialSettlement;
+        private int diceThrow;
+        private boolean thiefPending;
+
+        private Progress(SiedlerGame game) {
+            this.game = game;
+        }
+
+        /**
+         * Returns the rebuilt game.
+         *
+         * @return the game.
+         */
+        public SiedlerGame getGame() {
+            return game;
+        }
+
+        /**
+         * Returns the number of founders who have placed both their initial settlement and road.
+         *
+         * @return the number of complete placements of the founder's phase, twice the number of players once the
+         * founder's phase is over.
+         */
+        public int getPlacedFounders() {
+            return placedFounders;
+        }
+
+        /**
+         * Returns the initial settlement of the current founder, if the journal ends before its road was placed.
+         *
+         * @return the position of the settlement or null, if no initial road is missing.
+         */
+        public Point getPendingInitialSettlement() {
+            return pendingInitialSettlement == null ? null : new Point(pendingInitialSettlement);
+        }
+
+        /**
+         * Returns the dice thrown in the turn of the current player.
+         *
+         * @return the dice value or 0, if the current player has not thrown the dice yet.
+         */
+        public int getDiceThrow() {
+            return diceThrow;
+        }
+
+        /**
+         * Returns whether the current player has thrown a {@link SiedlerGame#THIEF_DICE_THROW} and not placed the thief
+         * yet.
+         *
+         * @return true, if the thief has to be placed before the turn goes on.
+         */
+        public boolean isThiefPending() {
+            return thiefPending;
+        }
+    }
+}
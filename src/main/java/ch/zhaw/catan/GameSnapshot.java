@@ -0,0 +1,242 @@
+package ch.zhaw.catan;
+
+import ch.zhaw.catan.Config.*;
+
+import java.awt.*;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * This class converts the complete state of a {@link SiedlerGame} into a compact, versioned binary snapshot and
+ * restores games from such snapshots.
+ * <p>
+ * A snapshot contains the board layout (lands and dice values), the occupied corners and edges, the stock and
+ * remaining structures of every {@link Player}, the stock of the {@link Bank}, the thief position, the current player
+ * and the victory points of every {@link ScoreLedger.Source} with the ranking of the factions. All values are stored as single bytes, so a typical
+ * snapshot needs less than 500 bytes.
+ * </p>
+ * <p>
+ * Restores of the standard layout and of layouts loaded with {@link BoardLayout#load(java.nio.file.Path)} copy the
+ * board of the {@link BoardLayout}, which is looked up once per layout and then cached. The board of any other layout
+ * is built for every restore, so that snapshots of arbitrary layouts cannot grow the cache.
+ * </p>
+ *
+ * @author StackOverflow
+ * @version 1.0
+ */
+public final class GameSnapshot {
+    static final int MAGIC = 0x53475331;
+    static final byte VERSION = 2;
+    private static final int CITY_FLAG = 0x80;
+    private static final int HEADER_SIZE = 10;
+    private static final int PLAYER_SIZE = Resource.values().length + Structure.values().length
+            + ScoreLedger.Source.values().length;
+    // only the boards of known layouts are cached, hence the map cannot grow with the snapshots of other layouts
+    private static final ConcurrentMap<ByteBuffer, SiedlerBoard> TEMPLATES = new ConcurrentHashMap<>();
+
+    private GameSnapshot() {
+    }
+
+    /**
+     * Creates a snapshot of the given game.
+     *
+     * @param game the game.
+     * @return the snapshot.
+     */
+    public static byte[] save(SiedlerGame game) {
+        SiedlerBoard board = game.getBoard();
+        List<Point> fields = board.getFields();
+        Map<Point, String> corners = board.getOccupiedCorners();
+        List<Point[]> edges = board.getOccupiedEdges();
+        List<Player> players = game.getPlayers();
+
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + Resource.values().length
+                + players.size() * (PLAYER_SIZE + 1) + 3 + fields.size() * 4 + corners.size() * 3 + edges.size() * 5);
+        buffer.putInt(MAGIC).put(VERSION);
+        buffer.put((byte) game.getWinPoints()).put((byte) players.size()).put((byte) game.getCurrentPlayerIndex());
+        Point thief = game.getFieldOccupiedByThief();
+        buffer.put((byte) thief.x).put((byte) thief.y);
+
+        for (Resource resource : Resource.values()) {
+            buffer.put((byte) game.getBank().getResourceCount(resource));
+        }
+        for (Player player : players) {
+            for (Resource resource : Resource.values()) {
+                buffer.put((byte) player.getResourceCount(resource));
+            }
+            for (Structure structure : Structure.values()) {
+                buffer.put((byte) player.getRemainingStructure(structure));
+            }
+            for (ScoreLedger.Source source : ScoreLedger.Source.values()) {
+                buffer.put((byte) game.getScoreLedger().getPoints(player.getFaction(), source));
+            }
+        }
+        for (Faction faction : game.getScoreLedger().getLeaderboard()) {
+            buffer.put((byte) faction.ordinal());
+        }
+
+        buffer.put((byte) fields.size());
+        for (Point field : fields) {
+            buffer.put((byte) field.x).put((byte) field.y);
+            buffer.put((byte) board.getField(field).ordinal()).put((byte) board.getDiceValue(field));
+        }
+
+        buffer.put((byte) corners.size());
+        for (Map.Entry<Point, String> corner : corners.entrySet()) {
+            buffer.put((byte) corner.getKey().x).put((byte) corner.getKey().y);
+            buffer.put((byte) encodeFaction(corner.getValue()));
+        }
+
+        buffer.put((byte) edges.size());
+        for (Point[] edge : edges) {
+            buffer.put((byte) edge[0].x).put((byte) edge[0].y).put((byte) edge[1].x).put((byte) edge[1].y);
+            buffer.put((byte) encodeFaction(board.getEdge(edge[0], edge[1])));
+        }
+        return buffer.array();
+    }
+
+    /**
+     * Restores a game from a snapshot created by {@link #save(SiedlerGame)}.
+     *
+     * @param snapshot the snapshot.
+     * @return the restored game.
+     * @throws IllegalArgumentException if the snapshot is not valid or has an unsupported version.
+     */
+    public static SiedlerGame restore(byte[] snapshot) {
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(snapshot);
+            if (buffer.getInt() != MAGIC || buffer.get() != VERSION) {
+                throw new IllegalArgumentException("The data is not a snapshot of a supported version.");
+            }
+            int winPoints = unsigned(buffer);
+            int numberOfPlayers = unsigned(buffer);
+            int currentPlayerIndex = unsigned(buffer);
+            Point thief = new Point(unsigned(buffer), unsigned(buffer));
+
+            int[] bankStock = new int[Resource.values().length];
+            for (int i = 0; i < bankStock.length; i++) {
+                bankStock[i] = unsigned(buffer);
+            }
+            int[][] playerStates = new int[numberOfPlayers][PLAYER_SIZE];
+            for (int[] playerState : playerStates) {
+                for (int i = 0; i < PLAYER_SIZE; i++) {
+                    // the points of a source may be negative
+                    playerState[i] = i < Resource.values().length + Structure.values().length
+                            ? unsigned(buffer) : buffer.get();
+                }
+            }
+            Faction[] ranking = new Faction[numberOfPlayers];
+            for (int i = 0; i < numberOfPlayers; i++) {
+                ranking[i] = Faction.values()[unsigned(buffer)];
+            }
+
+            SiedlerBoard board = new SiedlerBoard(template(buffer));
+            SiedlerGame game = new SiedlerGame(winPoints, numberOfPlayers, board);
+            game.setCurrentPlayerIndex(currentPlayerIndex);
+            game.setFieldOccupiedByThief(thief);
+
+            for (Resource resource : Resource.values()) {
+                game.getBank().setResourceCount(resource, bankStock[resource.ordinal()]);
+            }
+            List<Player> players = game.getPlayers();
+            for (int p = 0; p < numberOfPlayers; p++) {
+                Player player = players.get(p);
+                int i = 0;
+                for (Resource resource : Resource.values()) {
+                    player.setResourceCount(resource, playerStates[p][i++]);
+                }
+                for (Structure structure : Structure.values()) {
+                    player.setRemainingStructure(structure, playerStates[p][i++]);
+                }
+                for (ScoreLedger.Source source : ScoreLedger.Source.values()) {
+                    player.addVictoryPoints(source, playerStates[p][i++]);
+                }
+            }
+            // factions with the same points are ranked in the order in which they have reached them
+            game.getScoreLedger().setRanking(ranking);
+
+            int cornerCount = unsigned(buffer);
+            for (int i = 0; i < cornerCount; i++) {
+                Point corner = new Point(unsigned(buffer), unsigned(buffer));
+                int code = unsigned(buffer);
+                Faction faction = Faction.values()[code & ~CITY_FLAG];
+                if ((code & CITY_FLAG) != 0) {
+                    board.setCorner(corner, faction.toString().toUpperCase());
+                    board.addAllBuildingElementOnBoard(new City(corner, faction));
+                } else {
+                    board.setCorner(corner, faction.toString());
+                    board.addAllBuildingElementOnBoard(new Settlement(corner, Structure.SETTLEMENT, faction));
+                }
+            }
+
+            int edgeCount = unsigned(buffer);
+            for (int i = 0; i < edgeCount; i++) {
+                Point start = new Point(unsigned(buffer), unsigned(buffer));
+                Point end = new Point(unsigned(buffer), unsigned(buffer));
+                Faction faction = Faction.values()[unsigned(buffer)];
+                board.setEdge(start, end, faction.toString());
+                board.addAllBuildingElementOnBoard(new Road(start, faction));
+            }
+            return game;
+        } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("The snapshot is incomplete or corrupt.", e);
+        }
+    }
+
+    /**
+     * Reads the fields of a snapshot and returns the board of their layout without structures.
+     *
+     * @param buffer the snapshot, positioned at the fields.
+     * @return the board of a known layout or a new board, if the layout is unknown.
+     */
+    private static SiedlerBoard template(ByteBuffer buffer) {
+        int fieldCount = unsigned(buffer);
+        ByteBuffer key = buffer.slice(buffer.position(), fieldCount * 4);
+        buffer.position(buffer.position() + fieldCount * 4);
+        SiedlerBoard template = TEMPLATES.get(key);
+        if (template == null) {
+            Map<Point, Land> lands = new HashMap<>();
+            Map<Point, Integer> diceValues = new HashMap<>();
+            for (int i = 0; i < fieldCount; i++) {
+                Point field = new Point(unsigned(key), unsigned(key));
+                lands.put(field, Land.values()[unsigned(key)]);
+                int diceValue = unsigned(key);
+                if (diceValue != 0) {
+                    diceValues.put(field, diceValue);
+                }
+            }
+            template = BoardLayout.findTemplate(lands, diceValues);
+            if (template == null) {
+                return new SiedlerBoard(lands, diceValues);
+            }
+            // the key must not share the array of the snapshot, which the caller may change
+            ByteBuffer copy = ByteBuffer.allocate(fieldCount * 4).put(key.rewind()).flip();
+            SiedlerBoard previous = TEMPLATES.putIfAbsent(copy, template);
+            if (previous != null) {
+                template = previous;
+            }
+        }
+        return template;
+    }
+
+    private static int encodeFaction(String data) {
+        for (Faction faction : Faction.values()) {
+            if (faction.toString().equals(data)) {
+                return faction.ordinal();
+            }
+            if (faction.toString().toUpperCase().equals(data)) {
+                return faction.ordinal() | CITY_FLAG;
+            }
+        }
+        throw new IllegalArgumentException("No faction for board data " + data + " found.");
+    }
+
+    private static int unsigned(ByteBuffer buffer) {
+        return buffer.get() & 0xFF;
+    }
+}
@@ -0,0 +1,524 @@
+package ch.zhaw.catan;
+
+import ch.zhaw.catan.Config.*;
+
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * This class represents a computer player which decides by Monte Carlo Tree Search. It can take any seat of a
+ * {@link SiedlerGame}, because it always decides for the current player.
+ * <p>
+ * Every decision is searched by one worker per thread of the given {@link ForkJoinPool}. Each worker restores its own
+ * copy of the game from a {@link GameSnapshot} once and builds its own search tree on copies of it until the time
+ * budget or its share of the iteration budget is used up. Within a turn, the tree contains the consecutive decisions
+ * of the current player. After a leaf has been expanded, the game is played on with random dice and a random build
+ * policy for a limited number of turns. In the founder's phase, the remaining initial settlements and roads of all
+ * players are placed at random first. The visit counts of all workers are summed up and the most visited move is
+ * chosen.
+ * </p>
+ *
+ * @author StackOverflow
+ * @version 1.0
+ */
+public class MctsBot {
+    private static final double EXPLORATION = Math.sqrt(2);
+    private static final int ROLLOUT_ROUNDS = 8;
+    private static final int MAX_ROLLOUT_ACTIONS_PER_TURN = 10;
+    private static final int MAX_MOVES_PER_TURN = 30;
+
+    private final long timeBudgetNanos;
+    private final int iterationBudget;
+    private final ForkJoinPool pool;
+
+    /**
+     * This class represents a single decision of a player.
+     */
+    public static final class Move {
+        /**
+         * {@link Enum} that defines the type of move.
+         */
+        public enum Type {
+            INITIAL_SETTLEMENT, INITIAL_ROAD, SETTLEMENT, CITY, ROAD, TRADE, THIEF, FINISH
+        }
+
+        private final Type type;
+        private final Point first;
+        private final Point second;
+        private final Resource offer;
+        private final Resource want;
+
+        private Move(Type type, Point first, Point second, Resource offer, Resource want) {
+            this.type = type;
+            this.first = first;
+            this.second = second;
+            this.offer = offer;
+            this.want = want;
+        }
+
+        /**
+         * Applies the move to the game.
+         *
+         * @param game   the game.
+         * @param payout the payout flag of an initial settlement.
+         * @return true, if the move was successful.
+         */
+        boolean apply(SiedlerGame game, boolean payout) {
+            return switch (type) {
+                case INITIAL_SETTLEMENT -> game.placeInitialSettlement(first, payout);
+                case INITIAL_ROAD -> game.placeInitialRoad(first, second);
+                case SETTLEMENT -> game.buildSettlement(first);
+                case CITY -> game.buildCity(first);
+                case ROAD -> game.buildRoad(first, second);
+                case TRADE -> game.tradeWithBankFourToOne(offer, want);
+                case THIEF -> game.placeThiefAndStealCard(first);
+                case FINISH -> true;
+            };
+        }
+
+        public Type getType() {
+            return type;
+        }
+
+        public Point getFirst() {
+            return first == null ? null : new Point(first);
+        }
+
+        public Point getSecond() {
+            return second == null ? null : new Point(second);
+        }
+
+        public Resource getOffer() {
+            return offer;
+        }
+
+        public Resource getWant() {
+            return want;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Move other)) {
+                return false;
+            }
+            return type == other.type && Objects.equals(first, other.first) && Objects.equals(second, other.second)
+                    && offer == other.offer && want == other.want;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(type, first, second, offer, want);
+        }
+
+        @Override
+        public String toString() {
+            return "Move [type=" + type + ", first=" + first + ", second=" + second + ", offer=" + offer
+                    + ", want=" + want + "]";
+        }
+    }
+
+    private static final class Node {
+        private final Node parent;
+        private final Move move;
+        private final List<Move> untried;
+        private final List<Node> children = new ArrayList<>();
+        private int visits;
+        private double reward;
+
+        private Node(Node parent, Move move, List<Move> untried) {
+            this.parent = parent;
+            this.move = move;
+            this.untried = new ArrayList<>(untried);
+        }
+
+        private Node selectChild() {
+            Node best = null;
+            double bestValue = Double.NEGATIVE_INFINITY;
+            double logVisits = Math.log(visits);
+            for (Node child : children) {
+                double value = child.reward / child.visits + EXPLORATION * Math.sqrt(logVisits / child.visits);
+                if (value > bestValue) {
+                    bestValue = value;
+                    best = child;
+                }
+            }
+            return best;
+        }
+    }
+
+    /**
+     * This constructor initializes the bot.
+     *
+     * @param timeBudgetMillis the maximum time per decision in milliseconds.
+     * @param iterationBudget  the maximum number of search iterations per decision (summed over all workers).
+     * @param pool             the pool on which the search workers run.
+     * @throws IllegalArgumentException if a budget is lower than one or the pool is null.
+     */
+    public MctsBot(long timeBudgetMillis, int iterationBudget, ForkJoinPool pool) {
+        if (timeBudgetMillis < 1 || iterationBudget < 1 || pool == null) {
+            throw new IllegalArgumentException("Budgets must be positive and the pool must not be null.");
+        }
+        this.timeBudgetNanos = timeBudgetMillis * 1_000_000L;
+        this.iterationBudget = iterationBudget;
+        this.pool = pool;
+    }
+
+    /**
+     * This constructor initializes the bot with the common {@link ForkJoinPool}.
+     *
+     * @param timeBudgetMillis the maximum time per decision in milliseconds.
+     * @param iterationBudget  the maximum number of search iterations per decision.
+     */
+    public MctsBot(long timeBudgetMillis, int iterationBudget) {
+        this(timeBudgetMillis, iterationBudget, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Chooses the position of an initial settlement for the current player in the founder's phase.
+     *
+     * @param game   the game.
+     * @param payout the payout flag, with which the settlement will be placed.
+     * @return the position of the settlement.
+     */
+    public Point chooseInitialSettlement(SiedlerGame game, boolean payout) {
+        List<Move> moves = new ArrayList<>();
+        for (Point corner : game.getInitialSettlementLocations()) {
+            moves.add(new Move(Move.Type.INITIAL_SETTLEMENT, corner, null, null, null));
+        }
+        return search(game, moves, payout).getFirst();
+    }
+
+    /**
+     * Chooses an initial road for the current player in the founder's phase.
+     *
+     * @param game       the game.
+     * @param settlement the position of the settlement at which the road starts.
+     * @return the start and end position of the road.
+     */
+    public Point[] chooseInitialRoad(SiedlerGame game, Point settlement) {
+        List<Move> moves = new ArrayList<>();
+        for (Point[] edge : game.getInitialRoadLocations(settlement)) {
+            moves.add(new Move(Move.Type.INITIAL_ROAD, edge[0], edge[1], null, null));
+        }
+        Move move = search(game, moves, false);
+        return new Point[]{move.getFirst(), move.getSecond()};
+    }
+
+    /**
+     * Chooses the field on which the current player places the thief.
+     *
+     * @param game the game.
+     * @return the field.
+     */
+    public Point chooseThiefPlacement(SiedlerGame game) {
+        return search(game, thiefMoves(game), false).getFirst();
+    }
+
+    /**
+     * Chooses the next move of the current player after the dice have been thrown. The move is one of building,
+     * trading with the bank or finishing the turn.
+     *
+     * @param game the game.
+     * @return the move.
+     */
+    public Move chooseMove(SiedlerGame game) {
+        return search(game, turnMoves(game), false);
+    }
+
+    /**
+     * Plays the rest of the turn of the current player after the dice have been thrown. It does not switch to the
+     * next player.
+     *
+     * @param game the game.
+     */
+    public void playTurn(SiedlerGame game) {
+        for (int i = 0; i < MAX_MOVES_PER_TURN; i++) {
+            Move move = chooseMove(game);
+            if (move.getType() == Move.Type.FINISH || !move.apply(game, false)) {
+                return;
+            }
+        }
+    }
+
+    private Move search(SiedlerGame game, List<Move> moves, boolean payout) {
+        if (moves.isEmpty()) {
+            throw new IllegalStateException("There is no legal move for " + game.getCurrentPlayerFaction());
+        }
+        if (moves.size() == 1) {
+            return moves.get(0);
+        }
+        byte[] root = GameSnapshot.save(game);
+        long deadline = System.nanoTime() + timeBudgetNanos;
+        int workers = pool.getParallelism();
+        int iterationsPerWorker = Math.max(1, (iterationBudget + workers - 1) / workers);
+
+        List<Callable<Map<Move, Integer>>> tasks = new ArrayList<>();
+        for (int i = 0; i < workers; i++) {
+            tasks.add(() -> searchTree(root, moves, payout, deadline, iterationsPerWorker));
+        }
+
+        Map<Move, Integer> visits = new HashMap<>();
+        try {
+            for (Future<Map<Move, Integer>> future : pool.invokeAll(tasks)) {
+                future.get().forEach((move, count) -> visits.merge(move, count, Integer::sum));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("The search has been interrupted.", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("The search has failed.", e.getCause());
+        }
+
+        Move best = moves.get(0);
+        int bestVisits = -1;
+        for (Move move : moves) {
+            int count = visits.getOrDefault(move, 0);
+            if (count > bestVisits) {
+                bestVisits = count;
+                best = move;
+            }
+        }
+        return best;
+    }
+
+    private Map<Move, Integer> searchTree(byte[] root, List<Move> moves, boolean payout, long deadline,
+                                          int iterations) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Node rootNode = new Node(null, null, moves);
+        SiedlerGame rootState = GameSnapshot.restore(root);
+        Faction faction = rootState.getCurrentPlayerFaction();
+
+        for (int i = 0; i < iterations && System.nanoTime() < deadline; i++) {
+            SiedlerGame state = new SiedlerGame(rootState);
+            Node node = rootNode;
+            while (node.untried.isEmpty() && !node.children.isEmpty()) {
+                node = node.selectChild();
+                node.move.apply(state, payout);
+            }
+            if (!node.untried.isEmpty()) {
+                Move move = node.untried.remove(random.nextInt(node.untried.size()));
+                move.apply(state, payout);
+                Node child = new Node(node, move, continuesTurn(move) ? turnMoves(state) : List.of());
+                node.children.add(child);
+                node = child;
+            }
+
+            double reward = rollout(state, faction, node.move, random);
+            for (Node n = node; n != null; n = n.parent) {
+                n.visits++;
+                n.reward += reward;
+            }
+        }
+
+        Map<Move, Integer> visits = new HashMap<>();
+        for (Node child : rootNode.children) {
+            visits.put(child.move, child.visits);
+        }
+        return visits;
+    }
+
+    private static boolean continuesTurn(Move move) {
+        return switch (move.getType()) {
+            case SETTLEMENT, CITY, ROAD, TRADE, THIEF -> true;
+            default -> false;
+        };
+    }
+
+    private static double rollout(SiedlerGame state, Faction faction, Move last, ThreadLocalRandom random) {
+        boolean founding = last != null
+                && (last.getType() == Move.Type.INITIAL_SETTLEMENT || last.getType() == Move.Type.INITIAL_ROAD);
+        if (founding) {
+            playFounderPhase(state, last.getType() == Move.Type.INITIAL_SETTLEMENT ? last.getFirst() : null, random);
+        } else if (last != null && continuesTurn(last)) {
+            playRandomTurn(state, random);
+        }
+        int turns = ROLLOUT_ROUNDS * state.getPlayerFactions().size();
+        for (int i = 0; i < turns && !hasWinner(state); i++) {
+            // after the founder's phase, the first player throws the dice first
+            if (i > 0 || !founding) {
+                state.switchToNextPlayer();
+            }
+            int dice = random.nextInt(1, 7) + random.nextInt(1, 7);
+            state.throwDice(dice);
+            if (dice == SiedlerGame.THIEF_DICE_THROW) {
+                state.placeThiefAndStealCard(state.rankThiefPlacements().get(0).getField());
+            }
+            playRandomTurn(state, random);
+        }
+
+        ScoreLedger ledger = state.getScoreLedger();
+        int own = ledger.getPoints(faction);
+        List<Faction> leaderboard = ledger.getLeaderboard();
+        int bestOpponent = ledger.getPoints(leaderboard.get(leaderboard.get(0) == faction ? 1 : 0));
+        if (own >= state.getWinPoints()) {
+            return 1;
+        }
+        if (bestOpponent >= state.getWinPoints()) {
+            return 0;
+        }
+        return 0.5 + (own - bestOpponent) / (2.0 * state.getWinPoints());
+    }
+
+    /**
+     * Plays the rest of the founder's phase with random placements, after the current player has placed an initial
+     * settlement and maybe its road. The players place their settlements in their sequence and then in the reverse
+     * sequence, as in {@link SiedlerApp}. Afterwards, the first player is the current player.
+     *
+     * @param state      the game.
+     * @param settlement the settlement which still needs its road, or null if the road has been placed.
+     * @param random     the random generator.
+     */
+    static void playFounderPhase(SiedlerGame state, Point settlement, ThreadLocalRandom random) {
+        int numberOfPlayers = state.getPlayerFactions().size();
+        int index = state.getPlayerFactions().indexOf(state.getCurrentPlayerFaction());
+        // the current player has placed its first settlement in the forward round and its second in the backward round
+        boolean backward = state.getBoard().receiveAllBuildingElementOnBoard(state.getCurrentPlayerFaction(),
+                Structure.SETTLEMENT) > 1;
+        if (settlement != null) {
+            placeRandomInitialRoad(state, settlement, random);
+        }
+        while (!backward || index > 0) {
+            if (!backward && index == numberOfPlayers - 1) {
+                backward = true;
+            } else {
+                index += backward ? -1 : 1;
+            }
+            state.setCurrentPlayerIndex(index);
+            List<Point> corners = new ArrayList<>(state.getBoard().getInitialSettlementLocations());
+            if (corners.isEmpty()) {
+                break;
+            }
+            Point corner = corners.get(random.nextInt(corners.size()));
+            if (!state.placeInitialSettlement(corner, backward)) {
+                break;
+            }
+            placeRandomInitialRoad(state, corner, random);
+        }
+        state.setCurrentPlayerIndex(0);
+    }
+
+    private static void placeRandomInitialRoad(SiedlerGame state, Point settlement, ThreadLocalRandom random) {
+        List<Point> ends = new ArrayList<>();
+        for (Point[] edge : state.getBoard().getRoadLocations(state.getCurrentPlayerFaction())) {
+            if (edge[0].equals(settlement) || edge[1].equals(settlement)) {
+                ends.add(edge[0].equals(settlement) ? edge[1] : edge[0]);
+            }
+        }
+        if (!ends.isEmpty()) {
+            state.placeInitialRoad(settlement, ends.get(random.nextInt(ends.size())));
+        }
+    }
+
+    private static boolean hasWinner(SiedlerGame state) {
+        return state.getScoreLedger().isGameOver();
+    }
+
+    private static void playRandomTurn(SiedlerGame state, ThreadLocalRandom random) {
+        for (int i = 0; i < MAX_ROLLOUT_ACTIONS_PER_TURN; i++) {
+            List<Move> moves = randomPolicyMoves(state);
+            if (moves.isEmpty() || !moves.get(random.nextInt(moves.size())).apply(state, false)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Returns the moves of the most valuable kind the current player can afford: cities before settlements before
+     * roads before trades.
+     */
+    private static List<Move> randomPolicyMoves(SiedlerGame state) {
+        Player player = state.getCurrentPlayer();
+        List<Move> moves = new ArrayList<>();
+        if (canAfford(player, Structure.CITY)) {
+            addCityMoves(state, moves);
+        }
+        if (moves.isEmpty() && canAfford(player, Structure.SETTLEMENT)) {
+            addSettlementMoves(state, moves);
+        }
+        if (moves.isEmpty() && canAfford(player, Structure.ROAD)) {
+            addRoadMoves(state, moves);
+        }
+        if (moves.isEmpty()) {
+            addTradeMoves(state, moves);
+        }
+        return moves;
+    }
+
+    private static List<Move> turnMoves(SiedlerGame state) {
+        Player player = state.getCurrentPlayer();
+        List<Move> moves = new ArrayList<>();
+        moves.add(new Move(Move.Type.FINISH, null, null, null, null));
+        if (canAfford(player, Structure.CITY)) {
+            addCityMoves(state, moves);
+        }
+        if (canAfford(player, Structure.SETTLEMENT)) {
+            addSettlementMoves(state, moves);
+        }
+        if (canAfford(player, Structure.ROAD)) {
+            addRoadMoves(state, moves);
+        }
+        addTradeMoves(state, moves);
+        return moves;
+    }
+
+    private static List<Move> thiefMoves(SiedlerGame state) {
+        List<Move> moves = new ArrayList<>();
+        SiedlerBoard board = state.getBoard();
+        for (Point field : board.getFields()) {
+            if (board.getField(field) != Land.WATER && !field.equals(state.getFieldOccupiedByThief())) {
+                moves.add(new Move(Move.Type.THIEF, field, null, null, null));
+            }
+        }
+        return moves;
+    }
+
+    private static boolean canAfford(Player player, Structure structure) {
+        return player.getRemainingStructure(structure) >= 1 && player.hasEnoughResourcesToBuild(structure);
+    }
+
+    private static void addCityMoves(SiedlerGame state, List<Move> moves) {
+        for (BuildingElement settlement : state.getBoard().getAllBuildingElementOnBoard(state.getCurrentPlayerFaction(),
+                Structure.SETTLEMENT)) {
+            if (state.cityCanBeBuilt(settlement.getPosition())) {
+                moves.add(new Move(Move.Type.CITY, settlement.getPosition(), null, null, null));
+            }
+        }
+    }
+
+    private static void addSettlementMoves(SiedlerGame state, List<Move> moves) {
+        for (Point corner : state.getBoard().getSettlementLocations(state.getCurrentPlayerFaction())) {
+            moves.add(new Move(Move.Type.SETTLEMENT, corner, null, null, null));
+        }
+    }
+
+    private static void addRoadMoves(SiedlerGame state, List<Move> moves) {
+        for (Point[] edge : state.getBoard().getRoadLocations(state.getCurrentPlayerFaction())) {
+            moves.add(new Move(Move.Type.ROAD, edge[0], edge[1], null, null));
+        }
+    }
+
+    private static void addTradeMoves(SiedlerGame state, List<Move> moves) {
+        Player player = state.getCurrentPlayer();
+        for (Resource offer : Resource.values()) {
+            if (player.getResourceCount(offer) >= SiedlerGame.FOUR_TO_ONE_TRADE_OFFER) {
+                for (Resource want : Resource.values()) {
+                    if (want != offer && state.getBank().getResourceCount(want) >= SiedlerGame.FOUR_TO_ONE_TRADE_WANT) {
+                        moves.add(new Move(Move.Type.TRADE, null, null, offer, want));
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package ch.zhaw.catan;
+
+import ch.zhaw.catan.Config.*;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * This class represents the book of open {@link TradeOffer}s between the players of a game.
+ * <p>
+ * Every offer is indexed by each resource it offers. To match a new offer, only the offers of the wanted resource
+ * with the fewest open offers are visited, oldest first. Adding, removing and looking up an offer take constant time.
+ * </p>
+ *
+ * @author StackOverflow
+ * @version 1.0
+ */
+class OrderBook {
+    private final Map<Integer, TradeOffer> offers = new LinkedHashMap<>();
+    private final Map<Resource, Set<TradeOffer>> offersByResource = new EnumMap<>(Resource.class);
+    private int nextId = 1;
+
+    /**
+     * This constructor initializes an empty order book.
+     */
+    OrderBook() {
+        for (Resource resource : Resource.values()) {
+            offersByResource.put(resource, new LinkedHashSet<>());
+        }
+    }
+
+    /**
+     * Creates an offer with the next id without adding it to the book.
+     *
+     * @param faction the faction of the player who makes the offer.
+     * @param offered the offered counts, indexed by the ordinal of the {@link Resource}.
+     * @param wanted  the wanted counts, indexed by the ordinal of the {@link Resource}.
+     * @return the offer.
+     */
+    TradeOffer create(Faction faction, int[] offered, int[] wanted) {
+        return new TradeOffer(nextId++, faction, offered, wanted);
+    }
+
+    /**
+     * Adds an open offer to the book.
+     *
+     * @param offer the offer.
+     */
+    void add(TradeOffer offer) {
+        offers.put(offer.getId(), offer);
+        for (Resource resource : Resource.values()) {
+            if (offer.getOfferedCount(resource) > 0) {
+                offersByResource.get(resource).add(offer);
+            }
+        }
+    }
+
+    /**
+     * Returns the open offer with the given id.
+     *
+     * @param id the id of the offer.
+     * @return the offer or null, if there is no open offer with this id.
+     */
+    TradeOffer get(int id) {
+        return offers.get(id);
+    }
+
+    /**
+     * Removes an offer from the book.
+     *
+     * @param offer the offer.
+     * @return true, if the offer was open.
+     */
+    boolean remove(TradeOffer offer) {
+        if (offers.remove(offer.getId()) == null) {
+            return false;
+        }
+        for (Resource resource : Resource.values()) {
+            if (offer.getOfferedCount(resource) > 0) {
+                offersByResource.get(resource).remove(offer);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Finds the oldest open offer which is served by the given counter offer (see
+     * {@link TradeOffer#isServedBy(TradeOffer)}) and accepted by the given condition.
+     *
+     * @param counterOffer the counter offer.
+     * @param condition    the condition, e.g. that both players still have the resources.
+     * @return the matching offer or null, if there is none.
+     */
+    TradeOffer findMatch(TradeOffer counterOffer, Predicate<TradeOffer> condition) {
+        Set<TradeOffer> candidates = null;
+        for (Resource resource : Resource.values()) {
+            Set<TradeOffer> offersOfResource = offersByResource.get(resource);
+            if (counterOffer.getWantedCount(resource) > 0
+                    && (candidates == null || offersOfResource.size() < candidates.size())) {
+                candidates = offersOfResource;
+            }
+        }
+        if (candidates == null) {
+            return null;
+        }
+        for (TradeOffer candidate : candidates) {
+            if (candidate.isServedBy(counterOffer) && condition.test(candidate)) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns all open offers, oldest first.
+     *
+     * @return the open offers.
+     */
+    List<TradeOffer> getOffers() {
+        return new ArrayList<>(offers.values());
+    }
+}
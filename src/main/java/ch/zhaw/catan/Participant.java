@@ -2,29 +2,72 @@ package ch.zhaw.catan;
 
 import ch.zhaw.catan.Config.Resource;
 
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
 import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * This class represents participants of the game. Participants are all instances which have a stock of {@link Resource}.
  * This class is a super class of {@link Player} and {@link Bank}.
+ * <p>
+ * The changes of the stock are synchronized on the participant. A transfer between two participants locks both of
+ * them in the order of their creation, so transfers in opposite directions cannot deadlock and no other thread sees
+ * the cards on both sides or on neither side.
+ * </p>
  *
  * @author StackOverflow
  * @version 1.0
  */
 public abstract class Participant {
 
+    private static final Resource[] RESOURCES = Resource.values();
+    private static final AtomicLong NEXT_ID = new AtomicLong();
+    private static final int[] NONE = new int[0];
+
     /**
-     * This map represents the resources of a participant. Every subclass of Participant has can access their resources.
+     * The counts of the resources, indexed by the ordinal of the {@link Resource}.
      */
-    protected final Map<Resource, Integer> resources;
+    private final int[] counts = new int[RESOURCES.length];
+    private final Map<Resource, Integer> resources = new ResourcesView();
+    private final long id = NEXT_ID.getAndIncrement();
+    private final int hashSlot;
+    private int totalCount;
+    private long hand;
+    private long zobristHash;
 
     /**
      * This method initializes the  Participant class.
      *
-     * @param resources the resources a participant already has from the start.
+     * @param resources the resources a participant already has from the start. Missing resources count 0.
+     * @param hashSlot  the number which distinguishes the stock of this participant in the Zobrist hash.
+     */
+    public Participant(Map<Resource, Integer> resources, int hashSlot) {
+        this.hashSlot = hashSlot;
+        for (Resource resource : RESOURCES) {
+            zobristHash ^= countKey(resource, 0);
+        }
+        for (Map.Entry<Resource, Integer> entry : resources.entrySet()) {
+            updateCount(entry.getKey(), 0, entry.getValue());
+        }
+    }
+
+    /**
+     * This constructor initializes a participant as a copy of another participant's stock.
+     *
+     * @param template the participant to copy.
      */
-    public Participant(Map<Resource, Integer> resources) {
-        this.resources = resources;
+    Participant(Participant template) {
+        synchronized (template) {
+            System.arraycopy(template.counts, 0, counts, 0, counts.length);
+            hashSlot = template.hashSlot;
+            totalCount = template.totalCount;
+            hand = template.hand;
+            zobristHash = template.zobristHash;
+        }
     }
 
     /**
@@ -33,9 +76,9 @@ public abstract class Participant {
      * @param resource resource that is added back to the stock.
      * @param count    amount of the resource given back.
      */
-    public void addResource(Resource resource, int count) {
-        int current = resources.get(resource);
-        resources.put(resource, current + count);
+    public synchronized void addResource(Resource resource, int count) {
+        int current = counts[resource.ordinal()];
+        updateCount(resource, current, current + count);
     }
 
     /**
@@ -45,15 +88,194 @@ public abstract class Participant {
      * @param count    amount of this resource type to be removed.
      * @return True if the resource was removed, false if the resource stock is empty or doesn't have enough resources.
      */
-    public boolean removeResource(Resource resource, int count) {
-        int current = resources.get(resource);
+    public synchronized boolean removeResource(Resource resource, int count) {
+        int current = counts[resource.ordinal()];
         if (current < count) {
             return false;
         }
-        resources.put(resource, current - count);
+        updateCount(resource, current, current - count);
+        return true;
+    }
+
+    /**
+     * Adds resource cards of several types to the stock, e.g. the costs of a structure (see
+     * {@link Config.Structure#getCostCounts()}).
+     *
+     * @param amounts the number of cards per resource type, indexed by the ordinal of the {@link Resource}.
+     */
+    synchronized void addResources(int[] amounts) {
+        for (int i = 0; i < amounts.length; i++) {
+            if (amounts[i] != 0) {
+                updateCount(RESOURCES[i], counts[i], counts[i] + amounts[i]);
+            }
+        }
+    }
+
+    /**
+     * Removes resource cards of several types from the stock, either all of them or none.
+     *
+     * @param amounts the number of cards per resource type, indexed by the ordinal of the {@link Resource}.
+     * @return true if the cards were removed, false if the stock doesn't have enough cards of a type.
+     */
+    synchronized boolean removeResources(int[] amounts) {
+        if (!hasAmounts(amounts)) {
+            return false;
+        }
+        for (int i = 0; i < amounts.length; i++) {
+            if (amounts[i] != 0) {
+                updateCount(RESOURCES[i], counts[i], counts[i] - amounts[i]);
+            }
+        }
         return true;
     }
 
+    /**
+     * Moves resource cards of one type from this participant to another participant, either all of them or none.
+     *
+     * @param receiver the participant who receives the cards.
+     * @param resource the resource type.
+     * @param count    the number of cards.
+     * @return true if the cards were moved, false if this participant doesn't have enough cards.
+     * @throws IllegalArgumentException if the receiver is this participant or the count is negative.
+     */
+    boolean transferTo(Participant receiver, Resource resource, int count) {
+        checkCounterparty(receiver);
+        if (count < 0) {
+            throw new IllegalArgumentException("The count of " + resource + " must not be negative.");
+        }
+        Participant first = id < receiver.id ? this : receiver;
+        Participant second = first == this ? receiver : this;
+        synchronized (first) {
+            synchronized (second) {
+                int index = resource.ordinal();
+                if (counts[index] < count) {
+                    return false;
+                }
+                updateCount(resource, counts[index], counts[index] - count);
+                receiver.updateCount(resource, receiver.counts[index], receiver.counts[index] + count);
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Moves resource cards of several types from this participant to another participant, either all of them or
+     * none, e.g. the costs of a structure (see {@link Config.Structure#getCostCounts()}).
+     *
+     * @param receiver the participant who receives the cards.
+     * @param amounts  the number of cards per resource type, indexed by the ordinal of the {@link Resource}.
+     * @return true if the cards were moved, false if this participant doesn't have enough cards of a type.
+     * @throws IllegalArgumentException if the receiver is this participant or a count is negative.
+     */
+    boolean transferTo(Participant receiver, int[] amounts) {
+        return exchange(receiver, amounts, NONE);
+    }
+
+    /**
+     * Exchanges resource cards with another participant, either all of them or none: this participant gives the
+     * given cards and receives the received cards, as in a trade.
+     *
+     * @param other    the other participant.
+     * @param given    the number of cards this participant gives per resource type, indexed by the ordinal of the
+     *                 {@link Resource}.
+     * @param received the number of cards this participant receives per resource type, in the same form.
+     * @return true if the cards were exchanged, false if one of the participants doesn't have enough cards of a type.
+     * @throws IllegalArgumentException if the other participant is this participant or a count is negative.
+     */
+    boolean exchange(Participant other, int[] given, int[] received) {
+        checkCounterparty(other);
+        checkAmounts(given);
+        checkAmounts(received);
+        Participant first = id < other.id ? this : other;
+        Participant second = first == this ? other : this;
+        synchronized (first) {
+            synchronized (second) {
+                if (!hasAmounts(given) || !other.hasAmounts(received)) {
+                    return false;
+                }
+                moveAmounts(given, other);
+                other.moveAmounts(received, this);
+                return true;
+            }
+        }
+    }
+
+    private void checkCounterparty(Participant other) {
+        if (other == this) {
+            throw new IllegalArgumentException("A participant cannot transfer resources to itself.");
+        }
+    }
+
+    private static void checkAmounts(int[] amounts) {
+        for (int i = 0; i < amounts.length; i++) {
+            if (amounts[i] < 0) {
+                throw new IllegalArgumentException("The count of " + RESOURCES[i] + " must not be negative.");
+            }
+        }
+    }
+
+    private boolean hasAmounts(int[] amounts) {
+        for (int i = 0; i < amounts.length; i++) {
+            if (counts[i] < amounts[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void moveAmounts(int[] amounts, Participant receiver) {
+        for (int i = 0; i < amounts.length; i++) {
+            if (amounts[i] != 0) {
+                updateCount(RESOURCES[i], counts[i], counts[i] - amounts[i]);
+                receiver.updateCount(RESOURCES[i], receiver.counts[i], receiver.counts[i] + amounts[i]);
+            }
+        }
+    }
+
+    /**
+     * Sets the count of the given resource, e.g. when a participant is restored from a snapshot.
+     *
+     * @param resource the type of resource.
+     * @param count    the new count of this resource type.
+     */
+    synchronized void setResourceCount(Resource resource, int count) {
+        updateCount(resource, counts[resource.ordinal()], count);
+    }
+
+    /**
+     * Returns the Zobrist hash of the resource stock. It is updated incrementally on every change of the stock.
+     *
+     * @return the hash of the stock.
+     */
+    long getZobristHash() {
+        return zobristHash;
+    }
+
+    private void updateCount(Resource resource, int oldCount, int newCount) {
+        counts[resource.ordinal()] = newCount;
+        totalCount += newCount - oldCount;
+        hand = ResourceHand.with(hand, resource, newCount);
+        zobristHash ^= countKey(resource, oldCount) ^ countKey(resource, newCount);
+    }
+
+    private long countKey(Resource resource, int count) {
+        return Zobrist.key(Zobrist.RESOURCE, hashSlot, resource.ordinal(), count);
+    }
+
+    /**
+     * Returns the resources of the participant as a packed hand (see {@link ResourceHand}).
+     *
+     * @return the hand, which is a copy of the current counts.
+     */
+    long getResourceHand() {
+        return hand;
+    }
+
+    /**
+     * Returns the resources of the participant with their counts, including the resources with the count 0.
+     *
+     * @return an unmodifiable view of the resources, which is updated on every change of the stock.
+     */
     public Map<Resource, Integer> getResources() {
         return resources;
     }
@@ -65,7 +287,7 @@ public abstract class Participant {
      * @return Count of the given resource.
      */
     public int getResourceCount(Resource resource) {
-        return resources.get(resource);
+        return counts[resource.ordinal()];
     }
 
     /**
@@ -74,11 +296,7 @@ public abstract class Participant {
      * @return the total resources available.
      */
     public int getTotalResourceCount() {
-        int total = 0;
-        for (Resource resource : resources.keySet()) {
-            total += resources.get(resource);
-        }
-        return total;
+        return totalCount;
     }
 
     /**
@@ -89,4 +307,57 @@ public abstract class Participant {
     public boolean hasResources() {
         return getTotalResourceCount() > 0;
     }
-}
\ No newline at end of file
+
+    /**
+     * The read-only map view of the counts, with an entry for every resource in the order of {@link Resource}.
+     */
+    private final class ResourcesView extends AbstractMap<Resource, Integer> {
+        private final Set<Entry<Resource, Integer>> entries = new AbstractSet<>() {
+            @Override
+            public Iterator<Entry<Resource, Integer>> iterator() {
+                return new Iterator<>() {
+                    private int next;
+
+                    @Override
+                    public boolean hasNext() {
+                        return next < RESOURCES.length;
+                    }
+
+                    @Override
+                    public Entry<Resource, Integer> next() {
+                        if (!hasNext()) {
+                            throw new NoSuchElementException();
+                        }
+                        Resource resource = RESOURCES[next++];
+                        return new SimpleImmutableEntry<>(resource, counts[resource.ordinal()]);
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return RESOURCES.length;
+            }
+        };
+
+        @Override
+        public Set<Entry<Resource, Integer>> entrySet() {
+            return entries;
+        }
+
+        @Override
+        public int size() {
+            return RESOURCES.length;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return key instanceof Resource;
+        }
+
+        @Override
+        public Integer get(Object key) {
+            return key instanceof Resource ? counts[((Resource) key).ordinal()] : null;
+        }
+    }
+}
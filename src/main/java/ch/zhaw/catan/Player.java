@@ -14,21 +14,16 @@ public class Player extends Participant {
     private final Faction faction;
     private final Map<Structure, Integer> availableStructures = new HashMap<>();
     private int victoryPoints;
+    private ScoreLedger scoreLedger;
 
     /**
-     * This constructor initializes the player. It sets the resources Map from its super class, the faction of the player
-     * and the stock of all available structures.
+     * This constructor initializes the player with an empty resource stock, the faction of the player and the stock of
+     * all available structures.
      *
      * @param faction the faction of the player.
      */
     public Player(Faction faction) {
-        super(new HashMap<>(Map.of(
-                Resource.LUMBER, 0,
-                Resource.BRICK, 0,
-                Resource.WOOL, 0,
-                Resource.GRAIN, 0,
-                Resource.ORE, 0)
-        ));
+        super(Map.of(), faction.ordinal());
 
         this.faction = faction;
         victoryPoints = 0;
@@ -37,6 +32,21 @@ public class Player extends Participant {
         availableStructures.put(Structure.SETTLEMENT, Structure.SETTLEMENT.getStockPerPlayer());
     }
 
+    /**
+     * This constructor initializes the player as a copy of another player, with its stock, structures and victory
+     * points. The victory points are booked in the ledger of the copied game (see {@link SiedlerGame#SiedlerGame(SiedlerGame)}).
+     *
+     * @param template    the player to copy.
+     * @param scoreLedger the ledger of the copied game, which already contains the victory points of the player.
+     */
+    Player(Player template, ScoreLedger scoreLedger) {
+        super(template);
+        faction = template.faction;
+        availableStructures.putAll(template.availableStructures);
+        victoryPoints = template.victoryPoints;
+        this.scoreLedger = scoreLedger;
+    }
+
     /**
      * This function adds a structure back to the stock of the player.
      *
@@ -67,6 +77,16 @@ public class Player extends Participant {
         return availableStructures.get(structure);
     }
 
+    /**
+     * Sets the players remaining structure count, e.g. when a player is restored from a snapshot.
+     *
+     * @param structure the type of structure.
+     * @param count     the amount of structures left.
+     */
+    void setRemainingStructure(Structure structure, int count) {
+        availableStructures.put(structure, count);
+    }
+
     /**
      * Checks if player has enough resources to build a certain structure.
      *
@@ -74,25 +94,17 @@ public class Player extends Participant {
      * @return returns true if enough resources are available, false if there are not enough resources available.
      */
     public boolean hasEnoughResourcesToBuild(Structure structure) {
-        Map<Resource, Long> costs = structure.getCostsAsMap();
-        for (Resource resource : costs.keySet()) {
-            if (resources.get(resource) < costs.get(resource)) {
-                return false;
-            }
-        }
-        return true;
+        return ResourceHand.canAfford(getResourceHand(), ResourceHand.costOf(structure));
     }
 
     /**
-     * Removes all resources needed for building a certain structure.
+     * Removes all resources needed for building a certain structure. If the player cannot pay the structure, no
+     * resources are removed.
      *
      * @param structure Structure to be built.
      */
     public void removeResourcesForStructure(Structure structure) {
-        List<Resource> cost = structure.getCosts();
-        for (Resource resource : cost) {
-            removeResource(resource, 1);
-        }
+        removeResources(structure.getCostCounts());
     }
 
     /**
@@ -103,8 +115,9 @@ public class Player extends Participant {
     public Map<Resource, Integer> getAvailableResources() {
         Map<Resource, Integer> availableResources = new HashMap<>();
         for (Resource resource : Resource.values()) {
-            if (getResourceCount(resource) > 0) {
-                availableResources.put(resource, resources.get(resource));
+            int count = getResourceCount(resource);
+            if (count > 0) {
+                availableResources.put(resource, count);
             }
         }
         return availableResources;
@@ -116,7 +129,7 @@ public class Player extends Participant {
      * @param count defines amount of victory points given.
      */
     public void addVictoryPoints(int count) {
-        victoryPoints += count;
+        addVictoryPoints(ScoreLedger.Source.OTHER, count);
     }
 
     /**
@@ -125,7 +138,30 @@ public class Player extends Participant {
      * @param count defines amount of victory points remove.
      */
     public void removeVictoryPoints(int count) {
-        victoryPoints -= count;
+        addVictoryPoints(ScoreLedger.Source.OTHER, -count);
+    }
+
+    /**
+     * This function adds a certain amount of victory points and books them with their source in the ledger of the game.
+     *
+     * @param source defines where the victory points come from.
+     * @param count  defines amount of victory points given, negative to remove victory points.
+     */
+    void addVictoryPoints(ScoreLedger.Source source, int count) {
+        victoryPoints += count;
+        if (scoreLedger != null) {
+            scoreLedger.book(faction, source, count);
+        }
+    }
+
+    /**
+     * Sets the ledger in which the victory points of the player are booked.
+     *
+     * @param scoreLedger the ledger of the game.
+     */
+    void setScoreLedger(ScoreLedger scoreLedger) {
+        this.scoreLedger = scoreLedger;
+        scoreLedger.book(faction, ScoreLedger.Source.OTHER, victoryPoints);
     }
 
     public int getVictoryPoints() {
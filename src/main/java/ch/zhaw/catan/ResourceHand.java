@@ -0,0 +1,94 @@
+package ch.zhaw.catan;
+
+import ch.zhaw.catan.Config.Resource;
+import ch.zhaw.catan.Config.Structure;
+
+/**
+ * This class encodes resource hands and structure costs as packed 64-bit values with one lane per {@link Resource}.
+ * <p>
+ * Every lane has {@link #LANE_BITS} bits at the position {@code ordinal * LANE_BITS}. The highest bit of a lane is a
+ * guard bit which is always 0 in a hand, so a whole hand can be compared with a cost in a single subtraction: the
+ * guard bits are set, the cost is subtracted, and a lane which cannot pay borrows its guard bit. The counts of a
+ * hand are saturated at {@link #MAX_COUNT}, which is far above the number of cards in the game.
+ * </p>
+ *
+ * @author StackOverflow
+ * @version 1.0
+ */
+final class ResourceHand {
+    static final int LANE_BITS = 12;
+    static final int MAX_COUNT = (1 << (LANE_BITS - 1)) - 1;
+
+    private static final Resource[] RESOURCES = Resource.values();
+    private static final long LANE_MASK = (1L << LANE_BITS) - 1;
+    private static final long GUARDS;
+    private static final long[] STRUCTURE_COSTS = new long[Structure.values().length];
+
+    static {
+        long guards = 0;
+        for (Resource resource : RESOURCES) {
+            guards |= 1L << (shift(resource) + LANE_BITS - 1);
+        }
+        GUARDS = guards;
+        for (Structure structure : Structure.values()) {
+            long cost = 0;
+            for (Resource resource : RESOURCES) {
+                cost += (long) structure.getCostCount(resource) << shift(resource);
+            }
+            STRUCTURE_COSTS[structure.ordinal()] = cost;
+        }
+    }
+
+    private ResourceHand() {
+    }
+
+    /**
+     * Returns the hand with the count of a resource replaced.
+     *
+     * @param hand     the hand.
+     * @param resource the resource.
+     * @param count    the new count, saturated at 0 and {@link #MAX_COUNT}.
+     * @return the changed hand.
+     */
+    static long with(long hand, Resource resource, int count) {
+        int shift = shift(resource);
+        long lane = Math.max(0, Math.min(count, MAX_COUNT));
+        return (hand & ~(LANE_MASK << shift)) | (lane << shift);
+    }
+
+    /**
+     * Returns the count of a resource in a hand.
+     *
+     * @param hand     the hand.
+     * @param resource the resource.
+     * @return the count.
+     */
+    static int count(long hand, Resource resource) {
+        return (int) ((hand >>> shift(resource)) & LANE_MASK);
+    }
+
+    /**
+     * Returns the build costs of a structure as a hand.
+     *
+     * @param structure the structure.
+     * @return the costs.
+     */
+    static long costOf(Structure structure) {
+        return STRUCTURE_COSTS[structure.ordinal()];
+    }
+
+    /**
+     * Checks whether a hand holds at least the cards of a cost in every resource.
+     *
+     * @param hand the hand.
+     * @param cost the cost.
+     * @return true, if the hand can pay the cost.
+     */
+    static boolean canAfford(long hand, long cost) {
+        return (((hand | GUARDS) - cost) & GUARDS) == GUARDS;
+    }
+
+    private static int shift(Resource resource) {
+        return resource.ordinal() * LANE_BITS;
+    }
+}
@@ -0,0 +1,162 @@
+package ch.zhaw.catan;
+
+import ch.zhaw.catan.Config.*;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * This class represents the victory points of all players of a game.
+ * <p>
+ * Every change of the points of a {@link Player} is booked with its {@link Source}. The ledger keeps the total of
+ * each faction and the ranking of the factions up to date on every booking, hence the points, the leader, the
+ * leaderboard and whether the game is over are all answered in constant time.
+ * </p>
+ *
+ * @author StackOverflow
+ * @version 1.0
+ */
+public class ScoreLedger {
+    /**
+     * {@link Enum} that defines the sources of victory points.
+     */
+    public enum Source {
+        SETTLEMENT, CITY, LONGEST_ROAD, LARGEST_ARMY, OTHER
+    }
+
+    private final int winPoints;
+    private final int[][] points = new int[Faction.values().length][Source.values().length];
+    private final int[] totals = new int[Faction.values().length];
+    private final Faction[] ranking;
+
+    /**
+     * This constructor initializes an empty ledger.
+     *
+     * @param winPoints the number of points required to win the game.
+     * @param factions  the factions of the players in the sequence of the players.
+     */
+    ScoreLedger(int winPoints, List<Faction> factions) {
+        this.winPoints = winPoints;
+        this.ranking = factions.toArray(new Faction[0]);
+    }
+
+    /**
+     * This constructor initializes a ledger as a copy of another ledger.
+     *
+     * @param template the ledger to copy.
+     */
+    ScoreLedger(ScoreLedger template) {
+        winPoints = template.winPoints;
+        for (int f = 0; f < points.length; f++) {
+            System.arraycopy(template.points[f], 0, points[f], 0, points[f].length);
+        }
+        System.arraycopy(template.totals, 0, totals, 0, totals.length);
+        ranking = template.ranking.clone();
+    }
+
+    /**
+     * Books a change of the points of a faction.
+     *
+     * @param faction the faction.
+     * @param source  the source of the points.
+     * @param delta   the number of points to add, negative to remove points.
+     */
+    void book(Faction faction, Source source, int delta) {
+        points[faction.ordinal()][source.ordinal()] += delta;
+        totals[faction.ordinal()] += delta;
+
+        int position = 0;
+        while (ranking[position] != faction) {
+            position++;
+        }
+        while (position > 0 && totals[ranking[position - 1].ordinal()] < totals[faction.ordinal()]) {
+            ranking[position] = ranking[position - 1];
+            ranking[--position] = faction;
+        }
+        while (position < ranking.length - 1 && isRankedBefore(ranking[position + 1], faction)) {
+            ranking[position] = ranking[position + 1];
+            ranking[++position] = faction;
+        }
+    }
+
+    /**
+     * Replaces the ranking of the factions, e.g. with the ranking of a restored game, in which factions with the same
+     * points may be ordered differently than after booking the points of every faction at once.
+     *
+     * @param factions the factions ordered by their points, the leader first.
+     * @throws IllegalArgumentException if the factions are not those of the ledger or not ordered by their points.
+     */
+    void setRanking(Faction[] factions) {
+        if (!Set.of(factions).equals(Set.of(ranking))) {
+            throw new IllegalArgumentException("The ranking must contain the factions of the ledger.");
+        }
+        for (int i = 1; i < factions.length; i++) {
+            if (isRankedBefore(factions[i], factions[i - 1])) {
+                throw new IllegalArgumentException("The factions are not ordered by their points.");
+            }
+        }
+        System.arraycopy(factions, 0, ranking, 0, ranking.length);
+    }
+
+    /**
+     * Returns the victory points of a faction.
+     *
+     * @param faction the faction.
+     * @return the points.
+     */
+    public int getPoints(Faction faction) {
+        return totals[faction.ordinal()];
+    }
+
+    /**
+     * Returns the victory points of a faction from the given source.
+     *
+     * @param faction the faction.
+     * @param source  the source.
+     * @return the points from this source.
+     */
+    public int getPoints(Faction faction, Source source) {
+        return points[faction.ordinal()][source.ordinal()];
+    }
+
+    /**
+     * Returns the faction with the most points. Factions with the same points keep their previous order, so a faction
+     * which reaches the points of the leader does not overtake it.
+     *
+     * @return the leading faction.
+     */
+    public Faction getLeader() {
+        return ranking[0];
+    }
+
+    /**
+     * Returns the factions ordered by their points, the leader first.
+     *
+     * @return the leaderboard.
+     */
+    public List<Faction> getLeaderboard() {
+        return List.of(ranking);
+    }
+
+    /**
+     * Returns whether a faction has reached the points required to win the game.
+     *
+     * @return true, if the game is over.
+     */
+    public boolean isGameOver() {
+        return totals[ranking[0].ordinal()] >= winPoints;
+    }
+
+    /**
+     * Returns the number of points required to win the game.
+     *
+     * @return the win points.
+     */
+    public int getWinPoints() {
+        return winPoints;
+    }
+
+    private boolean isRankedBefore(Faction first, Faction second) {
+        return totals[first.ordinal()] > totals[second.ordinal()];
+    }
+}
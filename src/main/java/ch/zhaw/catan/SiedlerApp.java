@@ -4,6 +4,10 @@ import ch.zhaw.utils.Helper;
 import ch.zhaw.catan.Config.*;
 
 import java.awt.*;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -20,71 +24,152 @@ public class SiedlerApp {
     private final SiedlerGame game;
     private final SiedlerBoardTextView view;
     private final int numberOfPlayers;
+    private final int numberOfBots;
+    private final MctsBot bot;
+    private final GameJournal journal;
+    private final GameJournalReplayer.Progress resumed;
     private static final int WIN_POINTS = 7;
+    private static final long BOT_TIME_BUDGET_MILLIS = 500;
+    private static final int BOT_ITERATION_BUDGET = 2000;
+    private static final String JOURNAL_OPTION = "--journal";
+    private static final int JOURNAL_SYNC_BATCH_SIZE = 1;
 
     /**
      * Creates a new siedler game and runs it.
      *
-     * @param args an array of command-line arguments for the application.
+     * @param args an array of command-line arguments for the application: optionally the path of a board layout file
+     *             (see {@link BoardLayout}), otherwise the standard board is played, and optionally
+     *             {@code --journal <file>} to journal the game to the file (see {@link GameJournal}). If the journal
+     *             file already contains a game, this game is resumed where it stopped.
+     * @throws IOException if the board layout file cannot be read or the journal cannot be closed.
      */
-    public static void main(String[] args) {
-        SiedlerApp app = new SiedlerApp();
+    public static void main(String[] args) throws IOException {
+        Path layoutFile = null;
+        Path journalFile = null;
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals(JOURNAL_OPTION) && i + 1 < args.length) {
+                journalFile = Path.of(args[++i]);
+            } else {
+                layoutFile = Path.of(args[i]);
+            }
+        }
+        BoardLayout layout = layoutFile != null ? BoardLayout.load(layoutFile) : BoardLayout.standard();
+        SiedlerApp app = new SiedlerApp(layout, journalFile);
         app.run();
     }
 
     /**
-     * This constructor initializes the {@link SiedlerApp}.
+     * This constructor initializes the {@link SiedlerApp} with the standard board.
      */
     public SiedlerApp() {
+        this(BoardLayout.standard());
+    }
+
+    /**
+     * This constructor initializes the {@link SiedlerApp} with a board of the given layout.
+     *
+     * @param layout the layout of the board.
+     */
+    public SiedlerApp(BoardLayout layout) {
+        this(layout, null);
+    }
+
+    /**
+     * This constructor initializes the {@link SiedlerApp} with a board of the given layout and journals the game to
+     * the given file. If the file already contains a game, the game is rebuilt with the {@link GameJournalReplayer}
+     * and resumed, otherwise a new game is created.
+     *
+     * @param layout      the layout of the board.
+     * @param journalFile the journal file or null, if the game is not journaled.
+     * @throws IllegalArgumentException if the journal file is not a journal or belongs to a game on another layout.
+     * @throws UncheckedIOException     if the journal file cannot be read or opened.
+     */
+    public SiedlerApp(BoardLayout layout, Path journalFile) {
         ui = new UserInterface();
         ui.printWelcomeText();
-        numberOfPlayers = ui.getNumberOfPlayers();
-        game = new SiedlerGame(WIN_POINTS, numberOfPlayers);
+        if (journalFile != null && containsGame(journalFile)) {
+            resumed = GameJournalReplayer.resume(journalFile, layout);
+            game = resumed.getGame();
+            numberOfPlayers = game.getPlayerFactions().size();
+            ui.announceResumedGame(numberOfPlayers);
+        } else {
+            resumed = null;
+            numberOfPlayers = ui.getNumberOfPlayers();
+            game = new SiedlerGame(WIN_POINTS, numberOfPlayers, layout);
+        }
+        numberOfBots = ui.getNumberOfBots(numberOfPlayers);
+        bot = new MctsBot(BOT_TIME_BUDGET_MILLIS, BOT_ITERATION_BUDGET);
         view = new SiedlerBoardTextView(game.getBoard());
+        if (journalFile != null) {
+            journal = new GameJournal(journalFile, game.getWinPoints(), numberOfPlayers, layout,
+                    JOURNAL_SYNC_BATCH_SIZE);
+            game.setJournal(journal);
+        } else {
+            journal = null;
+        }
+    }
+
+    private static boolean containsGame(Path journalFile) {
+        try {
+            return Files.exists(journalFile) && Files.size(journalFile) > 0;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
     }
 
     /**
      * Starts the Siedler game.
+     *
+     * @throws IOException if the journal cannot be closed.
      */
-    private void run() {
-        ui.printBoard(view);
-
-        for (int i = 0; i < numberOfPlayers; i++) {
-            placeInitialStructures(false);
-            game.switchToNextPlayer();
+    private void run() throws IOException {
+        try {
+            play();
+        } finally {
+            if (journal != null) {
+                journal.close();
+            }
         }
+    }
 
-        for (int i = numberOfPlayers - 1; i >= 0; i--) {
-            game.switchToPreviousPlayer();
-            placeInitialStructures(true);
+    private void play() {
+        ui.printBoard(view);
+
+        int placedFounders = resumed == null ? 0 : resumed.getPlacedFounders();
+        Point pendingSettlement = resumed == null ? null : resumed.getPendingInitialSettlement();
+        for (int i = placedFounders; i < 2 * numberOfPlayers; i++) {
+            seatFounder(i);
+            placeInitialStructures(i >= numberOfPlayers, pendingSettlement);
+            pendingSettlement = null;
         }
 
+        int resumedDiceThrow = resumed == null ? 0 : resumed.getDiceThrow();
+        boolean resumedThiefPending = resumed != null && resumed.isThiefPending();
         while (true) {
             ui.announceCurrentPlayer(game.getCurrentPlayerFaction());
-            int dice = Helper.generateDiceThrow();
-            ui.announceDice(dice);
-
-            Map<Faction, List<Resource>> result = game.throwDice(dice);
+            if (resumedDiceThrow == 0) {
+                int dice = Helper.generateDiceThrow();
+                ui.announceDice(dice);
 
-            if (dice == SiedlerGame.THIEF_DICE_THROW) {
-                ui.announceThiefStoleResources(result);
+                Map<Faction, List<Resource>> result = game.throwDice(dice);
 
-                Point thiefPoint = ui.chooseThiefPlacement();
-                while (!game.placeThiefAndStealCard(thiefPoint)) {
-                    ui.announceThiefPlacementFailed();
-                    thiefPoint = ui.chooseThiefPlacement();
-                }
-
-                if (game.stolenResource == null) {
-                    ui.announceNothingGotStolen();
+                if (dice == SiedlerGame.THIEF_DICE_THROW) {
+                    ui.announceThiefStoleResources(result);
+                    placeThief();
                 } else {
-                    ui.announcePlacedThiefStoleResources(game.victim.getFaction(), game.stolenResource.toString());
+                    ui.announceResourcesGained(result);
                 }
-            } else {
-                ui.announceResourcesGained(result);
+            } else if (resumedThiefPending) {
+                placeThief();
             }
+            resumedDiceThrow = 0;
+            resumedThiefPending = false;
 
             boolean isMoveOver = false;
+            if (isBotPlaying()) {
+                playBotTurn();
+                isMoveOver = true;
+            }
 
             while (!isMoveOver) {
                 Action action = ui.getAction();
@@ -123,13 +208,67 @@ public class SiedlerApp {
         }
     }
 
-    private void placeInitialStructures(boolean secondPhase) {
+    /**
+     * Makes the player on turn who places the given founder structures. The founders are placed in the order of the
+     * players and then backwards, so the last player places twice in a row.
+     *
+     * @param founder the number of founder placements made so far.
+     */
+    private void seatFounder(int founder) {
+        int seat = founder < numberOfPlayers ? founder : 2 * numberOfPlayers - 1 - founder;
+        // the switch after a placement is missing if the journal of a resumed game ends right after the road
+        while (game.getPlayerFactions().indexOf(game.getCurrentPlayerFaction()) != seat) {
+            if (founder < numberOfPlayers) {
+                game.switchToNextPlayer();
+            } else {
+                game.switchToPreviousPlayer();
+            }
+        }
+    }
+
+    private void placeThief() {
+        if (isBotPlaying()) {
+            Point thiefPoint = bot.chooseThiefPlacement(game);
+            game.placeThiefAndStealCard(thiefPoint);
+            ui.announceBotMove(game.getCurrentPlayerFaction(), "placed the thief on " + thiefPoint);
+        } else {
+            ui.suggestThiefPlacements(game.rankThiefPlacements());
+            Point thiefPoint = ui.chooseThiefPlacement();
+            while (!game.placeThiefAndStealCard(thiefPoint)) {
+                ui.announceThiefPlacementFailed();
+                thiefPoint = ui.chooseThiefPlacement();
+            }
+        }
+
+        if (game.stolenResource == null) {
+            ui.announceNothingGotStolen();
+        } else {
+            ui.announcePlacedThiefStoleResources(game.victim.getFaction(), game.stolenResource.toString());
+        }
+    }
+
+    private void placeInitialStructures(boolean secondPhase, Point placedSettlement) {
         ui.announceCurrentPlayer(game.getCurrentPlayerFaction());
 
-        boolean successful = false;
+        if (isBotPlaying()) {
+            Point settlementPoint = placedSettlement;
+            if (settlementPoint == null) {
+                settlementPoint = bot.chooseInitialSettlement(game, secondPhase);
+                game.placeInitialSettlement(settlementPoint, secondPhase);
+            }
+            Point[] roadPoints = bot.chooseInitialRoad(game, settlementPoint);
+            game.placeInitialRoad(roadPoints[0], roadPoints[1]);
+            ui.announceBotMove(game.getCurrentPlayerFaction(), "placed a settlement on " + settlementPoint
+                    + " and a road to " + roadPoints[1]);
+            return;
+        }
+
+        Point settlementPoint = placedSettlement;
+        boolean successful = settlementPoint != null;
 
         while (!successful) {
-            Point settlementPoint = ui.chooseSettlementPlacement();
+            ui.printValidSettlementPositions(game.getInitialSettlementLocations());
+            settlementPoint = ui.chooseSettlementPlacement();
             successful = game.placeInitialSettlement(settlementPoint, secondPhase);
             if (!successful) {
                 ui.announceBuildingFailed(Structure.SETTLEMENT);
@@ -139,6 +278,7 @@ public class SiedlerApp {
         successful = false;
 
         while (!successful) {
+            ui.printValidRoadPositions(game.getInitialRoadLocations(settlementPoint));
             Point[] roadPoints = ui.chooseRoadPlacement();
             successful = game.placeInitialRoad(roadPoints[0], roadPoints[1]);
             if (!successful) {
@@ -147,17 +287,32 @@ public class SiedlerApp {
         }
     }
 
+    private boolean isBotPlaying() {
+        return game.getPlayerFactions().indexOf(game.getCurrentPlayerFaction()) >= numberOfPlayers - numberOfBots;
+    }
+
+    private void playBotTurn() {
+        MctsBot.Move move = bot.chooseMove(game);
+        while (move.getType() != MctsBot.Move.Type.FINISH && move.apply(game, false)) {
+            ui.announceBotMove(game.getCurrentPlayerFaction(), move.getType() + " "
+                    + (move.getType() == MctsBot.Move.Type.TRADE ? move.getOffer() + " for " + move.getWant() : move.getFirst()));
+            move = bot.chooseMove(game);
+        }
+    }
+
     private void buildStructure() {
         Structure structure = ui.chooseStructure();
 
         switch (structure) {
             case ROAD -> {
+                ui.printValidRoadPositions(game.getRoadLocations());
                 Point[] points = ui.chooseRoadPlacement();
                 if (!game.buildRoad(points[0], points[1])) {
                     ui.announceBuildingFailed(Structure.ROAD);
                 }
             }
             case SETTLEMENT -> {
+                ui.printValidSettlementPositions(game.getSettlementLocations());
                 if (!game.buildSettlement(ui.chooseSettlementPlacement())) {
                     ui.announceBuildingFailed(Structure.SETTLEMENT);
                 }
@@ -3,6 +3,7 @@ package ch.zhaw.catan;
 import ch.zhaw.catan.Config.*;
 import ch.zhaw.hexboard.HexBoard;
 import ch.zhaw.hexboard.Label;
+import ch.zhaw.utils.Metrics;
 
 import java.awt.*;
 import java.util.*;
@@ -16,35 +17,419 @@ import java.util.List;
  * @version 1.0
  */
 public class SiedlerBoard extends HexBoard<Land, String, String, String> {
+    // getCorner, getEdge and hasEdge are single map lookups, which cost less than the timer itself, and are called
+    // inside the timed queries, which would then also time their own lookups
+    private static final Metrics.Histogram GET_FIELDS_OF_CORNER = Metrics.histogram("board.getFieldsOfCorner");
+    private static final Metrics.Histogram GET_NEIGHBOURS_OF_CORNER = Metrics.histogram("board.getNeighboursOfCorner");
+    private static final Metrics.Histogram GET_ADJACENT_EDGES = Metrics.histogram("board.getAdjacentEdges");
+    private static final Metrics.Histogram GET_CORNERS_OF_FIELD = Metrics.histogram("board.getCornersOfField");
 
     private final Map<Point, Label> labelMap;
     private final List<BuildingElement> allBuildingElementOnBoard = new ArrayList<>();
+    private long zobristHash;
+    private final int[][] productionWeights = new int[Faction.values().length][Resource.values().length];
+    private final Set<Point> initialSettlementLocations = new HashSet<>();
+    private final Map<Faction, Set<Point>> settlementLocations = new EnumMap<>(Faction.class);
+    private final Map<Faction, Map<Integer, Point[]>> roadLocations = new EnumMap<>(Faction.class);
+    private final Set<Point> initialSettlementLocationsView = Collections.unmodifiableSet(initialSettlementLocations);
+    private final Map<Faction, Set<Point>> settlementLocationsViews = new EnumMap<>(Faction.class);
+    private final Map<Faction, Collection<Point[]>> roadLocationsViews = new EnumMap<>(Faction.class);
 
     /**
-     * This constructor initializes the SiedlerBoard and its labelMap.
+     * This constructor initializes the SiedlerBoard and its labelMap. The standard layout of {@link Config} is built
+     * once into a template, which is copied for every new board (see {@link BoardLayout#standard()}).
      */
     public SiedlerBoard() {
-        labelMap = new HashMap<>();
+        this(BoardLayout.standard().getTemplate());
+    }
+
+    /**
+     * This constructor initializes the SiedlerBoard as a copy of another board, including its structures and
+     * buildable locations. The labels are shared, as they do not change.
+     *
+     * @param template the board to copy.
+     */
+    SiedlerBoard(SiedlerBoard template) {
+        super(template);
+        labelMap = template.labelMap;
+        allBuildingElementOnBoard.addAll(template.allBuildingElementOnBoard);
+        zobristHash = template.zobristHash;
+        for (int f = 0; f < productionWeights.length; f++) {
+            System.arraycopy(template.productionWeights[f], 0, productionWeights[f], 0, productionWeights[f].length);
+        }
+        initialSettlementLocations.addAll(template.initialSettlementLocations);
+        for (Faction faction : Faction.values()) {
+            settlementLocations.put(faction, new HashSet<>(template.settlementLocations.get(faction)));
+            roadLocations.put(faction, new HashMap<>(template.roadLocations.get(faction)));
+        }
+        createLocationViews();
+    }
+
+    /**
+     * This constructor initializes the SiedlerBoard with the given layout instead of the standard layout of
+     * {@link Config}.
+     *
+     * @param landPlacement       the field to {@link Land} mapping.
+     * @param diceNumberPlacement the dice values per field.
+     */
+    SiedlerBoard(Map<Point, Land> landPlacement, Map<Point, Integer> diceNumberPlacement) {
+        Map<Point, Label> labels = new HashMap<>();
 
-        for (Point point : Config.getStandardLandPlacement().keySet()) {
-            this.addField(point, Config.getStandardLandPlacement().get(point));
+        for (Map.Entry<Point, Land> e : landPlacement.entrySet()) {
+            this.addField(e.getKey(), e.getValue());
         }
 
-        for (Map.Entry<Point, Integer> e : Config.getStandardDiceNumberPlacement().entrySet()) {
+        for (Map.Entry<Point, Integer> e : diceNumberPlacement.entrySet()) {
             Label label;
             if (e.getValue() < 10) {
                 label = new Label('0', Character.forDigit(e.getValue(), 10));
             } else {
                 label = new Label('1', Character.forDigit(e.getValue() - 10, 10));
             }
-            labelMap.put(e.getKey(), label);
+            labels.put(e.getKey(), label);
+        }
+        labelMap = Collections.unmodifiableMap(labels);
+
+        for (Faction faction : Faction.values()) {
+            settlementLocations.put(faction, new HashSet<>());
+            roadLocations.put(faction, new HashMap<>());
+        }
+        createLocationViews();
+        for (Point corner : getCornerCoordinates()) {
+            updateCornerLocations(corner);
+        }
+    }
+
+    private void createLocationViews() {
+        for (Faction faction : Faction.values()) {
+            settlementLocationsViews.put(faction, Collections.unmodifiableSet(settlementLocations.get(faction)));
+            roadLocationsViews.put(faction, Collections.unmodifiableCollection(roadLocations.get(faction).values()));
+        }
+    }
+
+    /**
+     * Stores the data for the corner and updates the Zobrist hash of the board occupancy, the production weights and
+     * the buildable locations around the corner.
+     *
+     * @param location the location of the corner
+     * @param data     the data to be stored
+     * @return the old data entry (or null)
+     * @throws IllegalArgumentException if there is no corner at this location
+     */
+    @Override
+    public String setCorner(Point location, String data) {
+        String old = super.setCorner(location, data);
+        zobristHash ^= cornerKey(location, old) ^ cornerKey(location, data);
+        updateProductionWeights(location, old, -1);
+        updateProductionWeights(location, data, 1);
+        updateCornerLocations(location);
+        for (Point neighbour : getAdjacentCorners(location)) {
+            if (hasCorner(neighbour)) {
+                updateCornerLocations(neighbour);
+                updateRoadLocations(location, neighbour);
+            }
+        }
+        return old;
+    }
+
+    /**
+     * Stores the data for the edge and updates the Zobrist hash of the board occupancy and the buildable locations
+     * around the edge.
+     *
+     * @param p1   first point
+     * @param p2   second point
+     * @param data the data to be stored
+     * @throws IllegalArgumentException if the two points do not identify an EXISTING edge of the field
+     */
+    @Override
+    public void setEdge(Point p1, Point p2, String data) {
+        String old = getEdge(p1, p2);
+        super.setEdge(p1, p2, data);
+        zobristHash ^= edgeKey(p1, p2, old) ^ edgeKey(p1, p2, data);
+        for (Point corner : new Point[]{p1, p2}) {
+            updateCornerLocations(corner);
+            for (Point neighbour : getAdjacentCorners(corner)) {
+                if (hasEdge(corner, neighbour)) {
+                    updateRoadLocations(corner, neighbour);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the lands of the fields at the corner, timed by the metrics. The list-building queries are timed here,
+     * so that the generic {@link HexBoard} does not depend on the metrics.
+     *
+     * @param corner the location of the corner
+     * @return the list with the (non-null) field data
+     */
+    @Override
+    public List<Land> getFields(Point corner) {
+        long start = GET_FIELDS_OF_CORNER.start();
+        try {
+            return super.getFields(corner);
+        } finally {
+            GET_FIELDS_OF_CORNER.stop(start);
+        }
+    }
+
+    /**
+     * Returns the occupied neighbours of the corner, timed by the metrics.
+     *
+     * @param center the location of the corner
+     * @return list with non-null corner data elements
+     */
+    @Override
+    public List<String> getNeighboursOfCorner(Point center) {
+        long start = GET_NEIGHBOURS_OF_CORNER.start();
+        try {
+            return super.getNeighboursOfCorner(center);
+        } finally {
+            GET_NEIGHBOURS_OF_CORNER.stop(start);
+        }
+    }
+
+    /**
+     * Returns the roads at the corner, timed by the metrics.
+     *
+     * @param corner corner for which to get the edges
+     * @return list with non-null edge data elements
+     */
+    @Override
+    public List<String> getAdjacentEdges(Point corner) {
+        long start = GET_ADJACENT_EDGES.start();
+        try {
+            return super.getAdjacentEdges(corner);
+        } finally {
+            GET_ADJACENT_EDGES.stop(start);
+        }
+    }
+
+    /**
+     * Returns the occupied corners of the field, timed by the metrics.
+     *
+     * @param center the location of the field
+     * @return list with non-null corner data elements
+     */
+    @Override
+    public List<String> getCornersOfField(Point center) {
+        long start = GET_CORNERS_OF_FIELD.start();
+        try {
+            return super.getCornersOfField(center);
+        } finally {
+            GET_CORNERS_OF_FIELD.stop(start);
         }
     }
 
+    /**
+     * Returns the corners on which a settlement can be placed in the founder's phase: empty corners without
+     * neighbours which are not only next to water.
+     *
+     * @return an unmodifiable view of the locations, which is updated on every change of the board.
+     */
+    Set<Point> getInitialSettlementLocations() {
+        return initialSettlementLocationsView;
+    }
+
+    /**
+     * Returns the corners on which the faction can build a settlement: the locations of
+     * {@link #getInitialSettlementLocations()} next to an own road.
+     *
+     * @param faction the faction.
+     * @return an unmodifiable view of the locations, which is updated on every change of the board.
+     */
+    Set<Point> getSettlementLocations(Faction faction) {
+        return settlementLocationsViews.get(faction);
+    }
+
+    /**
+     * Returns the edges on which the faction can build a road: empty edges next to an own settlement, city or road
+     * which do not end at a corner only next to water. Each edge is returned as the array of its two corners.
+     *
+     * @param faction the faction.
+     * @return an unmodifiable view of the locations, which is updated on every change of the board.
+     */
+    Collection<Point[]> getRoadLocations(Faction faction) {
+        return roadLocationsViews.get(faction);
+    }
+
+    /**
+     * Checks whether the faction can build a road between the two corners (see {@link #getRoadLocations(Faction)}).
+     *
+     * @param faction the faction.
+     * @param p1      first corner.
+     * @param p2      second corner.
+     * @return true, if the road can be built.
+     */
+    boolean isRoadLocation(Faction faction, Point p1, Point p2) {
+        return hasEdge(p1, p2) && roadLocations.get(faction).containsKey(edgeIndex(p1, p2));
+    }
+
+    private void updateCornerLocations(Point corner) {
+        boolean isFree = getCorner(corner) == null && getNeighboursOfCorner(corner).isEmpty()
+                && !isCornerOnlyNextToWater(corner);
+        setMembership(initialSettlementLocations, corner, isFree);
+        for (Faction faction : Faction.values()) {
+            setMembership(settlementLocations.get(faction), corner, isFree && hasRoad(corner, faction));
+        }
+    }
+
+    private void updateRoadLocations(Point p1, Point p2) {
+        boolean isFree = getEdge(p1, p2) == null && !isCornerOnlyNextToWater(p1) && !isCornerOnlyNextToWater(p2);
+        int index = edgeIndex(p1, p2);
+        for (Faction faction : Faction.values()) {
+            String data = faction.toString();
+            boolean isConnected = data.equalsIgnoreCase(getCorner(p1)) || data.equalsIgnoreCase(getCorner(p2))
+                    || hasRoad(p1, faction) || hasRoad(p2, faction);
+            Map<Integer, Point[]> locations = roadLocations.get(faction);
+            if (isFree && isConnected) {
+                locations.computeIfAbsent(index, k -> orderedEdge(p1, p2));
+            } else {
+                locations.remove(index);
+            }
+        }
+    }
+
+    private boolean hasRoad(Point corner, Faction faction) {
+        for (Point neighbour : getAdjacentCorners(corner)) {
+            if (hasEdge(corner, neighbour) && faction.toString().equals(getEdge(corner, neighbour))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean isCornerOnlyNextToWater(Point corner) {
+        for (Land land : getFields(corner)) {
+            if (land != Land.WATER) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void setMembership(Set<Point> set, Point point, boolean isMember) {
+        if (isMember) {
+            set.add(point);
+        } else {
+            set.remove(point);
+        }
+    }
+
+    private static Point[] orderedEdge(Point p1, Point p2) {
+        if (p1.x > p2.x || (p1.x == p2.x && p1.y > p2.y)) {
+            return new Point[]{new Point(p2), new Point(p1)};
+        }
+        return new Point[]{new Point(p1), new Point(p2)};
+    }
+
+    private static int edgeIndex(Point p1, Point p2) {
+        if (p1.x > p2.x || (p1.x == p2.x && p1.y > p2.y)) {
+            return edgeIndex(p2, p1);
+        }
+        return (p1.x << 24) | (p1.y << 16) | (p2.x << 8) | p2.y;
+    }
+
+    /**
+     * Returns the Zobrist hash of the corner and edge occupancy. It is updated incrementally on every change.
+     *
+     * @return the hash of the occupancy.
+     */
+    long getZobristHash() {
+        return zobristHash;
+    }
+
+    /**
+     * Returns the production weight of a faction for a resource, ignoring the thief. The weight is the sum over all
+     * settlements and cities of the faction of the number of dice combinations (out of 36) which let an adjacent
+     * field produce the resource, counted twice for cities. It is updated incrementally on every corner change.
+     *
+     * @param faction  the faction.
+     * @param resource the resource.
+     * @return the production weight.
+     */
+    int getProductionWeight(Faction faction, Resource resource) {
+        return productionWeights[faction.ordinal()][resource.ordinal()];
+    }
+
+    /**
+     * Returns the part of the production weight of a faction which comes from the given field, e.g. the part blocked
+     * by the thief.
+     *
+     * @param field   the field.
+     * @param faction the faction.
+     * @return the production weight of the field for the faction, or 0 if the field produces no resource.
+     */
+    int getFieldProductionWeight(Point field, Faction faction) {
+        if (!hasField(field) || getField(field).getResource() == null) {
+            return 0;
+        }
+        int weight = 0;
+        for (String corner : getCornersOfField(field)) {
+            weight += getStructureMultiplier(corner, faction);
+        }
+        return weight * getDiceCombinations(getDiceValue(field));
+    }
+
+    /**
+     * Returns the number of combinations of two dice which result in the given dice value.
+     *
+     * @param diceValue the dice value.
+     * @return the number of combinations out of 36, or 0 for values other than 2 to 12.
+     */
+    static int getDiceCombinations(int diceValue) {
+        if (diceValue < 2 || diceValue > 12) {
+            return 0;
+        }
+        return 6 - Math.abs(7 - diceValue);
+    }
+
+    private void updateProductionWeights(Point corner, String data, int sign) {
+        if (data == null) {
+            return;
+        }
+        for (Faction faction : Faction.values()) {
+            int multiplier = getStructureMultiplier(data, faction);
+            if (multiplier == 0) {
+                continue;
+            }
+            for (Point field : getAdjacentFields(corner)) {
+                if (hasField(field) && getField(field).getResource() != null) {
+                    int weight = multiplier * getDiceCombinations(getDiceValue(field));
+                    productionWeights[faction.ordinal()][getField(field).getResource().ordinal()] += sign * weight;
+                }
+            }
+        }
+    }
+
+    private static int getStructureMultiplier(String corner, Faction faction) {
+        if (faction.toString().equals(corner)) {
+            return 1;
+        }
+        return faction.toString().equalsIgnoreCase(corner) ? 2 : 0;
+    }
+
+    private static long cornerKey(Point location, String data) {
+        if (data == null) {
+            return 0;
+        }
+        return Zobrist.key(Zobrist.CORNER, location.x, location.y, data.hashCode());
+    }
+
+    private static long edgeKey(Point p1, Point p2, String data) {
+        if (data == null) {
+            return 0;
+        }
+        if (p1.x > p2.x || (p1.x == p2.x && p1.y > p2.y)) {
+            return edgeKey(p2, p1, data);
+        }
+        return Zobrist.key(Zobrist.EDGE, p1.x, p1.y, p2.x, p2.y, data.hashCode());
+    }
+
     /**
      * Returns the map of points and labels.
      *
-     * @return A map of points and labels.
+     * @return An unmodifiable map of points and labels.
      */
     public Map<Point, Label> getLabelMap() {
         return labelMap;
@@ -113,6 +498,88 @@ public class SiedlerBoard extends HexBoard<Land, String, String, String> {
         return null;
     }
 
+    /**
+     * Returns the dice value of the specified field.
+     *
+     * @param field the field.
+     * @return the dice value or 0, if the field has no dice value.
+     */
+    public int getDiceValue(Point field) {
+        Label label = labelMap.get(field);
+        if (label == null) {
+            return 0;
+        }
+        return Character.getNumericValue(label.getFirst()) * 10 + Character.getNumericValue(label.getSecond());
+    }
+
+    /**
+     * Returns the positions of all corners of the board.
+     *
+     * @return the corner positions.
+     */
+    Set<Point> getCornerPositions() {
+        return getCornerCoordinates();
+    }
+
+    /**
+     * Returns the positions of the six corners of a field, in the same order as {@link #getCornersOfField(Point)}.
+     *
+     * @param field the center of the field.
+     * @return the corner positions.
+     */
+    List<Point> getCornerPositionsOfField(Point field) {
+        return getCornerCoordinatesOfField(field);
+    }
+
+    /**
+     * Returns all edges of the board. Each edge is returned once as the array of its two corners.
+     *
+     * @return a list of all edges.
+     */
+    List<Point[]> getEdgePositions() {
+        List<Point[]> edges = new ArrayList<>();
+        for (Point corner : getCornerCoordinates()) {
+            for (Point neighbour : getAdjacentCorners(corner)) {
+                boolean isFirstCorner = corner.x < neighbour.x || (corner.x == neighbour.x && corner.y < neighbour.y);
+                if (isFirstCorner && hasEdge(corner, neighbour)) {
+                    edges.add(new Point[]{corner, neighbour});
+                }
+            }
+        }
+        return edges;
+    }
+
+    /**
+     * Returns all corners on which a settlement or a city is placed.
+     *
+     * @return a map of the occupied corners and their data.
+     */
+    Map<Point, String> getOccupiedCorners() {
+        Map<Point, String> occupied = new HashMap<>();
+        for (Point corner : getCornerCoordinates()) {
+            String data = getCorner(corner);
+            if (data != null) {
+                occupied.put(corner, data);
+            }
+        }
+        return occupied;
+    }
+
+    /**
+     * Returns all edges on which a road is placed. Each edge is returned once as the array of its two corners.
+     *
+     * @return a list of the occupied edges.
+     */
+    List<Point[]> getOccupiedEdges() {
+        List<Point[]> occupied = new ArrayList<>();
+        for (Point[] edge : getEdgePositions()) {
+            if (getEdge(edge[0], edge[1]) != null) {
+                occupied.add(edge);
+            }
+        }
+        return occupied;
+    }
+
     /**
      * Returns the fields associated with the specified dice value.
      *
@@ -129,15 +596,10 @@ public class SiedlerBoard extends HexBoard<Land, String, String, String> {
         List<Point> fields = new ArrayList<>();
 
         for (Point point : labelMap.keySet()) {
-            Label label = labelMap.get(point);
-
-            int labelValue = Character.getNumericValue(label.getFirst()) * 10
-                    + Character.getNumericValue(label.getSecond());
-
-            if (labelValue == dice) {
+            if (getDiceValue(point) == dice) {
                 fields.add(point);
             }
         }
         return fields;
     }
-}
\ No newline at end of file
+}
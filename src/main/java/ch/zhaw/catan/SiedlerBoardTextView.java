@@ -3,6 +3,7 @@ package ch.zhaw.catan;
 import ch.zhaw.catan.Config.Land;
 import ch.zhaw.hexboard.HexBoardTextView;
 import ch.zhaw.hexboard.Label;
+import ch.zhaw.utils.Metrics;
 
 import java.awt.*;
 import java.util.Map;
@@ -15,6 +16,7 @@ import java.util.Map;
  * @version 1.0
  */
 public class SiedlerBoardTextView extends HexBoardTextView<Land, String, String, String> {
+    private static final Metrics.Histogram RENDER = Metrics.histogram("board.textView.render");
 
     /**
      * This constructor initializes the text view of the {@link SiedlerBoard}.
@@ -28,4 +30,19 @@ public class SiedlerBoardTextView extends HexBoardTextView<Land, String, String,
             this.setLowerFieldLabel(e.getKey(), e.getValue());
         }
     }
+
+    /**
+     * Renders the board as text, timed by the metrics.
+     *
+     * @return the board as text.
+     */
+    @Override
+    public String toString() {
+        long start = RENDER.start();
+        try {
+            return super.toString();
+        } finally {
+            RENDER.stop(start);
+        }
+    }
 }
\ No newline at end of file
@@ -1,9 +1,12 @@
 package ch.zhaw.catan;
 
 import ch.zhaw.catan.Config.*;
+import ch.zhaw.utils.Metrics;
 
 import java.awt.Point;
 import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
 
 /**
  * This class performs all actions related to modifying the game state.
@@ -14,11 +17,27 @@ import java.util.*;
 public class SiedlerGame {
     static final int FOUR_TO_ONE_TRADE_OFFER = 4;
     static final int FOUR_TO_ONE_TRADE_WANT = 1;
-    static final int THIEF_DICE_THROW = 7;
+    public static final int THIEF_DICE_THROW = 7;
     private static final int MAX_NUMBER_OF_PLAYERS = Faction.values().length;
     private static final int MIN_WIN_POINTS = 3;
     private static final int POINTS_FOR_CITY = 2;
     private static final int POINTS_FOR_SETTLEMENT = 1;
+    private static final int MIN_DICE_VALUE = 2;
+    private static final int MAX_DICE_VALUE = 12;
+    private static final Metrics.Histogram PLACE_INITIAL_SETTLEMENT = Metrics.histogram("game.placeInitialSettlement");
+    private static final Metrics.Histogram PLACE_INITIAL_ROAD = Metrics.histogram("game.placeInitialRoad");
+    private static final Metrics.Histogram BUILD_SETTLEMENT = Metrics.histogram("game.buildSettlement");
+    private static final Metrics.Histogram BUILD_CITY = Metrics.histogram("game.buildCity");
+    private static final Metrics.Histogram BUILD_ROAD = Metrics.histogram("game.buildRoad");
+    private static final Metrics.Histogram TRADE_WITH_BANK = Metrics.histogram("game.tradeWithBankFourToOne");
+    private static final Metrics.Histogram POST_TRADE_OFFER = Metrics.histogram("game.postTradeOffer");
+    private static final Metrics.Histogram ACCEPT_TRADE_OFFER = Metrics.histogram("game.acceptTradeOffer");
+    private static final Metrics.Histogram GET_WINNER = Metrics.histogram("game.getWinner");
+    private static final Metrics.Histogram THROW_DICE = Metrics.histogram("game.throwDice");
+    private static final Metrics.Histogram THROW_DICE_BATCH = Metrics.histogram("game.throwDiceBatch");
+    private static final Metrics.Histogram PLACE_THIEF = Metrics.histogram("game.placeThiefAndStealCard");
+    private static final Metrics.Histogram RANK_THIEF_PLACEMENTS = Metrics.histogram("game.rankThiefPlacements");
+    private static final Metrics.Counter THIEF_THROWS = Metrics.counter("game.thiefThrows");
 
     private final int winPoints;
     private final int numberOfPlayers;
@@ -36,8 +55,19 @@ public class SiedlerGame {
 
     private Point fieldOccupiedByThief;
 
-    private final LinkedList<Player> players;
+    private final Player[] players;
+    private final Player[] playersByFaction = new Player[Faction.values().length];
+    private final List<Faction> playerFactions;
+    private final ScoreLedger scoreLedger;
     private int currentPlayerIndex;
+    private Player currentPlayer;
+
+    private GameJournal journal;
+    private Point[][] payoutFields;
+    private Point[][][] payoutCorners;
+    private final OrderBook orderBook = new OrderBook();
+    private final int[] handCounts = new int[Resource.values().length];
+    private final int[] discardCounts = new int[Resource.values().length];
 
     /**
      * Constructs a SiedlerGame game state object.
@@ -48,6 +78,33 @@ public class SiedlerGame {
      *                                  three or players is not between two and four
      */
     public SiedlerGame(int winPoints, int numberOfPlayers) {
+        this(winPoints, numberOfPlayers, BoardLayout.standard());
+    }
+
+    /**
+     * Constructs a SiedlerGame game state object on a board with the given layout.
+     *
+     * @param winPoints       the number of points required to win the game
+     * @param numberOfPlayers the number of players
+     * @param layout          the layout of the board and the start position of the thief
+     * @throws IllegalArgumentException if winPoints is lower than
+     *                                  three or players is not between two and four
+     */
+    public SiedlerGame(int winPoints, int numberOfPlayers, BoardLayout layout) {
+        this(winPoints, numberOfPlayers, layout.createBoard());
+        fieldOccupiedByThief = layout.getThiefPosition();
+    }
+
+    /**
+     * Constructs a SiedlerGame game state object on the given board.
+     *
+     * @param winPoints       the number of points required to win the game
+     * @param numberOfPlayers the number of players
+     * @param board           the game board
+     * @throws IllegalArgumentException if winPoints is lower than
+     *                                  three or players is not between two and four
+     */
+    SiedlerGame(int winPoints, int numberOfPlayers, SiedlerBoard board) {
         if (numberOfPlayers < Config.MIN_NUMBER_OF_PLAYERS || numberOfPlayers > MAX_NUMBER_OF_PLAYERS) {
             throw new IllegalArgumentException();
         }
@@ -56,17 +113,56 @@ public class SiedlerGame {
         }
         this.winPoints = winPoints;
         this.numberOfPlayers = numberOfPlayers;
-        board = new SiedlerBoard();
-        players = new LinkedList<>();
+        this.board = board;
+        players = new Player[numberOfPlayers];
         bank = new Bank();
         fieldOccupiedByThief = Config.INITIAL_THIEF_POSITION;
 
+        Faction[] factions = new Faction[numberOfPlayers];
         for (int i = 0; i < numberOfPlayers; i++) {
             Player player = new Player(Faction.values()[i]);
-            players.add(player);
+            players[i] = player;
+            playersByFaction[player.getFaction().ordinal()] = player;
+            factions[i] = player.getFaction();
+        }
+        playerFactions = List.of(factions);
+        currentPlayer = players[0];
+        scoreLedger = new ScoreLedger(winPoints, playerFactions);
+        for (Player player : players) {
+            player.setScoreLedger(scoreLedger);
         }
     }
 
+    /**
+     * Constructs a copy of a game with its board, stocks, victory points, thief and current player, e.g. for
+     * simulations which play on from the same position many times. Copying is much cheaper than restoring a
+     * {@link GameSnapshot}, since the structures are not placed on the board again and the payout tables are shared.
+     * Like a snapshot, the copy has neither the journal nor the open trade offers of the game.
+     *
+     * @param template the game to copy
+     */
+    SiedlerGame(SiedlerGame template) {
+        winPoints = template.winPoints;
+        numberOfPlayers = template.numberOfPlayers;
+        board = new SiedlerBoard(template.board);
+        bank = new Bank(template.bank);
+        fieldOccupiedByThief = template.fieldOccupiedByThief;
+        playerFactions = template.playerFactions;
+        scoreLedger = new ScoreLedger(template.scoreLedger);
+        players = new Player[numberOfPlayers];
+        for (int i = 0; i < numberOfPlayers; i++) {
+            players[i] = new Player(template.players[i], scoreLedger);
+            playersByFaction[players[i].getFaction().ordinal()] = players[i];
+        }
+        currentPlayerIndex = template.currentPlayerIndex;
+        currentPlayer = players[currentPlayerIndex];
+        victim = template.victim == null ? null : playersByFaction[template.victim.getFaction().ordinal()];
+        stolenResource = template.stolenResource;
+        // the payout tables depend on the layout only and are never changed after they have been built
+        payoutFields = template.payoutFields;
+        payoutCorners = template.payoutCorners;
+    }
+
     /**
      * Switches to the next player in the defined sequence of players.
      */
@@ -76,6 +172,8 @@ public class SiedlerGame {
         } else {
             currentPlayerIndex++;
         }
+        currentPlayer = players[currentPlayerIndex];
+        record(GameJournal.EventType.NEXT_PLAYER, null, null, 0, 0);
     }
 
     /**
@@ -87,6 +185,17 @@ public class SiedlerGame {
         } else {
             currentPlayerIndex--;
         }
+        currentPlayer = players[currentPlayerIndex];
+        record(GameJournal.EventType.PREVIOUS_PLAYER, null, null, 0, 0);
+    }
+
+    /**
+     * Attaches a journal to the game. Every successful state changing action is appended to the journal from now on.
+     *
+     * @param journal the journal or null to stop journaling.
+     */
+    public void setJournal(GameJournal journal) {
+        this.journal = journal;
     }
 
     /**
@@ -98,16 +207,37 @@ public class SiedlerGame {
      * at position 0 in the list etc.
      * </p><p>
      * <strong>Important note:</strong> The list must contain the
-     * factions of active players only.</p>
+     * factions of active players only. The list cannot be modified.</p>
      *
      * @return the list with player's factions
      */
     public List<Faction> getPlayerFactions() {
-        List<Faction> factions = new LinkedList<>();
-        for (Player p : players) {
-            factions.add(p.getFaction());
+        return playerFactions;
+    }
+
+    /**
+     * Returns the number of points required to win the game.
+     *
+     * @return the win points
+     */
+    public int getWinPoints() {
+        return winPoints;
+    }
+
+    /**
+     * Returns the Zobrist hash of the game state. It covers the corner and edge occupancy, the resource stocks of the
+     * players and the bank, the thief position and the current player. The parts are updated incrementally on every
+     * change, hence the hash is available in constant time. Equal game states have equal hashes.
+     *
+     * @return the 64-bit hash of the game state
+     */
+    public long getStateHash() {
+        long hash = board.getZobristHash() ^ bank.getZobristHash();
+        for (Player player : players) {
+            hash ^= player.getZobristHash();
         }
-        return factions;
+        hash ^= Zobrist.key(Zobrist.THIEF, fieldOccupiedByThief.x, fieldOccupiedByThief.y, 0);
+        return hash ^ Zobrist.key(Zobrist.CURRENT_PLAYER, currentPlayerIndex, 0, 0);
     }
 
     /**
@@ -125,7 +255,108 @@ public class SiedlerGame {
      * @return the faction of the current player
      */
     public Faction getCurrentPlayerFaction() {
-        return players.get(currentPlayerIndex).getFaction();
+        return currentPlayer.getFaction();
+    }
+
+    /**
+     * Returns the corners on which a settlement can be placed in the founder's
+     * phase. The locations are updated incrementally on every construction.
+     *
+     * @return a copy of the corners
+     */
+    public Set<Point> getInitialSettlementLocations() {
+        return copyOf(board.getInitialSettlementLocations());
+    }
+
+    /**
+     * Returns the corners on which the current player can build a settlement
+     * if the player has the resource cards for it. The locations are updated
+     * incrementally on every construction.
+     *
+     * @return a copy of the corners
+     */
+    public Set<Point> getSettlementLocations() {
+        return copyOf(board.getSettlementLocations(getCurrentPlayerFaction()));
+    }
+
+    /**
+     * Returns the edges on which the current player can build a road if the
+     * player has the resource cards for it. Each edge is returned as the array
+     * of its two corners. The locations are updated incrementally on every
+     * construction.
+     *
+     * @return a copy of the edges
+     */
+    public Collection<Point[]> getRoadLocations() {
+        return copyOf(board.getRoadLocations(getCurrentPlayerFaction()), null);
+    }
+
+    /**
+     * Returns the edges on which the current player can place the road of the
+     * founder's phase next to the settlement just placed. Each edge is
+     * returned as the array of its two corners, the settlement first.
+     *
+     * @param settlement the position of the settlement
+     * @return a copy of the edges at the settlement
+     */
+    public List<Point[]> getInitialRoadLocations(Point settlement) {
+        return copyOf(board.getRoadLocations(getCurrentPlayerFaction()), settlement);
+    }
+
+    private static Set<Point> copyOf(Set<Point> corners) {
+        Set<Point> copy = new HashSet<>();
+        for (Point corner : corners) {
+            copy.add(new Point(corner));
+        }
+        return copy;
+    }
+
+    private static List<Point[]> copyOf(Collection<Point[]> edges, Point corner) {
+        List<Point[]> copy = new ArrayList<>();
+        for (Point[] edge : edges) {
+            if (corner == null) {
+                copy.add(new Point[]{new Point(edge[0]), new Point(edge[1])});
+            } else if (edge[0].equals(corner) || edge[1].equals(corner)) {
+                Point end = edge[0].equals(corner) ? edge[1] : edge[0];
+                copy.add(new Point[]{new Point(corner), new Point(end)});
+            }
+        }
+        return copy;
+    }
+
+    /**
+     * Returns the expected number of resource cards of the specified type
+     * the player of the faction receives per dice throw. It is derived from
+     * the probabilities of the dice values of the fields next to the settlements
+     * and cities of the player, without the field occupied by the thief. The
+     * remaining cards of the bank are not taken into account.
+     *
+     * @param faction  the faction of the player
+     * @param resource the resource type
+     * @return the expected number of resource cards per dice throw
+     */
+    public double getExpectedIncome(Faction faction, Resource resource) {
+        int weight = board.getProductionWeight(faction, resource);
+        if (fieldOccupiedByThief != null && board.hasField(fieldOccupiedByThief)
+                && board.getField(fieldOccupiedByThief).getResource() == resource) {
+            weight -= board.getFieldProductionWeight(fieldOccupiedByThief, faction);
+        }
+        return weight / 36.0;
+    }
+
+    /**
+     * Returns the expected number of resource cards per dice throw of the player
+     * of the faction for every resource type (see {@link #getExpectedIncome(Faction, Resource)}).
+     *
+     * @param faction the faction of the player
+     * @return the expected number of resource cards per resource type
+     */
+    public Map<Resource, Double> getExpectedIncome(Faction faction) {
+        Map<Resource, Double> income = new EnumMap<>(Resource.class);
+        for (Resource resource : Resource.values()) {
+            income.put(resource, getExpectedIncome(faction, resource));
+        }
+        return income;
     }
 
     /**
@@ -136,7 +367,7 @@ public class SiedlerGame {
      * @return the number of resource cards of this type
      */
     public int getCurrentPlayerResourceStock(Resource resource) {
-        Player player = players.get(currentPlayerIndex);
+        Player player = currentPlayer;
         return player.getResourceCount(resource);
     }
 
@@ -153,28 +384,40 @@ public class SiedlerGame {
      * @return true, if the placement was successful
      */
     public boolean placeInitialSettlement(Point position, boolean payout) {
-        if (position == null) {
-            return false;
-        }
-        if (initialSettlementCanBeBuilt(position)) {
-            board.setCorner(position, getCurrentPlayerFaction().toString());
-            players.get(currentPlayerIndex).removeFromAvailableStructure(Structure.SETTLEMENT);
-            board.addAllBuildingElementOnBoard(new Settlement(position, Structure.SETTLEMENT, getCurrentPlayerFaction()));
-            players.get(currentPlayerIndex).addVictoryPoints(POINTS_FOR_SETTLEMENT);
-
-            if (payout) {
-                List<Land> landsForCorner = board.getFields(position);
-                for (Land land : landsForCorner) {
-                    Resource resource = land.getResource();
-                    if (resource != null) {
-                        players.get(currentPlayerIndex).addResource(resource, 1);
-                        bank.removePayoutForStructure(resource, Structure.SETTLEMENT);
+        GameEvents.Build event = GameEvents.Build.startIfEnabled(getCurrentPlayerFaction(), Structure.SETTLEMENT, position, null);
+        long start = PLACE_INITIAL_SETTLEMENT.start();
+        try {
+            if (position == null) {
+                return false;
+            }
+            if (initialSettlementCanBeBuilt(position)) {
+                board.setCorner(position, getCurrentPlayerFaction().toString());
+                currentPlayer.removeFromAvailableStructure(Structure.SETTLEMENT);
+                board.addAllBuildingElementOnBoard(new Settlement(position, Structure.SETTLEMENT, getCurrentPlayerFaction()));
+                currentPlayer.addVictoryPoints(ScoreLedger.Source.SETTLEMENT, POINTS_FOR_SETTLEMENT);
+
+                if (payout) {
+                    List<Land> landsForCorner = board.getFields(position);
+                    for (Land land : landsForCorner) {
+                        Resource resource = land.getResource();
+                        if (resource != null) {
+                            bank.transferTo(currentPlayer, resource, 1);
+                        }
                     }
                 }
+                record(GameJournal.EventType.INITIAL_SETTLEMENT, position, null, payout ? 1 : 0, 0);
+                if (event != null) {
+                    event.succeed(Structure.SETTLEMENT, false);
+                }
+                return true;
+            }
+            return false;
+        } finally {
+            PLACE_INITIAL_SETTLEMENT.stop(start);
+            if (event != null) {
+                event.commit();
             }
-            return true;
         }
-        return false;
     }
 
     /**
@@ -186,25 +429,38 @@ public class SiedlerGame {
      * @return true, if the placement was successful
      */
     public boolean placeInitialRoad(Point roadStart, Point roadEnd) {
-        if (roadStart == null || roadEnd == null) {
-            return false;
-        }
-        if (roadCanBeBuilt(roadStart, roadEnd)) {
-            List<BuildingElement> allSettlements = board.getAllBuildingElementOnBoard(getCurrentPlayerFaction(), Structure.SETTLEMENT);
-            for (BuildingElement settlement : allSettlements) {
-                Point position = settlement.getPosition();
-                boolean roadStartsAtSettlement = roadStart.equals(position);
-                boolean roadEndsAtSettlement = roadEnd.equals(position);
-                if (board.getAdjacentEdges(position).isEmpty() && !roadStartsAtSettlement && !roadEndsAtSettlement) {
-                    return false;
+        GameEvents.Build event = GameEvents.Build.startIfEnabled(getCurrentPlayerFaction(), Structure.ROAD, roadStart, roadEnd);
+        long start = PLACE_INITIAL_ROAD.start();
+        try {
+            if (roadStart == null || roadEnd == null) {
+                return false;
+            }
+            if (roadCanBeBuilt(roadStart, roadEnd)) {
+                List<BuildingElement> allSettlements = board.getAllBuildingElementOnBoard(getCurrentPlayerFaction(), Structure.SETTLEMENT);
+                for (BuildingElement settlement : allSettlements) {
+                    Point position = settlement.getPosition();
+                    boolean roadStartsAtSettlement = roadStart.equals(position);
+                    boolean roadEndsAtSettlement = roadEnd.equals(position);
+                    if (board.getAdjacentEdges(position).isEmpty() && !roadStartsAtSettlement && !roadEndsAtSettlement) {
+                        return false;
+                    }
                 }
+                board.setEdge(roadStart, roadEnd, getCurrentPlayerFaction().toString());
+                board.addAllBuildingElementOnBoard(new Road(roadStart, getCurrentPlayerFaction()));
+                currentPlayer.removeFromAvailableStructure(Structure.ROAD);
+                record(GameJournal.EventType.INITIAL_ROAD, roadStart, roadEnd, 0, 0);
+                if (event != null) {
+                    event.succeed(Structure.ROAD, false);
+                }
+                return true;
+            }
+            return false;
+        } finally {
+            PLACE_INITIAL_ROAD.stop(start);
+            if (event != null) {
+                event.commit();
             }
-            board.setEdge(roadStart, roadEnd, getCurrentPlayerFaction().toString());
-            board.addAllBuildingElementOnBoard(new Road(roadStart, getCurrentPlayerFaction()));
-            players.get(currentPlayerIndex).removeFromAvailableStructure(Structure.ROAD);
-            return true;
         }
-        return false;
     }
 
     /**
@@ -221,25 +477,37 @@ public class SiedlerGame {
      * @return true, if the placement was successful
      */
     public boolean buildSettlement(Point position) {
-        Player player = players.get(currentPlayerIndex);
-        if (position == null) {
-            return false;
-        }
+        GameEvents.Build event = GameEvents.Build.startIfEnabled(getCurrentPlayerFaction(), Structure.SETTLEMENT, position, null);
+        long start = BUILD_SETTLEMENT.start();
+        try {
+            Player player = currentPlayer;
+            if (position == null) {
+                return false;
+            }
 
-        if (settlementCanBeBuilt(position) && player.hasEnoughResourcesToBuild(Structure.SETTLEMENT) && player.getRemainingStructure(Structure.SETTLEMENT) >= 1) {
+            if (settlementCanBeBuilt(position) && player.hasEnoughResourcesToBuild(Structure.SETTLEMENT) && player.getRemainingStructure(Structure.SETTLEMENT) >= 1) {
 
-            player.removeResourcesForStructure(Structure.SETTLEMENT);
-            board.setCorner(position, getCurrentPlayerFaction().toString());
-            bank.addResourcesForStructure(Structure.SETTLEMENT);
+                player.transferTo(bank, Structure.SETTLEMENT.getCostCounts());
+                board.setCorner(position, getCurrentPlayerFaction().toString());
 
-            player.removeFromAvailableStructure(Structure.SETTLEMENT);
+                player.removeFromAvailableStructure(Structure.SETTLEMENT);
 
-            board.addAllBuildingElementOnBoard(new Settlement(position, Structure.SETTLEMENT, player.getFaction()));
+                board.addAllBuildingElementOnBoard(new Settlement(position, Structure.SETTLEMENT, player.getFaction()));
 
-            player.addVictoryPoints(POINTS_FOR_SETTLEMENT);
-            return true;
+                player.addVictoryPoints(ScoreLedger.Source.SETTLEMENT, POINTS_FOR_SETTLEMENT);
+                record(GameJournal.EventType.SETTLEMENT, position, null, 0, 0);
+                if (event != null) {
+                    event.succeed(Structure.SETTLEMENT, true);
+                }
+                return true;
+            }
+            return false;
+        } finally {
+            BUILD_SETTLEMENT.stop(start);
+            if (event != null) {
+                event.commit();
+            }
         }
-        return false;
     }
 
     /**
@@ -256,33 +524,44 @@ public class SiedlerGame {
      * @return true, if the placement was successful
      */
     public boolean buildCity(Point position) {
-        Player player = players.get(currentPlayerIndex);
-        if (position == null) {
-            return false;
-        }
-
-        if (cityCanBeBuilt(position) && player.hasEnoughResourcesToBuild(Structure.CITY) && player.getRemainingStructure(Structure.CITY) >= 1) {
-
-            player.removeResourcesForStructure(Structure.CITY);
-            board.setCorner(position, getCurrentPlayerFaction().toString().toUpperCase());
-            bank.addResourcesForStructure(Structure.CITY);
-
-            player.addToAvailableStructure(Structure.SETTLEMENT);
-            player.removeFromAvailableStructure(Structure.CITY);
-            BuildingElement buildingElement = board.getBuildingElement(position, Structure.SETTLEMENT);
-            if (buildingElement == null) {
+        GameEvents.Build event = GameEvents.Build.startIfEnabled(getCurrentPlayerFaction(), Structure.CITY, position, null);
+        long start = BUILD_CITY.start();
+        try {
+            Player player = currentPlayer;
+            if (position == null) {
                 return false;
             }
-            board.removeAllBuildingElementOnBoard(buildingElement);
 
-            board.addAllBuildingElementOnBoard(new City(position, player.getFaction()));
+            if (cityCanBeBuilt(position) && player.hasEnoughResourcesToBuild(Structure.CITY) && player.getRemainingStructure(Structure.CITY) >= 1) {
 
-            player.removeVictoryPoints(POINTS_FOR_SETTLEMENT);
-            player.addVictoryPoints(POINTS_FOR_CITY);
+                player.transferTo(bank, Structure.CITY.getCostCounts());
+                board.setCorner(position, getCurrentPlayerFaction().toString().toUpperCase());
 
-            return true;
+                player.addToAvailableStructure(Structure.SETTLEMENT);
+                player.removeFromAvailableStructure(Structure.CITY);
+                BuildingElement buildingElement = board.getBuildingElement(position, Structure.SETTLEMENT);
+                if (buildingElement == null) {
+                    return false;
+                }
+                board.removeAllBuildingElementOnBoard(buildingElement);
+
+                board.addAllBuildingElementOnBoard(new City(position, player.getFaction()));
+
+                player.addVictoryPoints(ScoreLedger.Source.SETTLEMENT, -POINTS_FOR_SETTLEMENT);
+                player.addVictoryPoints(ScoreLedger.Source.CITY, POINTS_FOR_CITY);
+                record(GameJournal.EventType.CITY, position, null, 0, 0);
+                if (event != null) {
+                    event.succeed(Structure.CITY, true);
+                }
+                return true;
+            }
+            return false;
+        } finally {
+            BUILD_CITY.stop(start);
+            if (event != null) {
+                event.commit();
+            }
         }
-        return false;
     }
 
     /**
@@ -301,23 +580,34 @@ public class SiedlerGame {
      */
 
     public boolean buildRoad(Point roadStart, Point roadEnd) {
-        Player player = players.get(currentPlayerIndex);
-        if (roadStart == null || roadEnd == null) {
-            return false;
-        }
-        if (roadCanBeBuilt(roadStart, roadEnd) && player.hasEnoughResourcesToBuild(Structure.ROAD) && player.getRemainingStructure(Structure.ROAD) >= 1) {
-
-            player.removeResourcesForStructure(Structure.ROAD);
-            board.setEdge(roadStart, roadEnd, getCurrentPlayerFaction().toString());
-            bank.addResourcesForStructure(Structure.ROAD);
+        GameEvents.Build event = GameEvents.Build.startIfEnabled(getCurrentPlayerFaction(), Structure.ROAD, roadStart, roadEnd);
+        long start = BUILD_ROAD.start();
+        try {
+            Player player = currentPlayer;
+            if (roadStart == null || roadEnd == null) {
+                return false;
+            }
+            if (roadCanBeBuilt(roadStart, roadEnd) && player.hasEnoughResourcesToBuild(Structure.ROAD) && player.getRemainingStructure(Structure.ROAD) >= 1) {
 
-            player.removeFromAvailableStructure(Structure.ROAD);
+                player.transferTo(bank, Structure.ROAD.getCostCounts());
+                board.setEdge(roadStart, roadEnd, getCurrentPlayerFaction().toString());
 
-            board.addAllBuildingElementOnBoard(new Road(roadStart, player.getFaction()));
+                player.removeFromAvailableStructure(Structure.ROAD);
 
-            return true;
+                board.addAllBuildingElementOnBoard(new Road(roadStart, player.getFaction()));
+                record(GameJournal.EventType.ROAD, roadStart, roadEnd, 0, 0);
+                if (event != null) {
+                    event.succeed(Structure.ROAD, true);
+                }
+                return true;
+            }
+            return false;
+        } finally {
+            BUILD_ROAD.stop(start);
+            if (event != null) {
+                event.commit();
+            }
         }
-        return false;
     }
 
     /**
@@ -325,7 +615,8 @@ public class SiedlerGame {
      * offered type for {@link #FOUR_TO_ONE_TRADE_WANT} resource cards of the wanted type.
      * </p><p>
      * The trade only works when bank and player possess the resource cards
-     * for the trade before the trade is executed.
+     * for the trade before the trade is executed. Otherwise, no resource cards
+     * are moved.
      * </p>
      *
      * @param offer offered type
@@ -333,30 +624,220 @@ public class SiedlerGame {
      * @return true, if the trade was successful
      */
     public boolean tradeWithBankFourToOne(Resource offer, Resource want) {
-        Player player = players.get(currentPlayerIndex);
-        int amount = player.getResourceCount(offer);
-        if (amount >= FOUR_TO_ONE_TRADE_OFFER) {
-            player.removeResource(offer, FOUR_TO_ONE_TRADE_OFFER);
-            player.addResource(want, FOUR_TO_ONE_TRADE_WANT);
-            bank.addResource(offer, FOUR_TO_ONE_TRADE_OFFER);
-            return bank.removeResource(want, FOUR_TO_ONE_TRADE_WANT);
+        GameEvents.Trade event = GameEvents.Trade.startIfEnabled(getCurrentPlayerFaction(), "BANK",
+                FOUR_TO_ONE_TRADE_OFFER, FOUR_TO_ONE_TRADE_WANT);
+        long start = TRADE_WITH_BANK.start();
+        try {
+            int[] given = new int[Resource.values().length];
+            int[] received = new int[Resource.values().length];
+            given[offer.ordinal()] = FOUR_TO_ONE_TRADE_OFFER;
+            received[want.ordinal()] = FOUR_TO_ONE_TRADE_WANT;
+            if (!currentPlayer.exchange(bank, given, received)) {
+                return false;
+            }
+            record(GameJournal.EventType.TRADE, null, null, offer.ordinal(), want.ordinal());
+            if (event != null) {
+                event.success = true;
+            }
+            return true;
+        } finally {
+            TRADE_WITH_BANK.stop(start);
+            if (event != null) {
+                event.commit();
+            }
+        }
+    }
+
+    /**
+     * <p>Posts an offer of a player to trade the offered resource cards for the
+     * wanted resource cards with another player.
+     * </p><p>
+     * If an open offer of another player can be served by the new offer, the
+     * oldest such offer is traded immediately on its terms, i.e., the player
+     * never gives more than offered and never receives less than wanted.
+     * If no offer matches or the trade fails, the new offer is added to the
+     * open offers and has no counterparty. There, other players
+     * can accept it ({@link #acceptTradeOffer(Faction, int)}) or serve it with
+     * their own offers.
+     * </p>
+     *
+     * @param faction the faction of the player who makes the offer
+     * @param offer   the offered resource cards
+     * @param want    the wanted resource cards
+     * @return the offer, which has been traded if {@link TradeOffer#isTraded()}
+     * is true, or null if the player does not have the offered resource cards
+     * @throws IllegalArgumentException if the faction does not play, a count is
+     *                                  negative or nothing is offered or wanted
+     */
+    public TradeOffer postTradeOffer(Faction faction, Map<Resource, Integer> offer, Map<Resource, Integer> want) {
+        long start = POST_TRADE_OFFER.start();
+        try {
+            Player player = getPlayerFromFaction(faction);
+            int[] offered = toCounts(offer);
+            int[] wanted = toCounts(want);
+            if (!hasResources(player, offered)) {
+                return null;
+            }
+            TradeOffer tradeOffer = orderBook.create(faction, offered, wanted);
+            TradeOffer match = orderBook.findMatch(tradeOffer,
+                    candidate -> hasResources(getPlayerFromFaction(candidate.getFaction()), candidate.getOfferedCounts()));
+            if (match != null && trade(match, player)) {
+                tradeOffer.setCounterparty(match.getFaction());
+            } else {
+                orderBook.add(tradeOffer);
+            }
+            return tradeOffer;
+        } finally {
+            POST_TRADE_OFFER.stop(start);
+        }
+    }
+
+    /**
+     * Accepts an open offer of another player. The player of the faction gives
+     * the wanted resource cards of the offer and receives the offered ones. The
+     * trade only works when both players possess the resource cards before the
+     * trade is executed.
+     *
+     * @param faction the faction of the player who accepts the offer
+     * @param offerId the id of the offer
+     * @return true, if the trade was successful
+     * @throws IllegalArgumentException if the faction does not play
+     */
+    public boolean acceptTradeOffer(Faction faction, int offerId) {
+        long start = ACCEPT_TRADE_OFFER.start();
+        try {
+            Player player = getPlayerFromFaction(faction);
+            TradeOffer offer = orderBook.get(offerId);
+            if (offer == null || offer.getFaction() == faction) {
+                return false;
+            }
+            return trade(offer, player);
+        } finally {
+            ACCEPT_TRADE_OFFER.stop(start);
         }
-        return false;
     }
 
     /**
-     * Returns the winner of the game, if any.
+     * Withdraws an open offer.
+     *
+     * @param offerId the id of the offer
+     * @return true, if the offer was open
+     */
+    public boolean cancelTradeOffer(int offerId) {
+        TradeOffer offer = orderBook.get(offerId);
+        return offer != null && orderBook.remove(offer);
+    }
+
+    /**
+     * Returns the open offers of all players, oldest first.
+     *
+     * @return the open offers
+     */
+    public List<TradeOffer> getTradeOffers() {
+        return orderBook.getOffers();
+    }
+
+    /**
+     * Moves resource cards from one player to another, e.g. when a trade between
+     * players is replayed.
+     *
+     * @param from     the faction of the giving player
+     * @param to       the faction of the receiving player
+     * @param resource the resource type
+     * @param count    the number of resource cards
+     */
+    void transferResource(Faction from, Faction to, Resource resource, int count) {
+        if (getPlayerFromFaction(from).transferTo(getPlayerFromFaction(to), resource, count)) {
+            recordTransfer(from, to, resource, count);
+        }
+    }
+
+    private void recordTransfer(Faction from, Faction to, Resource resource, int count) {
+        if (journal != null) {
+            journal.appendTransfer(from, to, resource, count);
+        }
+    }
+
+    private boolean trade(TradeOffer offer, Player counterparty) {
+        GameEvents.Trade event = GameEvents.Trade.startIfEnabled(offer.getFaction(), counterparty.getFaction(),
+                offer.getOfferedCounts(), offer.getWantedCounts());
+        Player maker = getPlayerFromFaction(offer.getFaction());
+        if (!maker.exchange(counterparty, offer.getOfferedCounts(), offer.getWantedCounts())) {
+            if (event != null) {
+                event.commit();
+            }
+            return false;
+        }
+        for (Resource resource : Resource.values()) {
+            if (offer.getOfferedCount(resource) > 0) {
+                recordTransfer(maker.getFaction(), counterparty.getFaction(), resource, offer.getOfferedCount(resource));
+            }
+            if (offer.getWantedCount(resource) > 0) {
+                recordTransfer(counterparty.getFaction(), maker.getFaction(), resource, offer.getWantedCount(resource));
+            }
+        }
+        orderBook.remove(offer);
+        offer.setCounterparty(counterparty.getFaction());
+        if (event != null) {
+            event.success = true;
+            event.commit();
+        }
+        return true;
+    }
+
+    private static boolean hasResources(Player player, int[] counts) {
+        for (Resource resource : Resource.values()) {
+            if (player.getResourceCount(resource) < counts[resource.ordinal()]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int[] toCounts(Map<Resource, Integer> resources) {
+        int[] counts = new int[Resource.values().length];
+        int total = 0;
+        for (Map.Entry<Resource, Integer> entry : resources.entrySet()) {
+            if (entry.getValue() < 0) {
+                throw new IllegalArgumentException("The count of " + entry.getKey() + " must not be negative.");
+            }
+            counts[entry.getKey().ordinal()] += entry.getValue();
+            total += entry.getValue();
+        }
+        if (total == 0) {
+            throw new IllegalArgumentException("At least one resource card must be offered and wanted.");
+        }
+        return counts;
+    }
+
+    /**
+     * Returns the winner of the game, if any. If the current player has reached
+     * the win points, the current player wins. Otherwise, the leader of the
+     * {@link ScoreLedger} wins, if the leader has reached the win points.
      *
      * @return The winner of the game as type Faction or NULL, if the win points have not been reached yet.
      */
     public Faction getWinner() {
-        Player player = players.get(currentPlayerIndex);
-        int victoryPoints = player.getVictoryPoints();
-        if (victoryPoints >= winPoints) {
-            return player.getFaction();
+        long start = GET_WINNER.start();
+        try {
+            Faction current = getCurrentPlayerFaction();
+            if (scoreLedger.getPoints(current) >= winPoints) {
+                return current;
+            }
+            return scoreLedger.isGameOver() ? scoreLedger.getLeader() : null;
+        } finally {
+            GET_WINNER.stop(start);
         }
+    }
 
-        return null;
+    /**
+     * Returns the ledger with the victory points of all players, their sources
+     * and the leaderboard.
+     *
+     * @return the ledger of the game
+     */
+    public ScoreLedger getScoreLedger() {
+        return scoreLedger;
     }
 
     /**
@@ -380,19 +861,70 @@ public class SiedlerGame {
      * @return the resource cards added to the stock of the different players
      */
     public Map<Faction, List<Resource>> throwDice(int diceThrow) {
-        Map<Faction, List<Resource>> result = new HashMap<>();
-
-        for (Player player : players) {
-            List<Resource> resources = new ArrayList<>();
-            result.put(player.getFaction(), resources);
+        GameEvents.DiceThrow event = GameEvents.DiceThrow.startIfEnabled(getCurrentPlayerFaction(), diceThrow);
+        long start = THROW_DICE.start();
+        try {
+            Map<Faction, List<Resource>> result;
+            if (diceThrow == THIEF_DICE_THROW) {
+                THIEF_THROWS.increment();
+                result = stealCardsFromPlayers();
+            } else {
+                result = new HashMap<>();
+                payOut(diceThrow, null, result);
+            }
+            record(GameJournal.EventType.DICE, null, null, diceThrow, 0);
+            if (journal != null && diceThrow == THIEF_DICE_THROW) {
+                for (Map.Entry<Faction, List<Resource>> entry : result.entrySet()) {
+                    for (Resource resource : Resource.values()) {
+                        int count = Collections.frequency(entry.getValue(), resource);
+                        if (count > 0) {
+                            journal.append(GameJournal.EventType.DISCARD, entry.getKey(), null, null, resource.ordinal(), count);
+                        }
+                    }
+                }
+            }
+            if (event != null && event.shouldCommit()) {
+                for (List<Resource> resources : result.values()) {
+                    event.resourcesMoved += resources.size();
+                }
+                event.commit();
+            }
+            return result;
+        } finally {
+            THROW_DICE.stop(start);
         }
+    }
 
-        if (diceThrow == THIEF_DICE_THROW) {
-            result = stealCardsFromPlayers();
-        } else {
-            result = receivePayoutFromLand(diceThrow);
+    /**
+     * Applies a sequence of dice throws, as if {@link #throwDice(int)} was called for each of them, until the first
+     * {@link #THIEF_DICE_THROW}. The 7 itself is not applied, so the caller can handle the thief with
+     * {@link #throwDice(int)} and {@link #placeThiefAndStealCard(Point)} and continue after it.
+     * <p>
+     * Instead of returning lists, the paid out resource cards are added to the given counts, which are indexed by
+     * the ordinal of the {@link Faction} and the ordinal of the {@link Resource}. The bank and the players are
+     * changed exactly as by the single throws, but no maps or lists are created.
+     * </p>
+     *
+     * @param diceThrows the dice values, from 2 to 12.
+     * @param payouts    the counts to add the payouts to, at least [number of factions][number of resources].
+     * @return the number of applied dice throws, which is the index of the first 7 or the length of diceThrows.
+     * @throws IllegalArgumentException if a dice value is invalid. The throws before it have been applied.
+     */
+    public int throwDice(int[] diceThrows, int[][] payouts) {
+        long start = THROW_DICE_BATCH.start();
+        try {
+            for (int i = 0; i < diceThrows.length; i++) {
+                int diceThrow = diceThrows[i];
+                if (diceThrow == THIEF_DICE_THROW) {
+                    return i;
+                }
+                payOut(diceThrow, payouts, null);
+                record(GameJournal.EventType.DICE, null, null, diceThrow, 0);
+            }
+            return diceThrows.length;
+        } finally {
+            THROW_DICE_BATCH.stop(start);
         }
-        return result;
     }
 
     /**
@@ -406,115 +938,199 @@ public class SiedlerGame {
      * placed there (e.g., on water)
      */
     public boolean placeThiefAndStealCard(Point field) {
-        if (!board.hasField(field) || board.getField(field) == Land.WATER || fieldOccupiedByThief.equals(field)) {
-            return false;
-        }
+        GameEvents.Thief event = GameEvents.Thief.startIfEnabled(getCurrentPlayerFaction(), field);
+        long start = PLACE_THIEF.start();
+        try {
+            if (!board.hasField(field) || board.getField(field) == Land.WATER || fieldOccupiedByThief.equals(field)) {
+                return false;
+            }
 
-        fieldOccupiedByThief = field;
+            moveThief(field);
+            if (event != null) {
+                event.success = true;
+            }
 
-        List<Player> candidates = new ArrayList<>();
+            List<Player> candidates = new ArrayList<>();
 
-        for (String corner : board.getCornersOfField(field)) {
-            for (Faction f : Faction.values()) {
+            for (String corner : board.getCornersOfField(field)) {
+                for (Faction f : Faction.values()) {
 
-                if (getCurrentPlayerFaction().equals(f)) {
-                    continue;
+                    if (getCurrentPlayerFaction().equals(f)) {
+                        continue;
+                    }
+                    if (f.toString().equalsIgnoreCase(corner)) {
+                        Player player = getPlayerFromFaction(f);
+                        candidates.add(player);
+                    }
                 }
-                if (f.toString().equalsIgnoreCase(corner)) {
-                    Player player = getPlayerFromFaction(f.toString());
-                    candidates.add(player);
+            }
+
+            for (int i = 0; i < candidates.size(); i++) {
+                if (!candidates.get(i).hasResources()) {
+                    candidates.remove(i);
+                    i--;
                 }
             }
-        }
 
-        for (int i = 0; i < candidates.size(); i++) {
-            if (!candidates.get(i).hasResources()) {
-                candidates.remove(i);
-                i--;
+            if (candidates.isEmpty()) {
+                return true;
             }
-        }
 
-        if (candidates.isEmpty()) {
-            stolenResource = null;
+            Player candidate = candidates.get(new Random().nextInt(candidates.size()));
+
+            List<Resource> resources = new ArrayList<>(candidate.getAvailableResources().keySet());
+            stealResource(candidate.getFaction(), resources.get(new Random().nextInt(resources.size())));
+            if (event != null) {
+                event.victim = candidate.getFaction().name();
+                event.resourcesMoved = 1;
+            }
             return true;
+        } finally {
+            PLACE_THIEF.stop(start);
+            if (event != null) {
+                event.commit();
+            }
         }
-        Player current = players.get(currentPlayerIndex);
-
-        victim = candidates.get(new Random().nextInt(candidates.size()));
-
-        List<Resource> resources = new ArrayList<>(victim.getAvailableResources().keySet());
-        stolenResource = resources.get(new Random().nextInt(resources.size()));
-
-        victim.removeResource(stolenResource, 1);
-        current.addResource(stolenResource, 1);
-        return true;
     }
 
-    private Player getPlayerFromFaction(String factionString) {
-        Player player = null;
-        for (Player p : players) {
-            if (p.getFaction().toString().equalsIgnoreCase(factionString)) {
-                player = p;
+    /**
+     * Evaluates every field on which the current player can place the thief
+     * (see {@link #placeThiefAndStealCard(Point)}) and returns them ordered by
+     * their {@link ThiefPlacement#getScore() score}, the best first. The
+     * evaluation uses the dice values of the fields and the settlements and
+     * cities at their corners.
+     *
+     * @return the evaluated placements, the best first
+     */
+    public List<ThiefPlacement> rankThiefPlacements() {
+        long start = RANK_THIEF_PLACEMENTS.start();
+        try {
+            Faction current = getCurrentPlayerFaction();
+            List<ThiefPlacement> placements = new ArrayList<>();
+            for (Point field : board.getFields()) {
+                if (board.getField(field) == Land.WATER || field.equals(fieldOccupiedByThief)) {
+                    continue;
+                }
+                int blockedOpponentWeight = 0;
+                int blockedOwnWeight = 0;
+                for (Player player : players) {
+                    int weight = board.getFieldProductionWeight(field, player.getFaction());
+                    if (player.getFaction() == current) {
+                        blockedOwnWeight += weight;
+                    } else {
+                        blockedOpponentWeight += weight;
+                    }
+                }
+                placements.add(new ThiefPlacement(field, blockedOpponentWeight / 36.0, blockedOwnWeight / 36.0,
+                        getStealChance(currentPlayer, field)));
             }
+            placements.sort(Comparator.comparingDouble(ThiefPlacement::getScore).reversed());
+            return placements;
+        } finally {
+            RANK_THIEF_PLACEMENTS.stop(start);
         }
-        if (player == null) {
-            throw new IllegalArgumentException("No player with faction " + factionString + " found.");
-        }
-        return player;
     }
 
-    private boolean roadCanBeBuilt(Point roadStart, Point roadEnd) {
-        if (!board.hasEdge(roadStart, roadEnd)) {
-            return false;
+    /**
+     * Returns the probability that {@link #placeThiefAndStealCard(Point)} on the field steals a card of a resource the
+     * thief does not hold yet. As there, the victim is drawn from the settlements and cities of the opponents with
+     * resource cards at the field, and the resource from the types the victim holds.
+     */
+    private double getStealChance(Player thief, Point field) {
+        List<Player> victims = new ArrayList<>();
+        for (String corner : board.getCornersOfField(field)) {
+            for (Player player : players) {
+                if (player != thief && player.hasResources() && player.getFaction().toString().equalsIgnoreCase(corner)) {
+                    victims.add(player);
+                }
+            }
         }
-        boolean isAFreeRoad = board.getEdge(roadStart, roadEnd) == null;
-        boolean isNextToAnOwnBuilding = getCurrentPlayerFaction().toString().equalsIgnoreCase(board.getCorner(roadStart)) || getCurrentPlayerFaction().toString().equalsIgnoreCase(board.getCorner(roadEnd));
-        boolean isNextToAnOwnRoad = board.getAdjacentEdges(roadStart).contains(getCurrentPlayerFaction().toString()) || board.getAdjacentEdges(roadEnd).contains(getCurrentPlayerFaction().toString());
-        boolean roadIsBetweenWater = isCornerOnlyNextToWater(roadStart) || isCornerOnlyNextToWater(roadEnd);
+        double chance = 0;
+        for (Player victim : victims) {
+            int types = 0;
+            int missingTypes = 0;
+            for (Resource resource : Resource.values()) {
+                if (victim.getResourceCount(resource) > 0) {
+                    types++;
+                    if (thief.getResourceCount(resource) == 0) {
+                        missingTypes++;
+                    }
+                }
+            }
+            chance += (double) missingTypes / types / victims.size();
+        }
+        return chance;
+    }
 
-        return isAFreeRoad && (isNextToAnOwnRoad || isNextToAnOwnBuilding) && !roadIsBetweenWater;
+    /**
+     * Moves the thief to the specified field without stealing a card.
+     *
+     * @param field the field on which to place the thief.
+     */
+    void moveThief(Point field) {
+        fieldOccupiedByThief = field;
+        stolenResource = null;
+        record(GameJournal.EventType.THIEF, field, null, 0, 0);
     }
 
-    private boolean cityCanBeBuilt(Point position) {
-        if (!board.hasCorner(position)) {
-            return false;
+    /**
+     * Moves one resource card from the stock of the victim to the stock of the current player.
+     *
+     * @param victimFaction the faction of the player the card is stolen from.
+     * @param resource      the stolen resource.
+     */
+    void stealResource(Faction victimFaction, Resource resource) {
+        victim = getPlayerFromFaction(victimFaction);
+        stolenResource = resource;
+        victim.transferTo(currentPlayer, resource, 1);
+        if (journal != null) {
+            journal.append(GameJournal.EventType.STEAL, victimFaction, null, null, resource.ordinal(), 0);
         }
+    }
 
-        return getCurrentPlayerFaction().toString().equals(board.getCorner(position));
+    /**
+     * Moves resource cards of a player back to the bank, as it happens when a 7 is thrown.
+     *
+     * @param faction  the faction of the player.
+     * @param resource the discarded resource.
+     * @param count    the number of discarded cards.
+     */
+    void discardResources(Faction faction, Resource resource, int count) {
+        getPlayerFromFaction(faction).transferTo(bank, resource, count);
     }
 
-    private boolean settlementCanBeBuilt(Point location) {
-        if (!board.hasCorner(location)) {
-            return false;
+    private void record(GameJournal.EventType type, Point p1, Point p2, int arg1, int arg2) {
+        if (journal != null) {
+            journal.append(type, getCurrentPlayerFaction(), p1, p2, arg1, arg2);
         }
+    }
 
-        boolean cornerIsEmpty = board.getCorner(location) == null;
-        boolean cornerHasNoNeighbour = board.getNeighboursOfCorner(location).isEmpty();
-        boolean cornerIsOnAnOwnStreet = board.getAdjacentEdges(location).contains(getCurrentPlayerFaction().toString());
+    private Player getPlayerFromFaction(Faction faction) {
+        Player player = playersByFaction[faction.ordinal()];
+        if (player == null) {
+            throw new IllegalArgumentException("No player with faction " + faction + " found.");
+        }
+        return player;
+    }
 
-        return cornerIsEmpty && cornerHasNoNeighbour && cornerIsOnAnOwnStreet && !isCornerOnlyNextToWater(location);
+    boolean roadCanBeBuilt(Point roadStart, Point roadEnd) {
+        return board.isRoadLocation(getCurrentPlayerFaction(), roadStart, roadEnd);
     }
 
-    private boolean initialSettlementCanBeBuilt(Point location) {
-        if (!board.hasCorner(location)) {
+    boolean cityCanBeBuilt(Point position) {
+        if (!board.hasCorner(position)) {
             return false;
         }
-        boolean cornerIsEmpty = board.getCorner(location) == null;
-        boolean cornerHasNoNeighbour = board.getNeighboursOfCorner(location).isEmpty();
 
-        return cornerIsEmpty && cornerHasNoNeighbour && !isCornerOnlyNextToWater(location);
+        return getCurrentPlayerFaction().toString().equals(board.getCorner(position));
     }
 
-    private boolean isCornerOnlyNextToWater(Point location) {
-        boolean cornerIsOnlyNextToWater = true;
-        List<Land> landsAdjacentToCorner = board.getFields(location);
-        for (Land land : landsAdjacentToCorner) {
-            if (land != Land.WATER) {
-                cornerIsOnlyNextToWater = false;
-                break;
-            }
-        }
-        return cornerIsOnlyNextToWater;
+    boolean settlementCanBeBuilt(Point location) {
+        return board.getSettlementLocations(getCurrentPlayerFaction()).contains(location);
+    }
+
+    boolean initialSettlementCanBeBuilt(Point location) {
+        return board.getInitialSettlementLocations().contains(location);
     }
 
     private Map<Faction, List<Resource>> stealCardsFromPlayers() {
@@ -531,72 +1147,122 @@ public class SiedlerGame {
     }
 
     private List<Resource> stealHalfResourcesFromPlayer(Player player) {
-
-        List<Resource> inventory = new ArrayList<>();
-
-        Map<Resource, Integer> inventoryMap = player.getAvailableResources();
-        for (Resource resource : inventoryMap.keySet()) {
-            for (int i = 0; i < inventoryMap.get(resource); i++) {
-                inventory.add(resource);
+        for (Resource resource : Resource.values()) {
+            handCounts[resource.ordinal()] = player.getResourceCount(resource);
+        }
+        int total = player.getTotalResourceCount();
+        int discards = total / 2;
+        drawWithoutReplacement(handCounts, total, discards, ThreadLocalRandom.current(), discardCounts);
+        player.transferTo(bank, discardCounts);
+
+        List<Resource> stolen = new ArrayList<>(discards);
+        for (Resource resource : Resource.values()) {
+            for (int i = 0; i < discardCounts[resource.ordinal()]; i++) {
+                stolen.add(resource);
             }
         }
+        return stolen;
+    }
 
-        Collections.shuffle(inventory);
-
-        List<Resource> stolen = new ArrayList<>();
-
-        for (int i = 0; i < Math.floor(inventory.size() / 2.0); i++) {
-            Resource resource = inventory.get(i);
-            stolen.add(resource);
-            player.removeResource(resource, 1);
-            bank.addResource(resource, 1);
+    /**
+     * Draws cards uniformly at random without replacement from a hand, with the same distribution as shuffling the
+     * cards and taking the first ones. The cards are drawn one by one, each resource with the weight of its remaining
+     * cards, so the hand is never expanded into single cards.
+     *
+     * @param counts the counts of the hand, indexed by the ordinal of the {@link Resource}.
+     * @param total  the number of cards of the hand.
+     * @param draws  the number of cards to draw, at most total.
+     * @param random the source of the random numbers.
+     * @param drawn  the array for the counts of the drawn cards, in the same form as counts.
+     */
+    static void drawWithoutReplacement(int[] counts, int total, int draws, RandomGenerator random, int[] drawn) {
+        Arrays.fill(drawn, 0);
+        int remaining = total;
+        for (int draw = 0; draw < draws; draw++) {
+            int card = random.nextInt(remaining);
+            int index = 0;
+            while (card >= counts[index] - drawn[index]) {
+                card -= counts[index] - drawn[index];
+                index++;
+            }
+            drawn[index]++;
+            remaining--;
         }
-
-        return stolen;
     }
 
-    private Map<Faction, List<Resource>> receivePayoutFromLand(int diceThrow) {
-        int payoutAmountForCity = 2;
-        int payoutAmountForSettlement = 1;
-        Map<Faction, List<Resource>> gained = new HashMap<>();
-        List<Point> fields = board.getFieldsForDiceValue(diceThrow);
+    /**
+     * Pays out the resources of all fields with the given dice value, except the field occupied by the thief.
+     * The fields are visited in the order of {@link SiedlerBoard#getFieldsForDiceValue(int)}, the players in their
+     * sequence and the corners in the order of {@link SiedlerBoard#getCornersOfField(Point)}. This order decides who
+     * gets the last cards of the bank.
+     *
+     * @param diceThrow the dice value.
+     * @param payouts   the counts per faction and resource to add the payouts to, or null.
+     * @param gained    the map to add the paid out resources to, or null.
+     */
+    private void payOut(int diceThrow, int[][] payouts, Map<Faction, List<Resource>> gained) {
+        if (diceThrow < MIN_DICE_VALUE || diceThrow > MAX_DICE_VALUE) {
+            throw new IllegalArgumentException("Dice value may not be less than 2 or greater than 12! Given dice value: " + diceThrow);
+        }
+        if (payoutFields == null) {
+            createPayoutTables();
+        }
+        GameEvents.Payout event = GameEvents.Payout.startIfEnabled();
+        int resourcesMoved = 0;
+        Point[] fields = payoutFields[diceThrow];
+        Point[][] corners = payoutCorners[diceThrow];
 
-        for (Point field : fields) {
-            if (field.equals(fieldOccupiedByThief)) {
+        for (int f = 0; f < fields.length; f++) {
+            if (fields[f].equals(fieldOccupiedByThief)) {
                 continue;
             }
-            Land land = board.getField(field);
+            Resource resource = board.getField(fields[f]).getResource();
 
             for (Player player : players) {
-                List<Resource> resources = new ArrayList<>();
-
-                for (String corner : board.getCornersOfField(field)) {
-                    if (corner.equalsIgnoreCase(player.getFaction().toString())) {
-                        if (corner.equals(player.getFaction().toString().toUpperCase())) {
-                            if (bank.removePayoutForStructure(land.getResource(), Structure.CITY)) {
-                                player.addResource(land.getResource(), payoutAmountForCity);
-                                resources.add(land.getResource());
-                                resources.add(land.getResource());
-                            }
-                        } else if (bank.removePayoutForStructure(land.getResource(), Structure.SETTLEMENT)) {
-                            player.addResource(land.getResource(), payoutAmountForSettlement);
-                            resources.add(land.getResource());
+                Faction faction = player.getFaction();
+                List<Resource> resources = gained == null ? null : gained.computeIfAbsent(faction, k -> new ArrayList<>());
+
+                for (Point position : corners[f]) {
+                    String corner = board.getCorner(position);
+                    if (corner == null || !corner.equalsIgnoreCase(faction.toString())) {
+                        continue;
+                    }
+                    boolean isCity = !corner.equals(faction.toString());
+                    int amount = isCity ? 2 : 1;
+                    if (bank.transferTo(player, resource, amount)) {
+                        resourcesMoved += amount;
+                        if (payouts != null) {
+                            payouts[faction.ordinal()][resource.ordinal()] += amount;
+                        }
+                        for (int i = 0; resources != null && i < amount; i++) {
+                            resources.add(resource);
                         }
                     }
                 }
+            }
+        }
+        if (event != null) {
+            event.diceValue = diceThrow;
+            event.resourcesMoved = resourcesMoved;
+            event.commit();
+        }
+    }
 
-                if (gained.containsKey(player.getFaction())) {
-                    gained.get(player.getFaction()).addAll(resources);
-                } else {
-                    gained.put(player.getFaction(), resources);
-                }
+    private void createPayoutTables() {
+        payoutFields = new Point[MAX_DICE_VALUE + 1][];
+        payoutCorners = new Point[MAX_DICE_VALUE + 1][][];
+        for (int dice = MIN_DICE_VALUE; dice <= MAX_DICE_VALUE; dice++) {
+            List<Point> fields = board.getFieldsForDiceValue(dice);
+            payoutFields[dice] = fields.toArray(new Point[0]);
+            payoutCorners[dice] = new Point[fields.size()][];
+            for (int i = 0; i < fields.size(); i++) {
+                payoutCorners[dice][i] = board.getCornerPositionsOfField(fields.get(i)).toArray(new Point[0]);
             }
         }
-        return gained;
     }
 
     /**
-     * Only used in testing.
+     * Returns the bank of the game.
      *
      * @return bank.
      */
@@ -605,7 +1271,7 @@ public class SiedlerGame {
     }
 
     /**
-     * Only used in testing.
+     * Returns the field on which the thief is placed.
      *
      * @return fieldOccupiedByThief.
      */
@@ -614,20 +1280,48 @@ public class SiedlerGame {
     }
 
     /**
-     * Only used in testing.
+     * Sets the field occupied by the thief without stealing a card, e.g. when the game is restored from a snapshot.
+     *
+     * @param field the field occupied by the thief.
+     */
+    void setFieldOccupiedByThief(Point field) {
+        fieldOccupiedByThief = field;
+    }
+
+    /**
+     * Returns the index of the current player in the sequence of players.
+     *
+     * @return the index of the current player.
+     */
+    int getCurrentPlayerIndex() {
+        return currentPlayerIndex;
+    }
+
+    /**
+     * Sets the current player, e.g. when the game is restored from a snapshot.
+     *
+     * @param currentPlayerIndex the index of the current player in the sequence of players.
+     */
+    void setCurrentPlayerIndex(int currentPlayerIndex) {
+        this.currentPlayerIndex = currentPlayerIndex;
+        this.currentPlayer = players[currentPlayerIndex];
+    }
+
+    /**
+     * Returns a copy of the players in the sequence in which they play.
      *
      * @return players.
      */
     LinkedList<Player> getPlayers() {
-        return players;
+        return new LinkedList<>(Arrays.asList(players));
     }
 
     /**
-     * Only used in testing.
+     * Returns the current player.
      *
      * @return Current player.
      */
     Player getCurrentPlayer() {
-        return players.get(currentPlayerIndex);
+        return currentPlayer;
     }
 }
\ No newline at end of file
@@ -0,0 +1,95 @@
+package ch.zhaw.catan;
+
+import java.awt.Point;
+
+/**
+ * This class represents the evaluation of a field on which the current player can place the thief (see
+ * {@link SiedlerGame#rankThiefPlacements()}).
+ * <p>
+ * The score of a placement is the income the thief blocks for the opponents, minus the income it blocks for the
+ * current player, over the dice throws until the next 7 is expected, plus the chance to steal a card of a resource the
+ * current player does not hold yet.
+ * </p>
+ *
+ * @author StackOverflow
+ * @version 1.0
+ */
+public final class ThiefPlacement {
+    /**
+     * The expected number of dice throws until the next 7 moves the thief again.
+     */
+    static final int EXPECTED_THROWS_UNTIL_NEXT_THIEF = 6;
+
+    private final Point field;
+    private final double blockedOpponentIncome;
+    private final double blockedOwnIncome;
+    private final double stealChance;
+
+    /**
+     * This constructor initializes an evaluated placement.
+     *
+     * @param field                 the field.
+     * @param blockedOpponentIncome the expected resource cards per dice throw the opponents lose.
+     * @param blockedOwnIncome      the expected resource cards per dice throw the current player loses.
+     * @param stealChance           the probability to steal a card of a resource the current player does not hold.
+     */
+    ThiefPlacement(Point field, double blockedOpponentIncome, double blockedOwnIncome, double stealChance) {
+        this.field = field;
+        this.blockedOpponentIncome = blockedOpponentIncome;
+        this.blockedOwnIncome = blockedOwnIncome;
+        this.stealChance = stealChance;
+    }
+
+    /**
+     * Returns the field.
+     *
+     * @return the field.
+     */
+    public Point getField() {
+        return new Point(field);
+    }
+
+    /**
+     * Returns the expected number of resource cards per dice throw which the opponents lose.
+     *
+     * @return the blocked income of the opponents.
+     */
+    public double getBlockedOpponentIncome() {
+        return blockedOpponentIncome;
+    }
+
+    /**
+     * Returns the expected number of resource cards per dice throw which the current player loses.
+     *
+     * @return the blocked income of the current player.
+     */
+    public double getBlockedOwnIncome() {
+        return blockedOwnIncome;
+    }
+
+    /**
+     * Returns the probability to steal a card of a resource the current player does not hold yet. The victim is drawn
+     * from the settlements and cities of the opponents with resource cards at the field, weighted by their number, and
+     * the resource from the types the victim holds, as by {@link SiedlerGame#placeThiefAndStealCard(Point)}.
+     *
+     * @return the steal chance.
+     */
+    public double getStealChance() {
+        return stealChance;
+    }
+
+    /**
+     * Returns the score of the placement, the expected number of resource cards the current player gains relative to
+     * the opponents.
+     *
+     * @return the score.
+     */
+    public double getScore() {
+        return (blockedOpponentIncome - blockedOwnIncome) * EXPECTED_THROWS_UNTIL_NEXT_THIEF + stealChance;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("(%d, %d) score %.2f", field.x, field.y, getScore());
+    }
+}
@@ -0,0 +1,157 @@
+package ch.zhaw.catan;
+
+import ch.zhaw.catan.Config.*;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * This class represents an offer of a player to trade a bundle of resources for another bundle of resources with
+ * another player. Open offers are kept in the {@link OrderBook} of the game until they are accepted, matched with a
+ * counter offer or cancelled.
+ *
+ * @author StackOverflow
+ * @version 1.0
+ */
+public final class TradeOffer {
+    private final int id;
+    private final Faction faction;
+    private final int[] offered;
+    private final int[] wanted;
+    private Faction counterparty;
+
+    /**
+     * This constructor initializes an offer.
+     *
+     * @param id      the id of the offer, unique within a game.
+     * @param faction the faction of the player who makes the offer.
+     * @param offered the offered counts, indexed by the ordinal of the {@link Resource}.
+     * @param wanted  the wanted counts, indexed by the ordinal of the {@link Resource}.
+     */
+    TradeOffer(int id, Faction faction, int[] offered, int[] wanted) {
+        this.id = id;
+        this.faction = faction;
+        this.offered = offered;
+        this.wanted = wanted;
+    }
+
+    /**
+     * Returns the id of the offer.
+     *
+     * @return the id.
+     */
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * Returns the faction of the player who made the offer.
+     *
+     * @return the faction.
+     */
+    public Faction getFaction() {
+        return faction;
+    }
+
+    /**
+     * Returns the faction of the player who traded with this offer.
+     *
+     * @return the faction or null, if the offer has not been traded.
+     */
+    public Faction getCounterparty() {
+        return counterparty;
+    }
+
+    /**
+     * Returns whether the offer has been traded.
+     *
+     * @return true, if the offer has been traded.
+     */
+    public boolean isTraded() {
+        return counterparty != null;
+    }
+
+    /**
+     * Returns the number of offered cards of the given resource.
+     *
+     * @param resource the resource.
+     * @return the offered count.
+     */
+    public int getOfferedCount(Resource resource) {
+        return offered[resource.ordinal()];
+    }
+
+    /**
+     * Returns the number of wanted cards of the given resource.
+     *
+     * @param resource the resource.
+     * @return the wanted count.
+     */
+    public int getWantedCount(Resource resource) {
+        return wanted[resource.ordinal()];
+    }
+
+    /**
+     * Returns the offered resources.
+     *
+     * @return the offered resources with a count greater than 0.
+     */
+    public Map<Resource, Integer> getOffered() {
+        return toMap(offered);
+    }
+
+    /**
+     * Returns the wanted resources.
+     *
+     * @return the wanted resources with a count greater than 0.
+     */
+    public Map<Resource, Integer> getWanted() {
+        return toMap(wanted);
+    }
+
+    int[] getOfferedCounts() {
+        return offered;
+    }
+
+    int[] getWantedCounts() {
+        return wanted;
+    }
+
+    void setCounterparty(Faction counterparty) {
+        this.counterparty = counterparty;
+    }
+
+    /**
+     * Checks whether a counter offer can be served by this offer: the counter offer must offer at least what this
+     * offer wants and must not want more than this offer offers.
+     *
+     * @param counterOffer the counter offer.
+     * @return true, if this offer can be traded with the counter offer on the terms of this offer.
+     */
+    boolean isServedBy(TradeOffer counterOffer) {
+        if (counterOffer.faction == faction) {
+            return false;
+        }
+        for (int i = 0; i < offered.length; i++) {
+            if (counterOffer.offered[i] < wanted[i] || counterOffer.wanted[i] > offered[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Map<Resource, Integer> toMap(int[] counts) {
+        Map<Resource, Integer> map = new EnumMap<>(Resource.class);
+        for (Resource resource : Resource.values()) {
+            if (counts[resource.ordinal()] > 0) {
+                map.put(resource, counts[resource.ordinal()]);
+            }
+        }
+        return map;
+    }
+
+    @Override
+    public String toString() {
+        return faction + " offers " + getOffered() + " for " + getWanted();
+    }
+}
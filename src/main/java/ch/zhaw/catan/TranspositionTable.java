@@ -0,0 +1,132 @@
+package ch.zhaw.catan;
+
+import java.util.Arrays;
+
+/**
+ * This class represents a bounded transposition table for search based bots, keyed by the Zobrist hash of a
+ * {@link SiedlerGame} (see {@link SiedlerGame#getStateHash()}).
+ * <p>
+ * The table has a fixed number of slots (a power of two) and each hash maps to exactly one slot. When two hashes
+ * compete for a slot, the new entry replaces the stored one if the stored entry belongs to an older generation
+ * (see {@link #newGeneration()}) or if the new entry has at least the same depth. Hence, expensive results of deep
+ * searches survive, while entries of previous decisions are recycled. The methods are synchronized, so workers of
+ * a parallel search can share a table.
+ * </p>
+ *
+ * @param <V> the type of the stored values.
+ * @author StackOverflow
+ * @version 1.0
+ */
+public class TranspositionTable<V> {
+    private final long[] hashes;
+    private final Object[] values;
+    private final int[] depths;
+    private final int[] generations;
+    private final int mask;
+    private int generation = 1;
+    private int size;
+
+    /**
+     * This constructor initializes an empty table.
+     *
+     * @param capacity the minimal number of slots. It is rounded up to the next power of two.
+     * @throws IllegalArgumentException if the capacity is lower than one or higher than 2^30.
+     */
+    public TranspositionTable(int capacity) {
+        if (capacity < 1 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("The capacity must be between 1 and 2^30. Given: " + capacity);
+        }
+        int slots = Integer.highestOneBit(capacity);
+        if (slots < capacity) {
+            slots <<= 1;
+        }
+        hashes = new long[slots];
+        values = new Object[slots];
+        depths = new int[slots];
+        generations = new int[slots];
+        mask = slots - 1;
+    }
+
+    /**
+     * Returns the value stored for the given hash.
+     *
+     * @param hash the hash of the game state.
+     * @return the value or null, if there is no value for this hash.
+     */
+    @SuppressWarnings("unchecked")
+    public synchronized V get(long hash) {
+        int slot = slot(hash);
+        if (generations[slot] != 0 && hashes[slot] == hash) {
+            return (V) values[slot];
+        }
+        return null;
+    }
+
+    /**
+     * Stores a value for the given hash, if the replacement policy allows it.
+     *
+     * @param hash  the hash of the game state.
+     * @param value the value.
+     * @param depth the depth (or any other measure of effort) of the search which produced the value.
+     * @return true, if the value has been stored.
+     */
+    public synchronized boolean put(long hash, V value, int depth) {
+        int slot = slot(hash);
+        boolean isEmpty = generations[slot] == 0;
+        boolean isReplaceable = isEmpty || hashes[slot] == hash || generations[slot] != generation
+                || depth >= depths[slot];
+        if (!isReplaceable) {
+            return false;
+        }
+        if (isEmpty) {
+            size++;
+        }
+        hashes[slot] = hash;
+        values[slot] = value;
+        depths[slot] = depth;
+        generations[slot] = generation;
+        return true;
+    }
+
+    /**
+     * Starts a new generation, e.g. for a new decision. Entries of older generations are kept, but are replaced by
+     * any new entry.
+     */
+    public synchronized void newGeneration() {
+        generation++;
+        if (generation == 0) {
+            generation = 1;
+        }
+    }
+
+    /**
+     * Removes all entries.
+     */
+    public synchronized void clear() {
+        Arrays.fill(generations, 0);
+        Arrays.fill(values, null);
+        size = 0;
+    }
+
+    /**
+     * Returns the number of stored entries.
+     *
+     * @return the number of entries.
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Returns the number of slots.
+     *
+     * @return the capacity.
+     */
+    public int getCapacity() {
+        return hashes.length;
+    }
+
+    private int slot(long hash) {
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+}
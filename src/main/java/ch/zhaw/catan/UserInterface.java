@@ -4,6 +4,9 @@ import ch.zhaw.catan.Config.*;
 import org.beryx.textio.*;
 
 import java.awt.*;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 
@@ -28,6 +31,7 @@ public class UserInterface {
     private final int MAX_X_COORDINATE_BOARD = 14;
     private final int MAX_Y_COORDINATE_BOARD = 22;
     private final int MIN_COORDINATE_BOARD = 0;
+    private static final Comparator<Point> POINT_ORDER = Comparator.comparingInt((Point p) -> p.x).thenComparingInt(p -> p.y);
 
     /**
      * This method prints out the welcome text when the game is being started.
@@ -46,6 +50,35 @@ public class UserInterface {
         return textIO.newIntInputReader().withMinVal(Config.MIN_NUMBER_OF_PLAYERS).withMaxVal(MAX_NUMBER_OF_PLAYERS).read("How many players would like to play the game?");
     }
 
+    /**
+     * This method asks the user how many of the players should be played by the computer.
+     *
+     * @param numberOfPlayers the number of players of the game.
+     * @return the amount of computer players.
+     */
+    public int getNumberOfBots(int numberOfPlayers) {
+        return textIO.newIntInputReader().withMinVal(0).withMaxVal(numberOfPlayers - 1).read("How many of the players should be played by the computer?");
+    }
+
+    /**
+     * This method announces that a journaled game is resumed instead of starting a new one.
+     *
+     * @param numberOfPlayers the number of players of the resumed game.
+     */
+    public void announceResumedGame(int numberOfPlayers) {
+        textTerminal.println("The journaled game of " + numberOfPlayers + " players is resumed where it stopped.");
+    }
+
+    /**
+     * This method announces the move a computer player has made.
+     *
+     * @param faction The faction of the computer player.
+     * @param move    The description of the move.
+     */
+    public void announceBotMove(Faction faction, String move) {
+        textTerminal.println(convertFaction(faction) + " (computer): " + move);
+    }
+
     /**
      * This method announces which players turn it currently is.
      *
@@ -106,6 +139,37 @@ public class UserInterface {
         return new Point(xCoordinate, yCoordinate);
     }
 
+    /**
+     * This method prints the corners on which a settlement can be placed.
+     *
+     * @param positions the valid corners.
+     */
+    public void printValidSettlementPositions(Collection<Point> positions) {
+        List<Point> sorted = new ArrayList<>(positions);
+        sorted.sort(POINT_ORDER);
+        StringBuilder builder = new StringBuilder("Valid positions:");
+        for (Point position : sorted) {
+            builder.append(" (").append(position.x).append(", ").append(position.y).append(")");
+        }
+        textTerminal.println(sorted.isEmpty() ? "There is no valid position." : builder.toString());
+    }
+
+    /**
+     * This method prints the edges on which a road can be placed.
+     *
+     * @param positions the valid edges, each as the array of its two corners.
+     */
+    public void printValidRoadPositions(Collection<Point[]> positions) {
+        List<Point[]> sorted = new ArrayList<>(positions);
+        sorted.sort(Comparator.comparing((Point[] edge) -> edge[0], POINT_ORDER).thenComparing(edge -> edge[1], POINT_ORDER));
+        StringBuilder builder = new StringBuilder("Valid positions:");
+        for (Point[] edge : sorted) {
+            builder.append(" (").append(edge[0].x).append(", ").append(edge[0].y).append(")-(")
+                    .append(edge[1].x).append(", ").append(edge[1].y).append(")");
+        }
+        textTerminal.println(sorted.isEmpty() ? "There is no valid position." : builder.toString());
+    }
+
     /**
      * This method lets you choose where you want to place a road.
      *
@@ -205,6 +269,20 @@ public class UserInterface {
         textTerminal.println("The construction of your " + structure + " failed");
     }
 
+    /**
+     * This method suggests the best placements of the thief.
+     *
+     * @param placements the evaluated placements, the best first.
+     */
+    public void suggestThiefPlacements(List<ThiefPlacement> placements) {
+        StringBuilder builder = new StringBuilder("Suggested positions:");
+        for (ThiefPlacement placement : placements.subList(0, Math.min(3, placements.size()))) {
+            Point field = placement.getField();
+            builder.append(" (").append(field.x).append(", ").append(field.y).append(")");
+        }
+        textTerminal.println(builder.toString());
+    }
+
     /**
      * Method used to choose the placement of the thief.
      *
@@ -0,0 +1,65 @@
+package ch.zhaw.catan;
+
+/**
+ * This class provides the keys for the Zobrist hash of a {@link SiedlerGame}.
+ * <p>
+ * Instead of large tables with random numbers, every key is derived from the feature it stands for (e.g., a
+ * resource count of a participant) with the SplitMix64 mixing function. The keys are therefore fixed, do not need
+ * any memory and are the same in every JVM, so hashes can be compared between processes.
+ * </p>
+ *
+ * @author StackOverflow
+ * @version 1.0
+ */
+final class Zobrist {
+    static final int CORNER = 1;
+    static final int EDGE = 2;
+    static final int RESOURCE = 3;
+    static final int THIEF = 4;
+    static final int CURRENT_PLAYER = 5;
+
+    private static final long SEED = 0x5DEECE66DL;
+
+    private Zobrist() {
+    }
+
+    /**
+     * Returns the key of a feature with three values.
+     *
+     * @param tag the type of feature.
+     * @param a   the first value.
+     * @param b   the second value.
+     * @param c   the third value.
+     * @return the key.
+     */
+    static long key(int tag, int a, int b, int c) {
+        long h = mix(SEED ^ tag);
+        h = mix(h ^ a);
+        h = mix(h ^ b);
+        return mix(h ^ c);
+    }
+
+    /**
+     * Returns the key of a feature with five values.
+     *
+     * @param tag the type of feature.
+     * @param a   the first value.
+     * @param b   the second value.
+     * @param c   the third value.
+     * @param d   the fourth value.
+     * @param e   the fifth value.
+     * @return the key.
+     */
+    static long key(int tag, int a, int b, int c, int d, int e) {
+        long h = key(tag, a, b, c);
+        h = mix(h ^ d);
+        return mix(h ^ e);
+    }
+
+    private static long mix(long z) {
+        z += 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
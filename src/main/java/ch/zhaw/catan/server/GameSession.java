@@ -0,0 +1,451 @@
+package ch.zhaw.catan.server;
+
+import ch.zhaw.catan.Action;
+import ch.zhaw.catan.BoardLayout;
+import ch.zhaw.catan.Config.*;
+import ch.zhaw.catan.GameJournal;
+import ch.zhaw.catan.GameJournalReplayer;
+import ch.zhaw.catan.SiedlerBoardTextView;
+import ch.zhaw.catan.SiedlerGame;
+import ch.zhaw.utils.Helper;
+
+import java.awt.*;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * This class hosts a single {@link SiedlerGame} on the server. It runs the same sequence of phases as the
+ * {@link ch.zhaw.catan.SiedlerApp}: the founder's phase in both directions, then turns with dice throws, thief
+ * placements and the {@link Action} commands.
+ * <p>
+ * Commands of all clients attached to the game are put into a queue and executed one after the other by the game
+ * loop ({@link #run()}), which runs on its own (virtual) thread. Hence, the game itself is never accessed
+ * concurrently. Every attached client takes the seat of one faction and may only send commands while its faction
+ * is on turn. Only the board can be printed at any time.
+ * </p>
+ * <p>
+ * Once the game is stopped, no client can attach anymore and commands are answered with an error instead of waiting
+ * for the game loop.
+ * </p>
+ * <p>
+ * A game may be journaled to a file with a {@link GameJournal}, so it can be resumed with
+ * {@link #resume(long, Path)} after the server has been restarted. The journal is deleted once the game is over or
+ * has been left by its last client, and is kept if the game loop ends otherwise, e.g. when the server is closed.
+ * </p>
+ *
+ * @author StackOverflow
+ * @version 1.0
+ */
+class GameSession implements Runnable {
+    private static final Command STOP = new Command(null, "");
+    private static final String STOPPED = "ERR The game has been stopped.";
+    private static final int JOURNAL_SYNC_BATCH_SIZE = 16;
+
+    /**
+     * {@link Enum} that defines the phases of a hosted game.
+     */
+    enum Phase {
+        FOUNDER_FORWARD, FOUNDER_BACKWARD, THIEF, TURN, OVER
+    }
+
+    private final long id;
+    private final SiedlerGame game;
+    private final SiedlerBoardTextView view;
+    private final BlockingQueue<Command> commands = new LinkedBlockingQueue<>();
+    private Phase phase = Phase.FOUNDER_FORWARD;
+    private Point initialSettlement;
+    private int placedFounders;
+    private final boolean[] seated;
+    private final Path journalFile;
+    private final GameJournal journal;
+    private boolean stopped;
+    private boolean abandoned;
+
+    private static final class Command {
+        private final Faction faction;
+        private final String line;
+        private final CompletableFuture<String> reply = new CompletableFuture<>();
+
+        private Command(Faction faction, String line) {
+            this.faction = faction;
+            this.line = line;
+        }
+    }
+
+    /**
+     * This constructor initializes a hosted game.
+     *
+     * @param id              the id of the game.
+     * @param winPoints       the number of points required to win the game.
+     * @param numberOfPlayers the number of players.
+     * @throws IllegalArgumentException if the game cannot be created with these values.
+     */
+    GameSession(long id, int winPoints, int numberOfPlayers) {
+        this(id, winPoints, numberOfPlayers, null);
+    }
+
+    /**
+     * This constructor initializes a hosted game which is journaled to the given file.
+     *
+     * @param id              the id of the game.
+     * @param winPoints       the number of points required to win the game.
+     * @param numberOfPlayers the number of players.
+     * @param journalFile     the journal file or null, if the game is not journaled.
+     * @throws IllegalArgumentException      if the game cannot be created with these values or the file contains the
+     *                                       journal of another game.
+     * @throws java.io.UncheckedIOException if the journal cannot be opened.
+     */
+    GameSession(long id, int winPoints, int numberOfPlayers, Path journalFile) {
+        this(id, new SiedlerGame(winPoints, numberOfPlayers), journalFile);
+    }
+
+    private GameSession(long id, SiedlerGame game, Path journalFile) {
+        this.id = id;
+        this.game = game;
+        this.view = new SiedlerBoardTextView(game.getBoard());
+        this.seated = new boolean[game.getPlayerFactions().size()];
+        this.journalFile = journalFile;
+        if (journalFile == null) {
+            journal = null;
+        } else {
+            journal = new GameJournal(journalFile, game.getWinPoints(), seated.length, JOURNAL_SYNC_BATCH_SIZE);
+            game.setJournal(journal);
+        }
+    }
+
+    /**
+     * Rebuilds a journaled game with the {@link GameJournalReplayer} and continues it in the phase in which the
+     * journal ends. The game keeps being journaled to the same file. If the dice of the current turn are missing,
+     * they are thrown again.
+     *
+     * @param id          the id of the game.
+     * @param journalFile the journal file of a game on the standard layout.
+     * @return the hosted game, with all seats free.
+     * @throws IllegalArgumentException      if the file is not a valid journal.
+     * @throws IllegalStateException         if a journaled action cannot be applied to the game.
+     * @throws java.io.UncheckedIOException if the journal cannot be read or opened.
+     */
+    static GameSession resume(long id, Path journalFile) {
+        GameJournalReplayer.Progress progress = GameJournalReplayer.resume(journalFile, BoardLayout.standard());
+        GameSession session = new GameSession(id, progress.getGame(), journalFile);
+        int numberOfPlayers = session.seated.length;
+        session.placedFounders = progress.getPlacedFounders();
+        session.initialSettlement = progress.getPendingInitialSettlement();
+        if (session.placedFounders < 2 * numberOfPlayers) {
+            session.phase = session.placedFounders < numberOfPlayers ? Phase.FOUNDER_FORWARD : Phase.FOUNDER_BACKWARD;
+            session.seatFounder();
+        } else if (progress.getDiceThrow() == 0) {
+            session.throwDice();
+        } else {
+            session.phase = progress.isThiefPending() ? Phase.THIEF : Phase.TURN;
+        }
+        return session;
+    }
+
+    long getId() {
+        return id;
+    }
+
+    Phase getPhase() {
+        return phase;
+    }
+
+    /**
+     * Seats a client at the game, on the first free seat in the order of the players.
+     *
+     * @return the faction of the seat or null, if all seats are taken or the game has been stopped.
+     */
+    synchronized Faction attach() {
+        if (stopped) {
+            return null;
+        }
+        List<Faction> factions = game.getPlayerFactions();
+        for (int i = 0; i < seated.length; i++) {
+            if (!seated[i]) {
+                seated[i] = true;
+                return factions.get(i);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Frees the seat of a client, so another client can join the game in its place. The game is stopped when the
+     * last client leaves.
+     *
+     * @param faction the faction of the client.
+     * @return true, if no client is seated anymore and the game has been stopped.
+     */
+    synchronized boolean detach(Faction faction) {
+        seated[game.getPlayerFactions().indexOf(faction)] = false;
+        for (boolean taken : seated) {
+            if (taken) {
+                return false;
+            }
+        }
+        // a game stopped by the server before its clients left is not abandoned and keeps its journal
+        abandoned = !stopped;
+        stop();
+        return true;
+    }
+
+    /**
+     * Puts a command into the queue of the game loop and waits for its reply.
+     *
+     * @param faction the faction of the client sending the command.
+     * @param line    the command line.
+     * @return the reply, which may span several lines.
+     * @throws InterruptedException if the waiting thread is interrupted.
+     */
+    String execute(Faction faction, String line) throws InterruptedException {
+        Command command = new Command(faction, line);
+        synchronized (this) {
+            if (stopped) {
+                return STOPPED;
+            }
+            commands.add(command);
+        }
+        try {
+            return command.reply.get();
+        } catch (ExecutionException e) {
+            return error(e.getCause());
+        }
+    }
+
+    /**
+     * Stops the game loop after all queued commands have been executed. Commands sent afterwards are rejected.
+     */
+    synchronized void stop() {
+        if (!stopped) {
+            stopped = true;
+            commands.add(STOP);
+        }
+    }
+
+    /**
+     * Runs the game loop until {@link #stop()} is called.
+     */
+    @Override
+    public void run() {
+        try {
+            while (true) {
+                Command command = commands.take();
+                if (command == STOP) {
+                    return;
+                }
+                try {
+                    command.reply.complete(handle(command.faction, command.line.trim().split("\\s+")));
+                } catch (RuntimeException e) {
+                    command.reply.complete(error(e));
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            // the loop may also end by an interrupt, hence no command must be left waiting for it
+            stop();
+            for (Command command : commands) {
+                command.reply.complete(STOPPED);
+            }
+            closeJournal();
+        }
+    }
+
+    private void closeJournal() {
+        if (journal == null) {
+            return;
+        }
+        try {
+            journal.close();
+            boolean finished;
+            synchronized (this) {
+                finished = phase == Phase.OVER || abandoned;
+            }
+            if (finished) {
+                Files.deleteIfExists(journalFile);
+            }
+        } catch (IOException e) {
+            System.err.println("Closing the journal " + journalFile + " failed: " + e.getMessage());
+        }
+    }
+
+    private String handle(Faction faction, String[] tokens) {
+        String keyword = tokens[0].toUpperCase();
+        boolean onTurn = faction == game.getCurrentPlayerFaction();
+        if (keyword.equals("THIEF")) {
+            return onTurn ? placeThief(tokens) : notOnTurn(faction);
+        }
+        Action action = parse(Action.class, keyword);
+        if (action == null) {
+            return "ERR Unknown command " + tokens[0];
+        }
+        if (!onTurn && action != Action.PRINT_BOARD) {
+            return notOnTurn(faction);
+        }
+        return switch (action) {
+            case BUILD -> build(tokens);
+            case TRADE -> trade(tokens);
+            case PRINT_BOARD -> {
+                String board = view.toString().stripTrailing();
+                yield "OK " + board.lines().count() + System.lineSeparator() + board;
+            }
+            case PRINT_INVENTORY -> inventory();
+            case FINISH_MOVE -> finishMove();
+        };
+    }
+
+    private String notOnTurn(Faction faction) {
+        return "ERR " + faction.name() + " is not on turn, it is the turn of " + game.getCurrentPlayerFaction().name();
+    }
+
+    private String build(String[] tokens) {
+        Structure structure = tokens.length < 2 ? null : parse(Structure.class, tokens[1]);
+        if (structure == null) {
+            return "ERR Usage: BUILD <SETTLEMENT|CITY|ROAD> <coordinates>";
+        }
+        Faction faction = game.getCurrentPlayerFaction();
+        boolean successful;
+        switch (phase) {
+            case FOUNDER_FORWARD, FOUNDER_BACKWARD -> {
+                if (structure == Structure.SETTLEMENT && initialSettlement == null) {
+                    Point position = point(tokens, 2);
+                    successful = game.placeInitialSettlement(position, phase == Phase.FOUNDER_BACKWARD);
+                    if (successful) {
+                        initialSettlement = position;
+                    }
+                } else if (structure == Structure.ROAD && initialSettlement != null) {
+                    successful = game.placeInitialRoad(point(tokens, 2), point(tokens, 4));
+                    if (successful) {
+                        return "OK " + faction.name() + " " + advanceFounderPhase();
+                    }
+                } else {
+                    return "ERR Place a settlement and then a road in the founder's phase.";
+                }
+            }
+            case TURN -> successful = switch (structure) {
+                case SETTLEMENT -> game.buildSettlement(point(tokens, 2));
+                case CITY -> game.buildCity(point(tokens, 2));
+                case ROAD -> game.buildRoad(point(tokens, 2), point(tokens, 4));
+            };
+            default -> {
+                return "ERR Building is not possible in phase " + phase;
+            }
+        }
+        return successful ? "OK " + faction.name() : "ERR The construction of your " + structure + " failed";
+    }
+
+    private String advanceFounderPhase() {
+        initialSettlement = null;
+        placedFounders++;
+        int numberOfPlayers = seated.length;
+        if (placedFounders == 2 * numberOfPlayers) {
+            return throwDice();
+        }
+        if (placedFounders == numberOfPlayers) {
+            phase = Phase.FOUNDER_BACKWARD;
+        }
+        seatFounder();
+        return "NEXT " + game.getCurrentPlayerFaction().name();
+    }
+
+    /**
+     * Makes the player on turn who places the next founder structures: the players in their order and then
+     * backwards, so the last player places twice in a row.
+     */
+    private void seatFounder() {
+        int numberOfPlayers = seated.length;
+        boolean forward = placedFounders < numberOfPlayers;
+        int seat = forward ? placedFounders : 2 * numberOfPlayers - 1 - placedFounders;
+        // a resumed journal may end between the road of a founder and the switch to the next one
+        while (game.getPlayerFactions().indexOf(game.getCurrentPlayerFaction()) != seat) {
+            if (forward) {
+                game.switchToNextPlayer();
+            } else {
+                game.switchToPreviousPlayer();
+            }
+        }
+    }
+
+    private String trade(String[] tokens) {
+        if (phase != Phase.TURN) {
+            return "ERR Trading is not possible in phase " + phase;
+        }
+        Resource offer = tokens.length < 3 ? null : parse(Resource.class, tokens[1]);
+        Resource want = tokens.length < 3 ? null : parse(Resource.class, tokens[2]);
+        if (offer == null || want == null) {
+            return "ERR Usage: TRADE <offer> <want>, e.g. TRADE LUMBER ORE";
+        }
+        return game.tradeWithBankFourToOne(offer, want) ? "OK " + game.getCurrentPlayerFaction().name() : "ERR The trading failed.";
+    }
+
+    private String inventory() {
+        StringBuilder builder = new StringBuilder("OK ").append(game.getCurrentPlayerFaction().name());
+        for (Resource resource : Resource.values()) {
+            builder.append(' ').append(resource.name()).append('=').append(game.getCurrentPlayerResourceStock(resource));
+        }
+        return builder.toString();
+    }
+
+    private String finishMove() {
+        if (phase != Phase.TURN) {
+            return "ERR The move cannot be finished in phase " + phase;
+        }
+        Faction winner = game.getWinner();
+        if (winner != null) {
+            phase = Phase.OVER;
+            return "OK WINNER " + winner.name();
+        }
+        game.switchToNextPlayer();
+        return "OK " + throwDice();
+    }
+
+    private String throwDice() {
+        int dice = Helper.generateDiceThrow();
+        game.throwDice(dice);
+        phase = dice == SiedlerGame.THIEF_DICE_THROW ? Phase.THIEF : Phase.TURN;
+        return "DICE " + dice + " " + game.getCurrentPlayerFaction().name();
+    }
+
+    private String placeThief(String[] tokens) {
+        if (phase != Phase.THIEF) {
+            return "ERR The thief cannot be placed in phase " + phase;
+        }
+        if (!game.placeThiefAndStealCard(point(tokens, 1))) {
+            return "ERR The thief could not be placed.";
+        }
+        phase = Phase.TURN;
+        return "OK " + game.getCurrentPlayerFaction().name();
+    }
+
+    /**
+     * Returns the error reply for an exception, with the name of its class if it has no message.
+     */
+    private static String error(Throwable e) {
+        return "ERR " + (e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName());
+    }
+
+    private static Point point(String[] tokens, int index) {
+        if (tokens.length < index + 2) {
+            throw new IllegalArgumentException("Missing coordinates.");
+        }
+        try {
+            return new Point(Integer.parseInt(tokens[index]), Integer.parseInt(tokens[index + 1]));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("The coordinates must be integers.");
+        }
+    }
+
+    private static <E extends Enum<E>> E parse(Class<E> type, String token) {
+        try {
+            return Enum.valueOf(type, token.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
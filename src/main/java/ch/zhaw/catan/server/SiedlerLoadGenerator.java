@@ -0,0 +1,207 @@
+package ch.zhaw.catan.server;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * This class generates load on a {@link SiedlerServer}. Each simulated game runs on its own virtual thread, connects
+ * two clients to a two player game, plays the founder's phase with fixed positions and then plays a number of rounds
+ * with inventory queries, trades, builds, thief placements and finished moves. Every command is sent by the client
+ * whose faction is on turn. The latency of every command is measured
+ * and the percentiles over all clients are printed at the end.
+ * <p>
+ * Usage: {@code SiedlerLoadGenerator [games] [rounds] [port]}. Without a port, a server is started in the same JVM.
+ * </p>
+ *
+ * @author StackOverflow
+ * @version 1.0
+ */
+public final class SiedlerLoadGenerator {
+    private static final int DEFAULT_GAMES = 1000;
+    private static final int DEFAULT_ROUNDS = 50;
+    private static final int WIN_POINTS = 10;
+    private static final String[] FOUNDER_COMMANDS = {
+            "BUILD SETTLEMENT 5 7", "BUILD ROAD 5 7 6 6",
+            "BUILD SETTLEMENT 11 13", "BUILD ROAD 11 13 12 12",
+            "BUILD SETTLEMENT 8 4", "BUILD ROAD 8 4 8 6",
+            "BUILD SETTLEMENT 10 16", "BUILD ROAD 10 16 9 15"};
+    private static final String[] THIEF_COMMANDS = {"THIEF 5 11", "THIEF 9 11"};
+
+    private SiedlerLoadGenerator() {
+    }
+
+    /**
+     * Runs the load generator.
+     *
+     * @param args the number of games, the number of rounds per game and the port of the server (all optional).
+     * @throws Exception if the load cannot be generated.
+     */
+    public static void main(String[] args) throws Exception {
+        int games = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_GAMES;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_ROUNDS;
+        SiedlerServer embedded = args.length > 2 ? null : new SiedlerServer(0);
+        int port = embedded == null ? Integer.parseInt(args[2]) : embedded.getPort();
+
+        long start = System.nanoTime();
+        long[] latencies = run(port, games, rounds);
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        System.out.printf("games: %d, commands: %d, duration: %.2f s, throughput: %.0f commands/s%n",
+                games, latencies.length, seconds, latencies.length / seconds);
+        System.out.printf("latency p50: %.3f ms, p99: %.3f ms, p99.9: %.3f ms, max: %.3f ms%n",
+                percentile(latencies, 0.5), percentile(latencies, 0.99), percentile(latencies, 0.999),
+                percentile(latencies, 1.0));
+        if (embedded != null) {
+            embedded.close();
+        }
+    }
+
+    /**
+     * Plays the given number of games concurrently and returns the sorted latencies of all commands in nanoseconds.
+     *
+     * @param port   the port of the server.
+     * @param games  the number of concurrent games.
+     * @param rounds the number of rounds per game.
+     * @return the sorted latencies.
+     * @throws InterruptedException if the waiting thread is interrupted.
+     * @throws ExecutionException   if a client has failed.
+     */
+    static long[] run(int port, int games, int rounds) throws InterruptedException, ExecutionException {
+        ExecutorService executor = SiedlerServer.newVirtualThreadExecutor();
+        List<Future<long[]>> clients = new ArrayList<>();
+        for (int i = 0; i < games; i++) {
+            clients.add(executor.submit(() -> playGame(port, rounds)));
+        }
+        List<long[]> results = new ArrayList<>();
+        int total = 0;
+        for (Future<long[]> client : clients) {
+            long[] result = client.get();
+            results.add(result);
+            total += result.length;
+        }
+        executor.shutdown();
+
+        long[] latencies = new long[total];
+        int position = 0;
+        for (long[] result : results) {
+            System.arraycopy(result, 0, latencies, position, result.length);
+            position += result.length;
+        }
+        Arrays.sort(latencies);
+        return latencies;
+    }
+
+    private static long[] playGame(int port, int rounds) {
+        int expectedCommands = FOUNDER_COMMANDS.length / 2 + rounds * 6 + 2;
+        try (Client first = new Client(port, expectedCommands);
+             Client second = new Client(port, expectedCommands)) {
+            String[] created = first.send("NEW " + WIN_POINTS + " 2").split(" ");
+            String[] joined = second.send("JOIN " + created[1]).split(" ");
+            Map<String, Client> seats = Map.of(created[2], first, joined[2], second);
+            String onTurn = created[2];
+            String reply = "";
+            for (int i = 0; i < FOUNDER_COMMANDS.length; i++) {
+                reply = seats.get(onTurn).send(FOUNDER_COMMANDS[i]);
+                if (i % 2 == 1) {
+                    // the road ends the placement and the reply names the next faction
+                    onTurn = lastToken(reply);
+                }
+            }
+            int thief = 0;
+            for (int round = 0; round < rounds && !reply.startsWith("OK WINNER"); round++) {
+                Client client = seats.get(onTurn);
+                if (reply.contains("DICE 7 ")) {
+                    while (client.send(THIEF_COMMANDS[thief++ % THIEF_COMMANDS.length]).startsWith("ERR")) {
+                        // try the other field
+                    }
+                }
+                client.send("PRINT_INVENTORY");
+                client.send("TRADE LUMBER ORE");
+                client.send("BUILD ROAD 6 6 7 7");
+                reply = client.send("FINISH_MOVE");
+                onTurn = lastToken(reply);
+            }
+            first.send("QUIT");
+            second.send("QUIT");
+            long[] firstLatencies = first.getLatencies();
+            long[] secondLatencies = second.getLatencies();
+            long[] latencies = Arrays.copyOf(firstLatencies, firstLatencies.length + secondLatencies.length);
+            System.arraycopy(secondLatencies, 0, latencies, firstLatencies.length, secondLatencies.length);
+            return latencies;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String lastToken(String reply) {
+        return reply.substring(reply.lastIndexOf(' ') + 1);
+    }
+
+    private static double percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))] / 1e6;
+    }
+
+    private static final class Client implements Closeable {
+        private final Socket socket;
+        private final BufferedReader in;
+        private final Writer out;
+        private long[] latencies;
+        private int count;
+
+        private Client(int port, int expectedCommands) throws IOException {
+            socket = new Socket(InetAddress.getLoopbackAddress(), port);
+            socket.setTcpNoDelay(true);
+            in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+            out = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8));
+            latencies = new long[expectedCommands];
+        }
+
+        private String send(String command) throws IOException {
+            long start = System.nanoTime();
+            out.write(command);
+            out.write('\n');
+            out.flush();
+            if (command.equals("QUIT")) {
+                return "";
+            }
+            String reply = in.readLine();
+            if (reply == null) {
+                throw new IOException("The server has closed the connection.");
+            }
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = System.nanoTime() - start;
+            return reply;
+        }
+
+        private long[] getLatencies() {
+            return Arrays.copyOf(latencies, count);
+        }
+
+        @Override
+        public void close() throws IOException {
+            socket.close();
+        }
+    }
+}
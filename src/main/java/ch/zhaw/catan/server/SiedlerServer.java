@@ -0,0 +1,347 @@
+package ch.zhaw.catan.server;
+
+import ch.zhaw.catan.Config.Faction;
+import ch.zhaw.utils.Metrics;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.lang.reflect.Method;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * This class represents a server which hosts many independent games in one JVM.
+ * <p>
+ * Clients connect to a local TCP socket and send one command per line. A client first creates a game with
+ * {@code NEW <winPoints> <numberOfPlayers>} or joins an existing one with {@code JOIN <gameId>}. Both are answered
+ * with {@code OK <gameId> <faction>}: every client takes the seat of one faction, the creator the first one. A game
+ * is full when all seats are taken and it is stopped when its last client leaves. While its faction is on turn, a
+ * client sends the commands of the {@link ch.zhaw.catan.Action} enum to the game:
+ * </p>
+ * <ul>
+ * <li>{@code BUILD SETTLEMENT x y}, {@code BUILD CITY x y}, {@code BUILD ROAD x1 y1 x2 y2}</li>
+ * <li>{@code TRADE <offer> <want>}</li>
+ * <li>{@code PRINT_BOARD}, {@code PRINT_INVENTORY}</li>
+ * <li>{@code FINISH_MOVE}, which also throws the dice for the next player</li>
+ * </ul>
+ * <p>
+ * and {@code THIEF x y} after a 7 has been thrown. {@code QUIT} closes the connection. Every reply starts with
+ * {@code OK} or {@code ERR}. The reply to {@code PRINT_BOARD} is followed by the number of board lines announced in
+ * the first line.
+ * </p>
+ * <p>
+ * If the server is started with a journal directory, every game is journaled to its own file in this directory and
+ * the unfinished games found there are resumed when the server starts, with all seats free to be joined again under
+ * their previous game id.
+ * </p>
+ * <p>
+ * Every client session and every game loop runs on its own thread, hence a server with 10'000 games runs more than
+ * 20'000 threads. This only scales with the virtual threads of Java 21. On older JVMs the server falls back to a
+ * cached pool of platform threads, which is fine for tests and a few hundred games, but not for the target load.
+ * </p>
+ *
+ * @author StackOverflow
+ * @version 1.0
+ */
+public class SiedlerServer implements Closeable {
+    /**
+     * The port used if no port is specified.
+     */
+    public static final int DEFAULT_PORT = 4711;
+    private static final String USAGE = "ERR Usage: NEW <winPoints> <numberOfPlayers> or JOIN <gameId>";
+    private static final String JOURNAL_PREFIX = "game-";
+    private static final String JOURNAL_SUFFIX = ".journal";
+
+    private final ServerSocket serverSocket;
+    private final ExecutorService executor;
+    private final Map<Long, GameSession> games = new ConcurrentHashMap<>();
+    private final AtomicLong nextGameId = new AtomicLong(1);
+    private final LongSupplier gamesGauge = this::getNumberOfGames;
+    private final Path journalDirectory;
+
+    /**
+     * Starts the server with the default port and runs it until the JVM is stopped.
+     *
+     * @param args an optional port number and an optional journal directory.
+     * @throws IOException          if the server socket cannot be opened or the journal directory cannot be read.
+     * @throws InterruptedException if the main thread is interrupted.
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+        Path journalDirectory = args.length > 1 ? Path.of(args[1]) : null;
+        SiedlerServer server = new SiedlerServer(port, journalDirectory);
+        System.out.println("Siedler server is listening on port " + server.getPort());
+        if (!VirtualThreads.AVAILABLE) {
+            System.out.println("Virtual threads require Java 21, this server uses platform threads.");
+        }
+        // virtual threads do not keep the JVM alive
+        Thread.currentThread().join();
+    }
+
+    /**
+     * This constructor opens the server socket on the loopback address and starts accepting clients.
+     *
+     * @param port the port or 0 for any free port.
+     * @throws IOException if the server socket cannot be opened.
+     */
+    public SiedlerServer(int port) throws IOException {
+        this(port, null);
+    }
+
+    /**
+     * This constructor resumes the games journaled in the given directory, opens the server socket on the loopback
+     * address and starts accepting clients. A journal which cannot be resumed is reported and left in the directory.
+     *
+     * @param port             the port or 0 for any free port.
+     * @param journalDirectory the directory for the journals of the games or null, if no game is journaled.
+     * @throws IOException if the server socket cannot be opened or the journal directory cannot be read.
+     */
+    public SiedlerServer(int port, Path journalDirectory) throws IOException {
+        this.journalDirectory = journalDirectory;
+        if (journalDirectory != null) {
+            Files.createDirectories(journalDirectory);
+        }
+        serverSocket = new ServerSocket(port, 1024, InetAddress.getLoopbackAddress());
+        executor = newVirtualThreadExecutor();
+        if (journalDirectory != null) {
+            try {
+                resumeGames();
+            } catch (IOException e) {
+                close();
+                throw e;
+            }
+        }
+        executor.execute(this::acceptClients);
+        // the gauge lives as long as the server and is removed by close()
+        Metrics.gauge("server.games", gamesGauge);
+    }
+
+    private void resumeGames() throws IOException {
+        long lastId = 0;
+        try (DirectoryStream<Path> journals = Files.newDirectoryStream(journalDirectory,
+                JOURNAL_PREFIX + "*" + JOURNAL_SUFFIX)) {
+            for (Path journal : journals) {
+                String name = journal.getFileName().toString();
+                long id;
+                try {
+                    id = Long.parseLong(name.substring(JOURNAL_PREFIX.length(), name.length() - JOURNAL_SUFFIX.length()));
+                } catch (NumberFormatException e) {
+                    continue;
+                }
+                // ids of journals that cannot be resumed are not reused either, so these files are never overwritten
+                lastId = Math.max(lastId, id);
+                try {
+                    GameSession session = GameSession.resume(id, journal);
+                    games.put(id, session);
+                    executor.execute(session);
+                } catch (RuntimeException e) {
+                    System.err.println("Resuming the game " + id + " from " + journal + " failed: " + e.getMessage());
+                }
+            }
+        }
+        nextGameId.set(lastId + 1);
+    }
+
+    /**
+     * Returns an executor which starts a new virtual thread per task. Before Java 21, virtual threads are not
+     * available and an executor with a cached pool of platform threads is returned.
+     *
+     * @return the executor.
+     */
+    static ExecutorService newVirtualThreadExecutor() {
+        if (VirtualThreads.FACTORY != null) {
+            try {
+                return (ExecutorService) VirtualThreads.FACTORY.invoke(null);
+            } catch (ReflectiveOperationException | UnsupportedOperationException e) {
+                // fall back to platform threads
+            }
+        }
+        return Executors.newCachedThreadPool();
+    }
+
+    /**
+     * Returns the port the server is listening on.
+     *
+     * @return the port.
+     */
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * Returns the number of games currently hosted.
+     *
+     * @return the number of games.
+     */
+    public int getNumberOfGames() {
+        return games.size();
+    }
+
+    /**
+     * Stops accepting clients, stops all game loops and closes the server socket.
+     *
+     * @throws IOException if the server socket cannot be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        Metrics.removeGauge("server.games", gamesGauge);
+        serverSocket.close();
+        for (GameSession session : games.values()) {
+            session.stop();
+        }
+        games.clear();
+        executor.shutdownNow();
+    }
+
+    private void acceptClients() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                socket.setTcpNoDelay(true);
+                executor.execute(() -> serveClient(socket));
+            } catch (IOException e) {
+                if (!serverSocket.isClosed()) {
+                    System.err.println("Accepting a client failed: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    private void serveClient(Socket socket) {
+        Seat seat = new Seat();
+        try (socket;
+             BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+             Writer out = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                String command = line.trim();
+                if (command.isEmpty()) {
+                    continue;
+                }
+                String[] tokens = command.split("\\s+");
+                String reply;
+                switch (tokens[0].toUpperCase()) {
+                    case "QUIT" -> {
+                        return;
+                    }
+                    case "NEW" -> reply = createGame(tokens, seat);
+                    case "JOIN" -> reply = joinGame(tokens, seat);
+                    default -> reply = seat.session == null ? "ERR Create or join a game first."
+                            : seat.session.execute(seat.faction, command);
+                }
+                out.write(reply);
+                out.write(System.lineSeparator());
+                out.flush();
+            }
+        } catch (IOException e) {
+            // the client has closed the connection
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            leave(seat);
+        }
+    }
+
+    private String createGame(String[] tokens, Seat seat) {
+        GameSession session;
+        try {
+            long id = nextGameId.getAndIncrement();
+            session = new GameSession(id, Integer.parseInt(tokens[1]), Integer.parseInt(tokens[2]),
+                    journalDirectory == null ? null : journalDirectory.resolve(JOURNAL_PREFIX + id + JOURNAL_SUFFIX));
+        } catch (UncheckedIOException e) {
+            return "ERR The journal of the game cannot be opened.";
+        } catch (RuntimeException e) {
+            return USAGE;
+        }
+        leave(seat);
+        seat.session = session;
+        seat.faction = session.attach();
+        games.put(session.getId(), session);
+        executor.execute(session);
+        return "OK " + session.getId() + " " + seat.faction.name();
+    }
+
+    private String joinGame(String[] tokens, Seat seat) {
+        long id;
+        try {
+            id = Long.parseLong(tokens[1]);
+        } catch (RuntimeException e) {
+            return USAGE;
+        }
+        Faction[] faction = new Faction[1];
+        // seating and the removal of the game in leave(Seat) are atomic for the same game id
+        GameSession session = games.computeIfPresent(id, (key, game) -> {
+            faction[0] = game.attach();
+            return game;
+        });
+        if (session == null) {
+            return "ERR There is no game " + id + ".";
+        }
+        if (faction[0] == null) {
+            return "ERR The game " + id + " is full.";
+        }
+        leave(seat);
+        seat.session = session;
+        seat.faction = faction[0];
+        return "OK " + id + " " + faction[0].name();
+    }
+
+    private void leave(Seat seat) {
+        GameSession session = seat.session;
+        if (session != null) {
+            boolean[] detached = new boolean[1];
+            // freeing the seat and removing the stopped game are atomic with respect to joinGame
+            games.computeIfPresent(session.getId(), (key, game) -> {
+                detached[0] = true;
+                return game.detach(seat.faction) ? null : game;
+            });
+            if (!detached[0]) {
+                // the game has already been removed by close()
+                session.detach(seat.faction);
+            }
+            seat.session = null;
+            seat.faction = null;
+        }
+    }
+
+    /**
+     * The game and the faction of a connected client.
+     */
+    private static final class Seat {
+        private GameSession session;
+        private Faction faction;
+    }
+
+    /**
+     * Looks up the factory of the virtual thread executor once, which exists as of Java 21.
+     */
+    private static final class VirtualThreads {
+        private static final Method FACTORY = lookUp();
+        private static final boolean AVAILABLE = FACTORY != null && Runtime.version().feature() >= 21;
+
+        private static Method lookUp() {
+            try {
+                return Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            } catch (NoSuchMethodException e) {
+                return null;
+            }
+        }
+    }
+}
@@ -105,6 +105,22 @@ public class HexBoard<F, C, E, A> {
     annotation = new HashMap<>();
   }
 
+  /**
+   * Constructs a copy of a board with the same fields, corners, edges and
+   * annotations. Copying a prepared board is much cheaper than adding its fields
+   * one by one, because the corners and edges need not be created again.
+   *
+   * @param template the board to copy
+   */
+  protected HexBoard(HexBoard<F, C, E, A> template) {
+    field = new HashMap<>(template.field);
+    corner = new HashMap<>(template.corner);
+    edge = new HashMap<>(template.edge);
+    annotation = new HashMap<>(template.annotation);
+    maxCoordinateX = template.maxCoordinateX;
+    maxCoordinateY = template.maxCoordinateY;
+  }
+
   /**
    * Adds a field to the board and creates the surrounding (empty) corners and
    * edges if they do not yet exist Note: Corners and edges of a field might
@@ -219,7 +235,14 @@ public class HexBoard<F, C, E, A> {
     return field.containsKey(center);
   }
 
-  static boolean isFieldCoordinate(Point position) {
+  /**
+   * Determines whether the position is the center of a field on the unit grid,
+   * independent of a board.
+   *
+   * @param position the position
+   * @return true, if a field can be added at this position
+   */
+  public static boolean isFieldCoordinate(Point position) {
     boolean isYFieldCoordinateEven = (position.y - 2) % 6 == 0;
     boolean isYFieldCoordinateOdd = (position.y - 5) % 6 == 0;
     boolean isXFieldCoordinateEven = position.x % 2 == 0;
@@ -261,7 +284,7 @@ public class HexBoard<F, C, E, A> {
     return Arrays.asList(e);
   }
 
-  private static List<Point> getCornerCoordinatesOfField(Point position) {
+  protected static List<Point> getCornerCoordinatesOfField(Point position) {
     Point[] corner = new Point[6];
     corner[0] = new Point(position.x, position.y - 2);
     corner[1] = new Point(position.x + 1, position.y - 1);
@@ -305,7 +328,7 @@ public class HexBoard<F, C, E, A> {
     return Collections.unmodifiableSet(this.corner.keySet());
   }
 
-  private static List<Point> getAdjacentFields(Point corner) {
+  protected static List<Point> getAdjacentFields(Point corner) {
     Point[] field = new Point[3];
     if (corner.y % 3 == 0) {
       field[0] = new Point(corner.x, corner.y + 2);
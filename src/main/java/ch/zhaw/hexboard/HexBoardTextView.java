@@ -348,19 +348,29 @@ public class HexBoardTextView<F, C, E, A> {
    */
   @Override
   public String toString() {
-    StringBuilder sb = new StringBuilder();
-    for (int y = 0; y <= board.getMaxCoordinateY(); y = y + 3) {
-      sb.append(printCornerLine(y));
-      sb.append(System.lineSeparator());
-      sb.append(printDiagonalEdges(y));
-      sb.append(System.lineSeparator());
-      sb.append(printCornerLine(y + 1));
-      sb.append(System.lineSeparator());
-      sb.append(printMiddlePartOfField(y + 2));
-      sb.append(System.lineSeparator());
+    RenderEvent event = RenderEvent.startIfEnabled();
+    try {
+      StringBuilder sb = new StringBuilder();
+      for (int y = 0; y <= board.getMaxCoordinateY(); y = y + 3) {
+        sb.append(printCornerLine(y));
+        sb.append(System.lineSeparator());
+        sb.append(printDiagonalEdges(y));
+        sb.append(System.lineSeparator());
+        sb.append(printCornerLine(y + 1));
+        sb.append(System.lineSeparator());
+        sb.append(printMiddlePartOfField(y + 2));
+        sb.append(System.lineSeparator());
 
+      }
+      if (event != null) {
+        event.characters = sb.length();
+      }
+      return sb.toString();
+    } finally {
+      if (event != null) {
+        event.commit();
+      }
     }
-    return sb.toString();
   }
 
 }
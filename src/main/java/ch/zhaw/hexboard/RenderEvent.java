@@ -0,0 +1,37 @@
+package ch.zhaw.hexboard;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Java Flight Recorder event for the rendering of a board by {@link HexBoardTextView}.
+ *
+ * @author StackOverflow
+ * @version 1.0
+ */
+@Name("ch.zhaw.hexboard.Render")
+@Label("Board Render")
+@Category("Siedler")
+final class RenderEvent extends Event {
+  private static final EventType TYPE = EventType.getEventType(RenderEvent.class);
+
+  @Label("Characters")
+  int characters;
+
+  /**
+   * Starts a render event, but only while a recording has enabled it.
+   *
+   * @return the started event, or null if it is not enabled.
+   */
+  static RenderEvent startIfEnabled() {
+    if (!TYPE.isEnabled()) {
+      return null;
+    }
+    RenderEvent event = new RenderEvent();
+    event.begin();
+    return event;
+  }
+}
@@ -0,0 +1,341 @@
+package ch.zhaw.utils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Registry of the in-process metrics: counters, gauges and latency histograms.
+ * <p>
+ * The metrics are disabled unless the system property {@code siedler.metrics} is set to true or
+ * {@link #setEnabled(boolean)} is called. While they are disabled, counting and timing only read a flag, hence the
+ * instrumented code can stay in place in production. Metrics are registered once by name and then kept in static
+ * fields of the instrumented classes.
+ * </p>
+ *
+ * @author StackOverflow
+ * @version 1.0
+ */
+public final class Metrics {
+    private static final ConcurrentMap<String, Counter> COUNTERS = new ConcurrentHashMap<>();
+    private static final ConcurrentMap<String, LongSupplier> GAUGES = new ConcurrentHashMap<>();
+    private static final ConcurrentMap<String, Histogram> HISTOGRAMS = new ConcurrentHashMap<>();
+
+    private static volatile boolean enabled = Boolean.getBoolean("siedler.metrics");
+
+    private Metrics() {
+    }
+
+    /**
+     * Returns whether the metrics are recorded.
+     *
+     * @return true, if the metrics are enabled.
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Enables or disables the recording of the metrics. The values recorded so far are kept.
+     *
+     * @param enabled true, to record the metrics.
+     */
+    public static void setEnabled(boolean enabled) {
+        Metrics.enabled = enabled;
+    }
+
+    /**
+     * Returns the counter with the given name and registers it, if it does not exist yet.
+     *
+     * @param name the name of the counter.
+     * @return the counter.
+     */
+    public static Counter counter(String name) {
+        return COUNTERS.computeIfAbsent(name, key -> new Counter());
+    }
+
+    /**
+     * Registers a gauge, which is read whenever the metrics are dumped. A gauge with the same name is replaced.
+     *
+     * @param name  the name of the gauge.
+     * @param value the function returning the current value.
+     */
+    public static void gauge(String name, LongSupplier value) {
+        GAUGES.put(name, value);
+    }
+
+    /**
+     * Unregisters a gauge, if it is still registered with the given function. Objects which register a gauge for
+     * themselves call this when they are closed, so the registry does not keep them alive.
+     *
+     * @param name  the name of the gauge.
+     * @param value the function passed to {@link #gauge(String, LongSupplier)}.
+     */
+    public static void removeGauge(String name, LongSupplier value) {
+        GAUGES.remove(name, value);
+    }
+
+    /**
+     * Returns the histogram with the given name and registers it, if it does not exist yet.
+     *
+     * @param name the name of the histogram.
+     * @return the histogram.
+     */
+    public static Histogram histogram(String name) {
+        return HISTOGRAMS.computeIfAbsent(name, key -> new Histogram());
+    }
+
+    /**
+     * Resets all counters and histograms. The registered metrics and gauges are kept.
+     */
+    public static void reset() {
+        COUNTERS.values().forEach(Counter::reset);
+        HISTOGRAMS.values().forEach(Histogram::reset);
+    }
+
+    /**
+     * Returns a snapshot of all metrics as text, one metric per line and ordered by name. Latencies are given in
+     * nanoseconds.
+     *
+     * @return the snapshot.
+     */
+    public static String toText() {
+        StringBuilder builder = new StringBuilder();
+        for (Map.Entry<String, Counter> entry : new TreeMap<>(COUNTERS).entrySet()) {
+            builder.append("counter ").append(entry.getKey()).append(' ').append(entry.getValue().get()).append('\n');
+        }
+        for (Map.Entry<String, LongSupplier> entry : new TreeMap<>(GAUGES).entrySet()) {
+            builder.append("gauge ").append(entry.getKey()).append(' ').append(entry.getValue().getAsLong()).append('\n');
+        }
+        for (Map.Entry<String, Histogram> entry : new TreeMap<>(HISTOGRAMS).entrySet()) {
+            Histogram histogram = entry.getValue();
+            builder.append(String.format(Locale.ROOT, "histogram %s count=%d mean=%.1f p50=%d p90=%d p99=%d max=%d%n",
+                    entry.getKey(), histogram.getCount(), histogram.getMean(), histogram.getPercentile(50),
+                    histogram.getPercentile(90), histogram.getPercentile(99), histogram.getMax()));
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Returns a snapshot of all metrics as a JSON object with the members counters, gauges and histograms, each
+     * ordered by name. Latencies are given in nanoseconds.
+     *
+     * @return the snapshot.
+     */
+    public static String toJson() {
+        StringBuilder builder = new StringBuilder("{\"counters\":{");
+        String separator = "";
+        for (Map.Entry<String, Counter> entry : new TreeMap<>(COUNTERS).entrySet()) {
+            builder.append(separator).append(quote(entry.getKey())).append(':').append(entry.getValue().get());
+            separator = ",";
+        }
+        builder.append("},\"gauges\":{");
+        separator = "";
+        for (Map.Entry<String, LongSupplier> entry : new TreeMap<>(GAUGES).entrySet()) {
+            builder.append(separator).append(quote(entry.getKey())).append(':').append(entry.getValue().getAsLong());
+            separator = ",";
+        }
+        builder.append("},\"histograms\":{");
+        separator = "";
+        for (Map.Entry<String, Histogram> entry : new TreeMap<>(HISTOGRAMS).entrySet()) {
+            Histogram histogram = entry.getValue();
+            builder.append(separator).append(quote(entry.getKey()))
+                    .append(String.format(Locale.ROOT,
+                            ":{\"count\":%d,\"mean\":%.1f,\"p50\":%d,\"p90\":%d,\"p99\":%d,\"max\":%d}",
+                            histogram.getCount(), histogram.getMean(), histogram.getPercentile(50),
+                            histogram.getPercentile(90), histogram.getPercentile(99), histogram.getMax()));
+            separator = ",";
+        }
+        return builder.append("}}").toString();
+    }
+
+    /**
+     * Writes a snapshot of all metrics to a file, as JSON if the file name ends with ".json" and as text otherwise.
+     *
+     * @param file the file.
+     * @throws IOException if the file cannot be written.
+     */
+    public static void write(Path file) throws IOException {
+        String snapshot = file.getFileName().toString().endsWith(".json") ? toJson() : toText();
+        Files.writeString(file, snapshot, StandardCharsets.UTF_8);
+    }
+
+    private static String quote(String name) {
+        return '"' + name.replace("\\", "\\\\").replace("\"", "\\\"") + '"';
+    }
+
+    /**
+     * A monotonically increasing count of events.
+     */
+    public static final class Counter {
+        private final LongAdder count = new LongAdder();
+
+        private Counter() {
+        }
+
+        /**
+         * Adds one to the count, if the metrics are enabled.
+         */
+        public void increment() {
+            if (enabled) {
+                count.increment();
+            }
+        }
+
+        /**
+         * Returns the count.
+         *
+         * @return the count.
+         */
+        public long get() {
+            return count.sum();
+        }
+
+        private void reset() {
+            count.reset();
+        }
+    }
+
+    /**
+     * A histogram of latencies in nanoseconds. The values are counted in buckets with 16 sub-buckets per power of
+     * two, hence the percentiles are exact below 32 and within about 6 percent above, with a fixed memory footprint.
+     */
+    public static final class Histogram {
+        private static final int SUB_BUCKET_BITS = 5;
+        private static final int HALF_SUB_BUCKETS = 1 << (SUB_BUCKET_BITS - 1);
+        private static final int BUCKETS = (Long.SIZE - SUB_BUCKET_BITS + 2) * HALF_SUB_BUCKETS;
+
+        private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+        private final LongAdder count = new LongAdder();
+        private final LongAdder sum = new LongAdder();
+        private final AtomicLong max = new AtomicLong();
+
+        private Histogram() {
+        }
+
+        /**
+         * Starts a measurement.
+         *
+         * @return the start time to pass to {@link #stop(long)}, or 0 if the metrics are disabled.
+         */
+        public long start() {
+            return enabled ? System.nanoTime() : 0;
+        }
+
+        /**
+         * Ends a measurement and records the elapsed time.
+         *
+         * @param start the value returned by {@link #start()}.
+         */
+        public void stop(long start) {
+            if (start != 0) {
+                record(System.nanoTime() - start);
+            }
+        }
+
+        /**
+         * Records a value, if the metrics are enabled. Negative values are recorded as 0.
+         *
+         * @param value the value.
+         */
+        public void record(long value) {
+            if (!enabled) {
+                return;
+            }
+            long v = Math.max(0, value);
+            buckets.incrementAndGet(bucketOf(v));
+            count.increment();
+            sum.add(v);
+            max.accumulateAndGet(v, Math::max);
+        }
+
+        /**
+         * Returns the number of recorded values.
+         *
+         * @return the count.
+         */
+        public long getCount() {
+            return count.sum();
+        }
+
+        /**
+         * Returns the mean of the recorded values.
+         *
+         * @return the mean or 0, if no value has been recorded.
+         */
+        public double getMean() {
+            long n = count.sum();
+            return n == 0 ? 0 : (double) sum.sum() / n;
+        }
+
+        /**
+         * Returns the largest recorded value.
+         *
+         * @return the maximum or 0, if no value has been recorded.
+         */
+        public long getMax() {
+            return max.get();
+        }
+
+        /**
+         * Returns the value below or at which the given percentage of the recorded values lie. The result is the
+         * upper bound of the bucket of this value, but never larger than the maximum.
+         *
+         * @param percentile the percentage between 0 and 100.
+         * @return the percentile or 0, if no value has been recorded.
+         */
+        public long getPercentile(double percentile) {
+            long total = 0;
+            long[] counts = new long[BUCKETS];
+            for (int i = 0; i < BUCKETS; i++) {
+                counts[i] = buckets.get(i);
+                total += counts[i];
+            }
+            long rank = Math.max(1, (long) Math.ceil(total * percentile / 100));
+            long seen = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                seen += counts[i];
+                if (total > 0 && seen >= rank) {
+                    return Math.min(upperBoundOf(i), getMax());
+                }
+            }
+            return 0;
+        }
+
+        static int bucketOf(long value) {
+            if (value < 2 * HALF_SUB_BUCKETS) {
+                return (int) value;
+            }
+            int shift = Long.SIZE - 1 - Long.numberOfLeadingZeros(value) - (SUB_BUCKET_BITS - 1);
+            return shift * HALF_SUB_BUCKETS + (int) (value >>> shift);
+        }
+
+        static long upperBoundOf(int bucket) {
+            if (bucket < 2 * HALF_SUB_BUCKETS) {
+                return bucket;
+            }
+            int shift = bucket / HALF_SUB_BUCKETS - 1;
+            long subBucket = bucket - (long) shift * HALF_SUB_BUCKETS;
+            return ((subBucket + 1) << shift) - 1;
+        }
+
+        private void reset() {
+            for (int i = 0; i < BUCKETS; i++) {
+                buckets.set(i, 0);
+            }
+            count.reset();
+            sum.reset();
+            max.set(0);
+        }
+    }
+}
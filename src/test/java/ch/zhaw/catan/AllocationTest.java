@@ -0,0 +1,84 @@
+package ch.zhaw.catan;
+
+import ch.zhaw.catan.games.ThreePlayerStandard;
+import ch.zhaw.utils.Allocations;
+
+import org.junit.jupiter.api.Test;
+
+import java.awt.*;
+
+/**
+ * Test class for the allocations of the hot paths of {@link SiedlerGame} and {@link SiedlerBoard}.<br>
+ *
+ * <br>This test class has the following equivalence classes:<br>
+ *
+ * <br>01. BoardQueries: Tests the allocations of the corner and edge queries of the board.
+ * <br>02. RuleChecks: Tests the allocations of the checks whether a structure can be built.
+ * <br>03. DiceThrows: Tests the allocations of the dice throws with and without a result map.
+ *
+ * <br><br>A budget of {@link #ALLOCATION_FREE} means that the operation must not allocate at all.
+ *
+ * @author StackOverflow
+ * @version 1.0
+ */
+class AllocationTest {
+    private static final double ALLOCATION_FREE = 1;
+    private static final double EDGE_KEY_BUDGET = 96;
+    private static final double DICE_THROW_BUDGET = 512;
+    private static final int[] DICE_VALUES = {2, 3, 4, 5, 6, 8, 9, 10, 11, 12};
+
+    private final SiedlerGame game = ThreePlayerStandard.getAfterSetupPhaseAlmostEmptyBank(7);
+    private int next;
+
+    /**
+     * Tests that reading a corner does not allocate and that reading an edge only allocates its lookup key.
+     * This is a positive test and of the equivalence class 01.
+     */
+    @Test
+    public void boardQueriesTest() {
+        SiedlerBoard board = game.getBoard();
+        Point corner = new Point(5, 7);
+        Point neighbour = new Point(6, 6);
+        Allocations.assertWithinBudget("getCorner", ALLOCATION_FREE, () -> board.getCorner(corner));
+        Allocations.assertWithinBudget("getEdge", EDGE_KEY_BUDGET, () -> board.getEdge(corner, neighbour));
+    }
+
+    /**
+     * Tests that the checks for settlements and cities do not allocate and that the check for roads only allocates
+     * the lookup keys of the edge.
+     * This is a positive test and of the equivalence class 02.
+     */
+    @Test
+    public void ruleChecksTest() {
+        Point settlement = new Point(5, 7);
+        Point free = new Point(7, 7);
+        Point road = new Point(6, 6);
+        Allocations.assertWithinBudget("initialSettlementCanBeBuilt", ALLOCATION_FREE,
+                () -> game.initialSettlementCanBeBuilt(free));
+        Allocations.assertWithinBudget("settlementCanBeBuilt", ALLOCATION_FREE, () -> game.settlementCanBeBuilt(free));
+        Allocations.assertWithinBudget("cityCanBeBuilt", ALLOCATION_FREE, () -> game.cityCanBeBuilt(settlement));
+        Allocations.assertWithinBudget("roadCanBeBuilt", EDGE_KEY_BUDGET, () -> game.roadCanBeBuilt(road, free));
+    }
+
+    /**
+     * Tests that a dice throw only allocates its result map and that a batch of dice throws into a preallocated
+     * payout table does not allocate.
+     * This is a positive test and of the equivalence class 03.
+     */
+    @Test
+    public void diceThrowsTest() {
+        SiedlerGame diceGame = ThreePlayerStandard.getAfterSetupPhase(7);
+        int[] dice = new int[1];
+        int[][] payouts = new int[Config.Faction.values().length][Config.Resource.values().length];
+        Allocations.assertWithinBudget("throwDice", DICE_THROW_BUDGET, () -> diceGame.throwDice(nextDiceValue()));
+        Allocations.assertWithinBudget("throwDice batch", ALLOCATION_FREE, () -> {
+            dice[0] = nextDiceValue();
+            diceGame.throwDice(dice, payouts);
+        });
+    }
+
+    private int nextDiceValue() {
+        next = (next + 1) % DICE_VALUES.length;
+        return DICE_VALUES[next];
+    }
+}
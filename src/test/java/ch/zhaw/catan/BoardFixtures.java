@@ -0,0 +1,99 @@
+package ch.zhaw.catan;
+
+import ch.zhaw.catan.Config.*;
+import ch.zhaw.catan.games.ThreePlayerStandard;
+
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * This class creates the boards on which the rendering of the text views is tested and benchmarked.
+ * <p>
+ * The boards are identified by name: {@code empty} (the standard board without structures), {@code midGame} (the
+ * standard board with some roads after the founder's phase), {@code fullyBuilt} (the standard board with a structure
+ * on every corner and every edge) and {@code <rows>x<columns>} (a synthetic board of this size, fully built). The
+ * boards are built deterministically, hence their rendering is always the same.
+ * </p>
+ *
+ * @author StackOverflow
+ * @version 1.0
+ */
+public final class BoardFixtures {
+    private static final int WIN_POINTS = 7;
+    private static final Comparator<Point> POINT_ORDER = Comparator.<Point>comparingInt(p -> p.y).thenComparingInt(p -> p.x);
+
+    private BoardFixtures() {
+    }
+
+    /**
+     * Creates the board with the given name.
+     *
+     * @param name the name of the board.
+     * @return the board.
+     * @throws IllegalArgumentException if there is no board with this name.
+     */
+    public static SiedlerBoard createBoard(String name) {
+        return switch (name) {
+            case "empty" -> new SiedlerBoard();
+            case "midGame" -> ThreePlayerStandard.getAfterSetupPhaseSomeRoads(WIN_POINTS).getBoard();
+            case "fullyBuilt" -> buildEverything(new SiedlerBoard());
+            default -> {
+                String[] size = name.split("x");
+                if (size.length != 2) {
+                    throw new IllegalArgumentException("No board with the name " + name + ".");
+                }
+                yield buildEverything(createSyntheticBoard(Integer.parseInt(size[0]), Integer.parseInt(size[1])));
+            }
+        };
+    }
+
+    /**
+     * Creates the text view of the board with the given name.
+     *
+     * @param name the name of the board.
+     * @return the text view.
+     */
+    public static SiedlerBoardTextView createTextView(String name) {
+        return new SiedlerBoardTextView(createBoard(name));
+    }
+
+    private static SiedlerBoard createSyntheticBoard(int rows, int columns) {
+        Land[] lands = {Land.FIELDS, Land.FOREST, Land.HILLS, Land.MOUNTAIN, Land.PASTURE, Land.DESERT, Land.WATER};
+        int[] diceValues = {2, 3, 4, 5, 6, 8, 9, 10, 11, 12};
+        Map<Point, Land> landPlacement = new HashMap<>();
+        Map<Point, Integer> diceNumberPlacement = new HashMap<>();
+        int index = 0;
+        for (int row = 0; row < rows; row++) {
+            for (int column = 0; column < columns; column++) {
+                Point field = new Point(2 * column + (row % 2 == 0 ? 2 : 1), 2 + 3 * row);
+                Land land = lands[index % lands.length];
+                landPlacement.put(field, land);
+                if (land.getResource() != null) {
+                    diceNumberPlacement.put(field, diceValues[index % diceValues.length]);
+                }
+                index++;
+            }
+        }
+        return new SiedlerBoard(landPlacement, diceNumberPlacement);
+    }
+
+    private static SiedlerBoard buildEverything(SiedlerBoard board) {
+        List<Point> corners = new ArrayList<>(board.getCornerPositions());
+        corners.sort(POINT_ORDER);
+        for (int i = 0; i < corners.size(); i++) {
+            String faction = Faction.values()[i % Faction.values().length].toString();
+            board.setCorner(corners.get(i), i % 3 == 0 ? faction.toUpperCase() : faction);
+        }
+        List<Point[]> edges = board.getEdgePositions();
+        edges.sort(Comparator.<Point[], Point>comparing(edge -> edge[0], POINT_ORDER)
+                .thenComparing(edge -> edge[1], POINT_ORDER));
+        for (int i = 0; i < edges.size(); i++) {
+            board.setEdge(edges.get(i)[0], edges.get(i)[1], Faction.values()[i % Faction.values().length].toString());
+        }
+        return board;
+    }
+}
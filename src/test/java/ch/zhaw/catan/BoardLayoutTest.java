@@ -0,0 +1,124 @@
+package ch.zhaw.catan;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.awt.*;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static ch.zhaw.catan.Config.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for the {@link BoardLayout} class.<br>
+ *
+ * <br>This test class has the following equivalence classes:<br>
+ *
+ * <br>01. StandardFile: Tests that the layout file of the standard board matches the standard layout of Config.
+ * <br>02. InvalidDefinition: Tests that invalid layout definitions are rejected with the line of the error.
+ * <br>03. GameOnLayout: Tests a game on a board with a custom layout.
+ *
+ * @author StackOverflow
+ * @version 1.0
+ */
+class BoardLayoutTest {
+    private static final Path STANDARD_FILE = Path.of("layouts", "standard.txt");
+
+    /**
+     * Tests that the standard layout file, including its water ring, defines the lands, the dice values and the
+     * thief position of the standard layout, that it is parsed only once and that its boards are independent. The
+     * desert has no dice value in the file, while Config labels it with the 7.
+     * This is a positive test and of the equivalence class 01.
+     */
+    @Test
+    public void standardFileTest() throws IOException {
+        BoardLayout layout = BoardLayout.load(STANDARD_FILE);
+        assertSame(layout, BoardLayout.load(STANDARD_FILE.toAbsolutePath()));
+
+        assertEquals(Config.getStandardLandPlacement(), layout.getLandPlacement());
+        Map<Point, Integer> diceValues = new HashMap<>(Config.getStandardDiceNumberPlacement());
+        diceValues.remove(Config.INITIAL_THIEF_POSITION);
+        assertEquals(diceValues, layout.getDiceNumberPlacement());
+        assertEquals(Config.INITIAL_THIEF_POSITION, layout.getThiefPosition());
+
+        SiedlerBoard board = layout.createBoard();
+        board.setCorner(new Point(5, 7), Faction.RED.toString());
+        assertNull(layout.createBoard().getCorner(new Point(5, 7)));
+        assertEquals(new SiedlerBoard().getCornerPositions(), layout.createBoard().getCornerPositions());
+    }
+
+    /**
+     * Tests that a definition with an invalid coordinate, a corner beyond {@link BoardLayout#MAX_COORDINATE}, an
+     * invalid land, dice value, duplicate field or unknown keyword is rejected with its line number, and that a layout
+     * without thief is rejected.
+     * This is a negative test and of the equivalence class 02.
+     */
+    @ParameterizedTest
+    @ValueSource(strings = {"field 6 5 FOREST 6", "field 5 5 FOREST", "field 5 5 FOREST 7", "field 5 5 DESERT 6",
+            "field 5 5 GOLD 6", "field 7 11 HILLS 4", "field 5 5", "city 5 5", "thief 4 2", "thief 7 11",
+            "field 127 5 FOREST 6", "field 6 128 FOREST 6"})
+    public void invalidDefinitionTest(String definition) {
+        List<String> lines = List.of("# invalid", "field 7 11 DESERT", "thief 7 11", definition);
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> BoardLayout.parse(lines, "test"));
+        assertTrue(e.getMessage().startsWith("test, line 4: "), e.getMessage());
+
+        IllegalArgumentException noThief = assertThrows(IllegalArgumentException.class,
+                () -> BoardLayout.parse(List.of("field 7 11 DESERT"), "test"));
+        assertTrue(noThief.getMessage().contains("thief"));
+        assertThrows(IllegalArgumentException.class,
+                () -> BoardLayout.parse(List.of("field 1 5 DESERT", "thief 1 5", "water-ring"), "test"));
+    }
+
+    /**
+     * Tests that a layout with more than {@link BoardLayout#MAX_FIELDS} fields is rejected, as the snapshot can't
+     * store it. This is a negative test and of the equivalence class 02.
+     */
+    @Test
+    public void tooManyFieldsTest() {
+        List<String> lines = new ArrayList<>();
+        for (int y = 2; lines.size() <= BoardLayout.MAX_FIELDS; y += 6) {
+            for (int x = 2; x < 100 && lines.size() <= BoardLayout.MAX_FIELDS; x += 2) {
+                lines.add("field " + x + " " + y + " DESERT");
+            }
+        }
+        lines.add("thief 2 2");
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> BoardLayout.parse(lines, "test"));
+        assertTrue(e.getMessage().contains("fields"), e.getMessage());
+        lines.remove(0);
+        lines.set(lines.size() - 1, "thief 4 2");
+        assertEquals(BoardLayout.MAX_FIELDS, BoardLayout.parse(lines, "test").getLandPlacement().size());
+    }
+
+    /**
+     * Tests a game on a board with three fields surrounded by water: the thief starts on the desert and a settlement
+     * in the founder's phase is paid out by the fields of the layout. The same definition has the same digest, which
+     * differs from the standard layout.
+     * This is a positive test and of the equivalence class 03.
+     */
+    @Test
+    public void gameOnLayoutTest() {
+        BoardLayout layout = BoardLayout.parse(List.of("field 5 5 DESERT", "field 7 5 HILLS 4", "field 6 8 MOUNTAIN 9",
+                "thief 5 5", "water-ring"), "test");
+        assertEquals(3 + 9, layout.getLandPlacement().size());
+        assertEquals(layout.getDigest(), BoardLayout.parse(List.of("water-ring", "thief 5 5", "field 6 8 MOUNTAIN 9",
+                "field 7 5 HILLS 4", "field 5 5 DESERT"), "other").getDigest());
+        assertNotEquals(BoardLayout.standard().getDigest(), layout.getDigest());
+
+        SiedlerGame game = new SiedlerGame(3, 2, layout);
+        assertEquals(new Point(5, 5), game.getFieldOccupiedByThief());
+        assertEquals(12, game.getBoard().getFields().size());
+        assertTrue(game.placeInitialSettlement(new Point(6, 6), true));
+        assertEquals(1, game.getCurrentPlayer().getResourceCount(Resource.BRICK));
+        assertEquals(1, game.getCurrentPlayer().getResourceCount(Resource.ORE));
+        assertEquals(2, game.getCurrentPlayer().getTotalResourceCount());
+    }
+}
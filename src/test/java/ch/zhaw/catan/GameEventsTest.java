@@ -0,0 +1,111 @@
+package ch.zhaw.catan;
+
+import ch.zhaw.catan.games.ThreePlayerStandard;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+
+import java.awt.*;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static ch.zhaw.catan.Config.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for the {@link GameEvents} class.<br>
+ *
+ * <br>This test class has the following equivalence classes:<br>
+ *
+ * <br>01. EventsAreRecorded: Tests that the game actions are recorded as flight recorder events.
+ * <br>02. EventsAreDisabled: Tests that no events are created while no recording has enabled them.
+ *
+ * @author StackOverflow
+ * @version 1.0
+ */
+class GameEventsTest {
+
+    /**
+     * Tests that dice throws, payouts, builds, trades, thief placements and board renders are recorded with their
+     * faction, coordinates and moved resources.
+     * This is a positive test and of the equivalence class 01.
+     */
+    @Test
+    public void eventsAreRecordedTest() throws IOException {
+        Path file = Files.createTempFile("siedler", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("ch.zhaw.catan.DiceThrow");
+            recording.enable("ch.zhaw.catan.Payout");
+            recording.enable("ch.zhaw.catan.Build");
+            recording.enable("ch.zhaw.catan.Trade");
+            recording.enable("ch.zhaw.catan.Thief");
+            recording.enable("ch.zhaw.hexboard.Render");
+            recording.start();
+
+            SiedlerGame game = ThreePlayerStandard.getAfterSetupPhaseAlmostEmptyBank(7);
+            game.throwDice(4);
+            assertTrue(game.buildRoad(new Point(6, 6), new Point(7, 7)));
+            assertFalse(game.buildCity(new Point(7, 7)));
+            game.tradeWithBankFourToOne(Resource.WOOL, Resource.GRAIN);
+            assertTrue(game.placeThiefAndStealCard(new Point(6, 8)));
+            new SiedlerBoardTextView(game.getBoard()).toString();
+
+            recording.stop();
+            recording.dump(file);
+        }
+        try {
+            List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+            List<String> names = events.stream().map(event -> event.getEventType().getName()).distinct()
+                    .collect(Collectors.toList());
+            assertTrue(names.containsAll(List.of("ch.zhaw.catan.DiceThrow", "ch.zhaw.catan.Payout",
+                    "ch.zhaw.catan.Build", "ch.zhaw.catan.Trade", "ch.zhaw.catan.Thief", "ch.zhaw.hexboard.Render")));
+
+            RecordedEvent road = events.stream().filter(event -> event.getEventType().getName().endsWith(".Build")
+                    && event.getString("structure").equals("ROAD") && event.getInt("endX") == 7).findFirst().orElseThrow();
+            assertEquals("RED", road.getString("faction"));
+            assertEquals(6, road.getInt("x"));
+            assertEquals(6, road.getInt("y"));
+            assertEquals(7, road.getInt("endY"));
+            assertTrue(road.getBoolean("success"));
+            assertEquals(Structure.ROAD.getCosts().size(), road.getInt("resourcesMoved"));
+
+            RecordedEvent city = events.stream().filter(event -> event.getEventType().getName().endsWith(".Build")
+                    && event.getString("structure").equals("CITY")).findFirst().orElseThrow();
+            assertFalse(city.getBoolean("success"));
+            assertEquals(0, city.getInt("resourcesMoved"));
+
+            RecordedEvent thief = events.stream().filter(event -> event.getEventType().getName().endsWith(".Thief"))
+                    .findFirst().orElseThrow();
+            assertEquals(6, thief.getInt("x"));
+            assertEquals(8, thief.getInt("y"));
+            assertTrue(thief.getBoolean("success"));
+            assertNotNull(thief.getDuration());
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    /**
+     * Tests that the events of the game loop are not created while no recording is running, and that the game
+     * actions still work without them.
+     * This is a positive test and of the equivalence class 02.
+     */
+    @Test
+    public void eventsAreDisabledTest() {
+        assertNull(GameEvents.DiceThrow.startIfEnabled(Faction.RED, 4));
+        assertNull(GameEvents.Payout.startIfEnabled());
+        assertNull(GameEvents.Build.startIfEnabled(Faction.RED, Structure.ROAD, new Point(6, 6), new Point(7, 7)));
+        assertNull(GameEvents.Trade.startIfEnabled(Faction.RED, "BANK", 4, 1));
+        assertNull(GameEvents.Thief.startIfEnabled(Faction.RED, new Point(6, 8)));
+
+        SiedlerGame game = ThreePlayerStandard.getAfterSetupPhaseAlmostEmptyBank(7);
+        game.throwDice(4);
+        assertTrue(game.buildRoad(new Point(6, 6), new Point(7, 7)));
+        assertTrue(game.placeThiefAndStealCard(new Point(6, 8)));
+    }
+}
@@ -0,0 +1,195 @@
+package ch.zhaw.catan;
+
+import ch.zhaw.catan.games.ThreePlayerStandard;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.awt.*;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Map;
+
+import static ch.zhaw.catan.Config.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for the {@link GameJournal} and {@link GameJournalReplayer} classes.<br>
+ *
+ * <br>This test class has the following equivalence classes:<br>
+ *
+ * <br>01. ReplayWorks: A journaled game is rebuilt with the same state.
+ * <br>02. ReplayAfterCrash: An incomplete last record is ignored.
+ * <br>03. JournalDoesNotMatch: A journal of another game can't be opened.
+ * <br>04. ReplayOnLayout: A journal of a game on a custom layout is only replayed on this layout.
+ *
+ * @author StackOverflow
+ * @version 1.0
+ */
+class GameJournalTest {
+
+    private static final int WIN_POINTS = 7;
+
+    @TempDir
+    Path directory;
+
+    /**
+     * Tests that a game with builds, trades with the bank and between players, dice throws and thief placements is
+     * rebuilt by {@link GameJournalReplayer#replay(Path)} with identical stocks, board and thief position.
+     * This is a positive test and of the equivalence class 01.
+     *
+     * @throws IOException if the journal cannot be closed.
+     */
+    @Test
+    public void replayTest() throws IOException {
+        Path file = directory.resolve("game.journal");
+        SiedlerGame game = playJournaledGame(file, 4);
+
+        SiedlerGame replayed = GameJournalReplayer.replay(file);
+
+        assertSameState(game, replayed);
+    }
+
+    /**
+     * Tests that an incomplete record at the end of the journal, as it is left by a crash, is ignored by the replayer
+     * and cut off when the journal is opened again. This is a positive test and of the equivalence class 02.
+     *
+     * @throws IOException if the journal cannot be written.
+     */
+    @Test
+    public void replayAfterCrashTest() throws IOException {
+        Path file = directory.resolve("game.journal");
+        SiedlerGame game = playJournaledGame(file, 1);
+        Files.write(file, new byte[]{1, 2, 3}, StandardOpenOption.APPEND);
+
+        SiedlerGame replayed = GameJournalReplayer.replay(file);
+        assertSameState(game, replayed);
+
+        try (GameJournal journal = new GameJournal(file, WIN_POINTS, ThreePlayerStandard.NUMBER_OF_PLAYERS, 1)) {
+            replayed.setJournal(journal);
+            replayed.switchToNextPlayer();
+        }
+        assertEquals(0, Files.size(file) % GameJournal.RECORD_SIZE);
+        assertSameState(replayed, GameJournalReplayer.replay(file));
+    }
+
+    /**
+     * Tests that a journal of a game with more win points than a signed byte holds is reopened and replayed.
+     * This is a positive test and of the equivalence class 01.
+     *
+     * @throws IOException if the journal cannot be closed.
+     */
+    @Test
+    public void replayWithManyWinPointsTest() throws IOException {
+        Path file = directory.resolve("game.journal");
+        new GameJournal(file, GameJournal.MAX_WIN_POINTS, 2, 1).close();
+
+        new GameJournal(file, GameJournal.MAX_WIN_POINTS, 2, 1).close();
+        assertEquals(GameJournal.HEADER_SIZE, Files.size(file));
+        assertEquals(Faction.RED, GameJournalReplayer.replay(file).getCurrentPlayerFaction());
+        assertThrows(IllegalArgumentException.class,
+                () -> new GameJournal(directory.resolve("other.journal"), GameJournal.MAX_WIN_POINTS + 1, 2, 1));
+    }
+
+    /**
+     * Tests that a journal can't be continued by a game with other settings, and that a short file which is not a
+     * journal is rejected without being changed.
+     * This is a negative test and of the equivalence class 03.
+     *
+     * @throws IOException if the journal cannot be closed.
+     */
+    @Test
+    public void journalDoesNotMatchTest() throws IOException {
+        Path file = directory.resolve("game.journal");
+        new GameJournal(file, WIN_POINTS, 2, 1).close();
+
+        assertThrows(IllegalArgumentException.class, () -> new GameJournal(file, WIN_POINTS, 3, 1));
+        assertThrows(IllegalArgumentException.class, () -> new GameJournal(file, WIN_POINTS, 2, 0));
+
+        Path notes = directory.resolve("notes.txt");
+        byte[] content = {'n', 'o', 't', 'e', 's'};
+        Files.write(notes, content);
+        assertThrows(IllegalArgumentException.class, () -> new GameJournal(notes, WIN_POINTS, 2, 1));
+        assertArrayEquals(content, Files.readAllBytes(notes));
+    }
+
+    /**
+     * Tests that a journal of a game on a custom layout is replayed on this layout, and that neither the replayer nor
+     * a journal on the standard layout accept it.
+     * This is a positive test and of the equivalence class 04.
+     *
+     * @throws IOException if the journal cannot be closed.
+     */
+    @Test
+    public void replayOnLayoutTest() throws IOException {
+        Path file = directory.resolve("game.journal");
+        BoardLayout layout = BoardLayout.parse(List.of("field 5 5 DESERT", "field 7 5 HILLS 4",
+                "field 6 8 MOUNTAIN 9", "thief 5 5", "water-ring"), "test");
+        SiedlerGame game = new SiedlerGame(WIN_POINTS, ThreePlayerStandard.NUMBER_OF_PLAYERS, layout);
+        try (GameJournal journal = new GameJournal(file, WIN_POINTS, ThreePlayerStandard.NUMBER_OF_PLAYERS, layout, 1)) {
+            game.setJournal(journal);
+            assertTrue(game.placeInitialSettlement(new Point(6, 6), true));
+            assertTrue(game.placeInitialRoad(new Point(6, 6), new Point(6, 4)));
+            game.setJournal(null);
+        }
+
+        assertSameState(game, GameJournalReplayer.replay(file, layout));
+        assertThrows(IllegalArgumentException.class, () -> GameJournalReplayer.replay(file));
+        assertThrows(IllegalArgumentException.class,
+                () -> new GameJournal(file, WIN_POINTS, ThreePlayerStandard.NUMBER_OF_PLAYERS, 1));
+    }
+
+    private SiedlerGame playJournaledGame(Path file, int syncBatchSize) throws IOException {
+        SiedlerGame game = new SiedlerGame(WIN_POINTS, ThreePlayerStandard.NUMBER_OF_PLAYERS);
+        try (GameJournal journal = new GameJournal(file, WIN_POINTS, ThreePlayerStandard.NUMBER_OF_PLAYERS, syncBatchSize)) {
+            game.setJournal(journal);
+            for (int i = 0; i < ThreePlayerStandard.NUMBER_OF_PLAYERS; i++) {
+                Faction f = game.getCurrentPlayerFaction();
+                assertTrue(game.placeInitialSettlement(ThreePlayerStandard.INITIAL_SETTLEMENT_POSITIONS.get(f).first, false));
+                assertTrue(game.placeInitialRoad(ThreePlayerStandard.INITIAL_SETTLEMENT_POSITIONS.get(f).first,
+                        ThreePlayerStandard.INITIAL_ROAD_ENDPOINTS.get(f).first));
+                game.switchToNextPlayer();
+            }
+            for (int i = 0; i < ThreePlayerStandard.NUMBER_OF_PLAYERS; i++) {
+                game.switchToPreviousPlayer();
+                Faction f = game.getCurrentPlayerFaction();
+                assertTrue(game.placeInitialSettlement(ThreePlayerStandard.INITIAL_SETTLEMENT_POSITIONS.get(f).second, true));
+                assertTrue(game.placeInitialRoad(ThreePlayerStandard.INITIAL_SETTLEMENT_POSITIONS.get(f).second,
+                        ThreePlayerStandard.INITIAL_ROAD_ENDPOINTS.get(f).second));
+            }
+            for (int dice : List.of(6, 6, 11, 11, 2, 12, 4, 4, 4, 4, 4, 6, 6, 6, 6)) {
+                game.throwDice(dice);
+            }
+            assertTrue(game.buildRoad(new Point(6, 6), new Point(7, 7)));
+            assertTrue(game.tradeWithBankFourToOne(Resource.ORE, Resource.GRAIN));
+            TradeOffer offer = game.postTradeOffer(Faction.RED, Map.of(Resource.GRAIN, 1), Map.of(Resource.WOOL, 1));
+            assertTrue(game.acceptTradeOffer(Faction.BLUE, offer.getId()));
+            game.throwDice(SiedlerGame.THIEF_DICE_THROW);
+            assertTrue(game.placeThiefAndStealCard(new Point(10, 14)));
+            game.switchToNextPlayer();
+            game.throwDice(3);
+            game.setJournal(null);
+        }
+        return game;
+    }
+
+    private void assertSameState(SiedlerGame expected, SiedlerGame actual) {
+        assertEquals(expected.getCurrentPlayerFaction(), actual.getCurrentPlayerFaction());
+        assertEquals(expected.getFieldOccupiedByThief(), actual.getFieldOccupiedByThief());
+        assertEquals(expected.getBank().getResources(), actual.getBank().getResources());
+        for (int i = 0; i < ThreePlayerStandard.NUMBER_OF_PLAYERS; i++) {
+            Player expectedPlayer = expected.getPlayers().get(i);
+            Player actualPlayer = actual.getPlayers().get(i);
+            assertEquals(expectedPlayer.getResources(), actualPlayer.getResources());
+            assertEquals(expectedPlayer.getVictoryPoints(), actualPlayer.getVictoryPoints());
+            for (Structure structure : Structure.values()) {
+                assertEquals(expectedPlayer.getRemainingStructure(structure), actualPlayer.getRemainingStructure(structure));
+            }
+        }
+        assertEquals(new SiedlerBoardTextView(expected.getBoard()).toString(),
+                new SiedlerBoardTextView(actual.getBoard()).toString());
+    }
+}
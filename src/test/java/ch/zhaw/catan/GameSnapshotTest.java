@@ -0,0 +1,147 @@
+package ch.zhaw.catan;
+
+import ch.zhaw.catan.games.ThreePlayerStandard;
+
+import org.junit.jupiter.api.Test;
+
+import java.awt.*;
+import java.util.Arrays;
+import java.util.List;
+
+import static ch.zhaw.catan.Config.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for the {@link GameSnapshot} class.<br>
+ *
+ * <br>This test class has the following equivalence classes:<br>
+ *
+ * <br>01. RestoreWorks: A restored game has the same state as the saved game.
+ * <br>02. RestoreDoesNotWork: Invalid snapshots are rejected.
+ *
+ * @author StackOverflow
+ * @version 1.0
+ */
+class GameSnapshotTest {
+
+    private static final int WIN_POINTS = 7;
+
+    /**
+     * Tests that a game with settlements, a city and roads is restored with identical stocks, structures, victory
+     * points, board and thief position. This is a positive test and of the equivalence class 01.
+     */
+    @Test
+    public void restoreTest() {
+        SiedlerGame game = ThreePlayerStandard.getAfterSetupPhaseAlmostEmptyBank(WIN_POINTS);
+        assertTrue(game.buildCity(new Point(5, 7)));
+        assertTrue(game.buildRoad(new Point(6, 6), new Point(7, 7)));
+        assertTrue(game.placeThiefAndStealCard(new Point(6, 8)));
+        game.switchToNextPlayer();
+
+        SiedlerGame restored = GameSnapshot.restore(GameSnapshot.save(game));
+
+        assertEquals(game.getWinPoints(), restored.getWinPoints());
+        assertEquals(game.getCurrentPlayerFaction(), restored.getCurrentPlayerFaction());
+        assertEquals(game.getFieldOccupiedByThief(), restored.getFieldOccupiedByThief());
+        assertEquals(game.getBank().getResources(), restored.getBank().getResources());
+        for (int i = 0; i < ThreePlayerStandard.NUMBER_OF_PLAYERS; i++) {
+            Player expected = game.getPlayers().get(i);
+            Player actual = restored.getPlayers().get(i);
+            assertEquals(expected.getResources(), actual.getResources());
+            assertEquals(expected.getVictoryPoints(), actual.getVictoryPoints());
+            for (Structure structure : Structure.values()) {
+                assertEquals(expected.getRemainingStructure(structure), actual.getRemainingStructure(structure));
+                assertEquals(game.getBoard().receiveAllBuildingElementOnBoard(expected.getFaction(), structure),
+                        restored.getBoard().receiveAllBuildingElementOnBoard(actual.getFaction(), structure));
+            }
+        }
+        for (Point field : game.getBoard().getFields()) {
+            assertEquals(game.getBoard().getField(field), restored.getBoard().getField(field));
+            assertEquals(game.getBoard().getDiceValue(field), restored.getBoard().getDiceValue(field));
+        }
+        assertEquals(new SiedlerBoardTextView(game.getBoard()).toString(),
+                new SiedlerBoardTextView(restored.getBoard()).toString());
+    }
+
+    /**
+     * Tests that a restored game can be played on. This is a positive test and of the equivalence class 01.
+     */
+    @Test
+    public void restoredGameCanBePlayedTest() {
+        SiedlerGame game = ThreePlayerStandard.getAfterSetupPhase(WIN_POINTS);
+        SiedlerGame restored = GameSnapshot.restore(GameSnapshot.save(game));
+
+        for (int dice = 2; dice <= 12; dice++) {
+            if (dice != SiedlerGame.THIEF_DICE_THROW) {
+                assertEquals(game.throwDice(dice), restored.throwDice(dice));
+            }
+        }
+        assertEquals(game.buildRoad(new Point(6, 6), new Point(7, 7)), restored.buildRoad(new Point(6, 6), new Point(7, 7)));
+        assertEquals(game.getCurrentPlayer().getResources(), restored.getCurrentPlayer().getResources());
+        assertEquals(new SiedlerBoardTextView(game.getBoard()).toString(),
+                new SiedlerBoardTextView(restored.getBoard()).toString());
+    }
+
+    /**
+     * Tests that the victory points are restored with their sources and that restored games get their own boards.
+     * This is a positive test and of the equivalence class 01.
+     */
+    @Test
+    public void restoreScoreLedgerTest() {
+        SiedlerGame game = ThreePlayerStandard.getAfterSetupPhaseAlmostEmptyBank(WIN_POINTS);
+        assertTrue(game.buildCity(new Point(5, 7)));
+        game.getCurrentPlayer().addVictoryPoints(ScoreLedger.Source.LONGEST_ROAD, 2);
+        byte[] snapshot = GameSnapshot.save(game);
+
+        SiedlerGame first = GameSnapshot.restore(snapshot);
+        SiedlerGame second = GameSnapshot.restore(snapshot);
+        for (Faction faction : game.getPlayerFactions()) {
+            for (ScoreLedger.Source source : ScoreLedger.Source.values()) {
+                assertEquals(game.getScoreLedger().getPoints(faction, source),
+                        first.getScoreLedger().getPoints(faction, source));
+            }
+        }
+        assertEquals(game.getScoreLedger().getLeaderboard(), first.getScoreLedger().getLeaderboard());
+
+        assertNotSame(first.getBoard(), second.getBoard());
+        assertTrue(first.buildRoad(new Point(6, 6), new Point(7, 7)));
+        assertNull(second.getBoard().getEdge(new Point(6, 6), new Point(7, 7)));
+    }
+
+    /**
+     * Tests that a game on a layout which is neither the standard layout nor loaded from a file is restored with its
+     * own board, which is built again for every restore instead of being cached.
+     * This is a positive test and of the equivalence class 01.
+     */
+    @Test
+    public void restoreUnknownLayoutTest() {
+        BoardLayout layout = BoardLayout.parse(List.of("field 5 5 DESERT", "field 7 5 HILLS 4", "field 6 8 MOUNTAIN 9",
+                "thief 5 5", "water-ring"), "test");
+        assertNull(BoardLayout.findTemplate(layout.getLandPlacement(), layout.getDiceNumberPlacement()));
+        BoardLayout standard = BoardLayout.standard();
+        assertSame(standard.getTemplate(),
+                BoardLayout.findTemplate(standard.getLandPlacement(), standard.getDiceNumberPlacement()));
+
+        SiedlerGame game = new SiedlerGame(WIN_POINTS, 2, layout);
+        byte[] snapshot = GameSnapshot.save(game);
+        SiedlerGame first = GameSnapshot.restore(snapshot);
+        SiedlerGame second = GameSnapshot.restore(snapshot);
+        assertEquals(game.getBoard().getFields(), first.getBoard().getFields());
+        assertEquals(new SiedlerBoardTextView(game.getBoard()).toString(),
+                new SiedlerBoardTextView(second.getBoard()).toString());
+        assertNotSame(first.getBoard(), second.getBoard());
+    }
+
+    /**
+     * Tests that truncated snapshots and data with a wrong header are rejected with an
+     * {@link IllegalArgumentException}. This is a negative test and of the equivalence class 02.
+     */
+    @Test
+    public void restoreInvalidSnapshotTest() {
+        byte[] snapshot = GameSnapshot.save(ThreePlayerStandard.getAfterSetupPhase(WIN_POINTS));
+
+        assertThrows(IllegalArgumentException.class, () -> GameSnapshot.restore(Arrays.copyOf(snapshot, 20)));
+        snapshot[0] = 0;
+        assertThrows(IllegalArgumentException.class, () -> GameSnapshot.restore(snapshot));
+    }
+}
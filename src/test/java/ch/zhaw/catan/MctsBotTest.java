@@ -0,0 +1,118 @@
+package ch.zhaw.catan;
+
+import ch.zhaw.catan.games.ThreePlayerStandard;
+
+import org.junit.jupiter.api.Test;
+
+import java.awt.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static ch.zhaw.catan.Config.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for the {@link MctsBot} class.<br>
+ *
+ * <br>This test class has the following equivalence classes:<br>
+ *
+ * <br>01. BotChoosesLegalMoves: The decisions of the bot can be applied to the game.
+ * <br>02. BotCantBeInitialized: Tests invalid input for the constructor of MctsBot.
+ *
+ * @author StackOverflow
+ * @version 1.0
+ */
+class MctsBotTest {
+
+    private static final int WIN_POINTS = 5;
+    private final MctsBot bot = new MctsBot(1000, 60, new ForkJoinPool(2));
+
+    /**
+     * Tests that the bot can play the founder's phase for all seats and that every chosen placement is accepted by
+     * the game. This is a positive test and of the equivalence class 01.
+     */
+    @Test
+    public void founderPhaseTest() {
+        SiedlerGame game = new SiedlerGame(WIN_POINTS, 2);
+        for (int i = 0; i < 2; i++) {
+            placeInitialStructures(game, false);
+            game.switchToNextPlayer();
+        }
+        for (int i = 0; i < 2; i++) {
+            game.switchToPreviousPlayer();
+            placeInitialStructures(game, true);
+        }
+        for (Faction faction : game.getPlayerFactions()) {
+            assertEquals(2, game.getBoard().receiveAllBuildingElementOnBoard(faction, Structure.SETTLEMENT));
+            assertEquals(2, game.getBoard().receiveAllBuildingElementOnBoard(faction, Structure.ROAD));
+        }
+    }
+
+    /**
+     * Tests that a rollout from the founder's phase places the remaining settlements and roads of all players, in the
+     * forward and in the backward round, and ends with the first player.
+     * This is a positive test and of the equivalence class 01.
+     */
+    @Test
+    public void founderPhaseRolloutTest() {
+        SiedlerGame game = new SiedlerGame(WIN_POINTS, 3);
+        Point settlement = game.getInitialSettlementLocations().iterator().next();
+        assertTrue(game.placeInitialSettlement(settlement, false));
+        MctsBot.playFounderPhase(game, settlement, ThreadLocalRandom.current());
+        assertFounderPhaseComplete(game);
+
+        game = new SiedlerGame(WIN_POINTS, 3);
+        placeInitialStructures(game, false);
+        game.switchToNextPlayer();
+        placeInitialStructures(game, false);
+        game.switchToNextPlayer();
+        placeInitialStructures(game, false);
+        placeInitialStructures(game, true);
+        MctsBot.playFounderPhase(game, null, ThreadLocalRandom.current());
+        assertFounderPhaseComplete(game);
+    }
+
+    /**
+     * Tests that the bot places the thief on a legal field and that its moves during a turn are accepted.
+     * This is a positive test and of the equivalence class 01.
+     */
+    @Test
+    public void turnTest() {
+        SiedlerGame game = ThreePlayerStandard.getAfterSetupPhaseAlmostEmptyBank(WIN_POINTS);
+
+        Point field = bot.chooseThiefPlacement(game);
+        assertTrue(game.placeThiefAndStealCard(field));
+
+        MctsBot.Move move = bot.chooseMove(game);
+        assertTrue(move.apply(game, false));
+        int resources = game.getCurrentPlayer().getTotalResourceCount();
+        bot.playTurn(game);
+        assertTrue(game.getCurrentPlayer().getTotalResourceCount() <= resources);
+    }
+
+    /**
+     * Tests that invalid budgets are rejected with an {@link IllegalArgumentException}.
+     * This is a negative test and of the equivalence class 02.
+     */
+    @Test
+    public void constructorInvalidBudgetTest() {
+        assertThrows(IllegalArgumentException.class, () -> new MctsBot(0, 10));
+        assertThrows(IllegalArgumentException.class, () -> new MctsBot(10, 0));
+        assertThrows(IllegalArgumentException.class, () -> new MctsBot(10, 10, null));
+    }
+
+    private static void assertFounderPhaseComplete(SiedlerGame game) {
+        for (Faction faction : game.getPlayerFactions()) {
+            assertEquals(2, game.getBoard().receiveAllBuildingElementOnBoard(faction, Structure.SETTLEMENT));
+            assertEquals(2, game.getBoard().receiveAllBuildingElementOnBoard(faction, Structure.ROAD));
+        }
+        assertEquals(game.getPlayerFactions().get(0), game.getCurrentPlayerFaction());
+    }
+
+    private void placeInitialStructures(SiedlerGame game, boolean payout) {
+        Point settlement = bot.chooseInitialSettlement(game, payout);
+        assertTrue(game.placeInitialSettlement(settlement, payout));
+        Point[] road = bot.chooseInitialRoad(game, settlement);
+        assertTrue(game.placeInitialRoad(road[0], road[1]));
+    }
+}
@@ -0,0 +1,117 @@
+package ch.zhaw.catan;
+
+import ch.zhaw.catan.games.ThreePlayerStandard;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static ch.zhaw.catan.Config.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for the trading between players with {@link TradeOffer}s and the {@link OrderBook} class.<br>
+ *
+ * <br>This test class has the following equivalence classes:<br>
+ *
+ * <br>01. OffersAreMatched: A new offer is traded with the oldest open offer it serves.
+ * <br>02. OffersAreAccepted: An open offer is traded when another player accepts it.
+ * <br>03. TradeDoesNotWork: Offers without the resources are neither posted nor traded.
+ *
+ * @author StackOverflow
+ * @version 1.0
+ */
+class OrderBookTest {
+
+    private static final int WIN_POINTS = 7;
+    private SiedlerGame game;
+
+    @BeforeEach
+    public void setUp() {
+        // RED: 8 grain, 9 wool, 9 brick, 7 ore, 9 lumber; BLUE: 8 grain, 10 wool; GREEN: 8 brick, 9 lumber
+        game = ThreePlayerStandard.getAfterSetupPhaseAlmostEmptyBank(WIN_POINTS);
+    }
+
+    /**
+     * Tests that a new offer is traded immediately with the oldest open offer of another player it serves, on the
+     * terms of the open offer. This is a positive test and of the equivalence class 01.
+     */
+    @Test
+    public void matchTest() {
+        TradeOffer first = game.postTradeOffer(Faction.GREEN, Map.of(Resource.BRICK, 2), Map.of(Resource.GRAIN, 1));
+        TradeOffer second = game.postTradeOffer(Faction.GREEN, Map.of(Resource.BRICK, 3), Map.of(Resource.GRAIN, 1));
+        TradeOffer own = game.postTradeOffer(Faction.GREEN, Map.of(Resource.LUMBER, 1), Map.of(Resource.BRICK, 1));
+        assertFalse(first.isTraded());
+        assertEquals(3, game.getTradeOffers().size());
+
+        TradeOffer counterOffer = game.postTradeOffer(Faction.BLUE, Map.of(Resource.GRAIN, 2),
+                Map.of(Resource.BRICK, 2));
+        assertTrue(counterOffer.isTraded());
+        assertEquals(Faction.GREEN, counterOffer.getCounterparty());
+        assertEquals(Faction.BLUE, first.getCounterparty());
+        assertFalse(second.isTraded());
+        assertEquals(2, game.getTradeOffers().size());
+
+        assertEquals(7, resourceCount(Faction.BLUE, Resource.GRAIN));
+        assertEquals(2, resourceCount(Faction.BLUE, Resource.BRICK));
+        assertEquals(1, resourceCount(Faction.GREEN, Resource.GRAIN));
+        assertEquals(6, resourceCount(Faction.GREEN, Resource.BRICK));
+
+        TradeOffer unmatched = game.postTradeOffer(Faction.BLUE, Map.of(Resource.WOOL, 1), Map.of(Resource.BRICK, 4));
+        assertFalse(unmatched.isTraded());
+        assertFalse(own.isTraded());
+        assertEquals(3, game.getTradeOffers().size());
+    }
+
+    /**
+     * Tests that an open offer is traded when another player accepts it and can't be accepted twice.
+     * This is a positive test and of the equivalence class 02.
+     */
+    @Test
+    public void acceptTest() {
+        TradeOffer offer = game.postTradeOffer(Faction.RED, Map.of(Resource.ORE, 1, Resource.WOOL, 1),
+                Map.of(Resource.LUMBER, 3));
+        assertFalse(game.acceptTradeOffer(Faction.RED, offer.getId()));
+        assertTrue(game.acceptTradeOffer(Faction.GREEN, offer.getId()));
+        assertFalse(game.acceptTradeOffer(Faction.BLUE, offer.getId()));
+
+        assertEquals(Faction.GREEN, offer.getCounterparty());
+        assertEquals(6, resourceCount(Faction.RED, Resource.ORE));
+        assertEquals(12, resourceCount(Faction.RED, Resource.LUMBER));
+        assertEquals(1, resourceCount(Faction.GREEN, Resource.ORE));
+        assertEquals(6, resourceCount(Faction.GREEN, Resource.LUMBER));
+        assertTrue(game.getTradeOffers().isEmpty());
+    }
+
+    /**
+     * Tests that offers without the offered resources are not posted, that offers can't be accepted without the wanted
+     * resources and that cancelled offers can't be accepted. This is a negative test and of the equivalence class 03.
+     */
+    @Test
+    public void tradeDoesNotWorkTest() {
+        assertNull(game.postTradeOffer(Faction.GREEN, Map.of(Resource.ORE, 1), Map.of(Resource.BRICK, 1)));
+        assertThrows(IllegalArgumentException.class,
+                () -> game.postTradeOffer(Faction.GREEN, Map.of(Resource.BRICK, -1), Map.of(Resource.ORE, 1)));
+        assertThrows(IllegalArgumentException.class,
+                () -> game.postTradeOffer(Faction.YELLOW, Map.of(Resource.BRICK, 1), Map.of(Resource.ORE, 1)));
+
+        TradeOffer offer = game.postTradeOffer(Faction.BLUE, Map.of(Resource.WOOL, 1), Map.of(Resource.ORE, 1));
+        assertFalse(game.acceptTradeOffer(Faction.GREEN, offer.getId()));
+        assertEquals(10, resourceCount(Faction.BLUE, Resource.WOOL));
+
+        assertTrue(game.cancelTradeOffer(offer.getId()));
+        assertFalse(game.cancelTradeOffer(offer.getId()));
+        assertFalse(game.acceptTradeOffer(Faction.RED, offer.getId()));
+        assertEquals(10, resourceCount(Faction.BLUE, Resource.WOOL));
+    }
+
+    private int resourceCount(Faction faction, Resource resource) {
+        for (Player player : game.getPlayers()) {
+            if (player.getFaction() == faction) {
+                return player.getResourceCount(resource);
+            }
+        }
+        throw new IllegalArgumentException();
+    }
+}
@@ -0,0 +1,66 @@
+package ch.zhaw.catan;
+
+import org.junit.jupiter.api.Test;
+
+import static ch.zhaw.catan.Config.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for the {@link ResourceHand} class.<br>
+ *
+ * <br>This test class has the following equivalence classes:<br>
+ *
+ * <br>01. Lanes: Tests that the counts of the resources are stored in separate lanes.
+ * <br>02. Affordability: Tests the affordability checks against a lane-by-lane comparison.
+ *
+ * @author StackOverflow
+ * @version 1.0
+ */
+class ResourceHandTest {
+
+    /**
+     * Tests that every resource keeps its own count, that replacing a count leaves the other lanes unchanged and that
+     * the counts are saturated.
+     * This is a positive test and of the equivalence class 01.
+     */
+    @Test
+    public void lanesTest() {
+        long hand = 0;
+        for (Resource resource : Resource.values()) {
+            hand = ResourceHand.with(hand, resource, resource.ordinal() + 1);
+        }
+        hand = ResourceHand.with(hand, Resource.WOOL, 7);
+        for (Resource resource : Resource.values()) {
+            int expected = resource == Resource.WOOL ? 7 : resource.ordinal() + 1;
+            assertEquals(expected, ResourceHand.count(hand, resource));
+        }
+        assertEquals(ResourceHand.MAX_COUNT, ResourceHand.count(ResourceHand.with(0, Resource.ORE, 100_000), Resource.ORE));
+        assertEquals(0, ResourceHand.count(ResourceHand.with(0, Resource.ORE, -1), Resource.ORE));
+    }
+
+    /**
+     * Tests that the hand can pay a cost exactly if every lane holds at least the cost, for all hands with up to two
+     * cards per resource and all structures.
+     * This is a positive test and of the equivalence class 02.
+     */
+    @Test
+    public void affordabilityTest() {
+        int lanes = Resource.values().length;
+        for (int code = 0; code < Math.pow(3, lanes); code++) {
+            long hand = 0;
+            int[] counts = new int[lanes];
+            for (int i = 0, rest = code; i < lanes; i++, rest /= 3) {
+                counts[i] = rest % 3;
+                hand = ResourceHand.with(hand, Resource.values()[i], counts[i]);
+            }
+            for (Structure structure : Structure.values()) {
+                boolean expected = true;
+                for (Resource resource : Resource.values()) {
+                    long cost = structure.getCosts().stream().filter(r -> r == resource).count();
+                    expected &= counts[resource.ordinal()] >= cost;
+                }
+                assertEquals(expected, ResourceHand.canAfford(hand, ResourceHand.costOf(structure)));
+            }
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package ch.zhaw.catan;
+
+import ch.zhaw.catan.games.ThreePlayerStandard;
+
+import org.junit.jupiter.api.Test;
+
+import java.awt.*;
+import java.util.List;
+
+import static ch.zhaw.catan.Config.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for the {@link ScoreLedger} class.<br>
+ *
+ * <br>This test class has the following equivalence classes:<br>
+ *
+ * <br>01. PointsAreBooked: Tests that the points of all players are booked with their sources.
+ * <br>02. LeaderboardIsOrdered: Tests the order of the leaderboard after changes of the points.
+ * <br>03. GameIsOver: Tests that the game is over as soon as any player reaches the win points.
+ *
+ * @author StackOverflow
+ * @version 1.0
+ */
+class ScoreLedgerTest {
+
+    private static final int WIN_POINTS = 7;
+
+    /**
+     * Tests that the points of the founder's phase and of a city are booked with their sources.
+     * This is a positive test and of the equivalence class 01.
+     */
+    @Test
+    public void pointsAreBookedTest() {
+        SiedlerGame game = ThreePlayerStandard.getAfterSetupPhaseAlmostEmptyBank(WIN_POINTS);
+        ScoreLedger ledger = game.getScoreLedger();
+        for (Player player : game.getPlayers()) {
+            assertEquals(player.getVictoryPoints(), ledger.getPoints(player.getFaction()));
+            assertEquals(2, ledger.getPoints(player.getFaction(), ScoreLedger.Source.SETTLEMENT));
+        }
+
+        assertTrue(game.buildCity(new Point(5, 7)));
+        assertEquals(3, ledger.getPoints(Faction.RED));
+        assertEquals(1, ledger.getPoints(Faction.RED, ScoreLedger.Source.SETTLEMENT));
+        assertEquals(2, ledger.getPoints(Faction.RED, ScoreLedger.Source.CITY));
+        assertEquals(0, ledger.getPoints(Faction.RED, ScoreLedger.Source.LONGEST_ROAD));
+    }
+
+    /**
+     * Tests that the leaderboard is ordered by points and that factions with the same points keep their order.
+     * This is a positive test and of the equivalence class 02.
+     */
+    @Test
+    public void leaderboardTest() {
+        SiedlerGame game = ThreePlayerStandard.getAfterSetupPhaseAlmostEmptyBank(WIN_POINTS);
+        ScoreLedger ledger = game.getScoreLedger();
+        // in the backward founder's phase, green is the first to reach two points
+        assertEquals(List.of(Faction.GREEN, Faction.BLUE, Faction.RED), ledger.getLeaderboard());
+
+        game.getPlayers().get(0).addVictoryPoints(ScoreLedger.Source.LARGEST_ARMY, 2);
+        assertEquals(Faction.RED, ledger.getLeader());
+        game.getPlayers().get(1).addVictoryPoints(2);
+        assertEquals(List.of(Faction.RED, Faction.BLUE, Faction.GREEN), ledger.getLeaderboard());
+
+        game.getPlayers().get(0).addVictoryPoints(ScoreLedger.Source.LARGEST_ARMY, -2);
+        assertEquals(List.of(Faction.BLUE, Faction.RED, Faction.GREEN), ledger.getLeaderboard());
+    }
+
+    /**
+     * Tests that the game is over when any player reaches the win points, not only the current player.
+     * This is a positive test and of the equivalence class 03.
+     */
+    @Test
+    public void gameIsOverTest() {
+        SiedlerGame game = ThreePlayerStandard.getAfterSetupPhaseAlmostEmptyBank(WIN_POINTS);
+        ScoreLedger ledger = game.getScoreLedger();
+        assertFalse(ledger.isGameOver());
+        assertNull(game.getWinner());
+
+        game.getPlayers().get(1).addVictoryPoints(WIN_POINTS - 2);
+        assertTrue(ledger.isGameOver());
+        assertEquals(Faction.RED, game.getCurrentPlayerFaction());
+        assertEquals(Faction.BLUE, game.getWinner());
+
+        game.getPlayers().get(0).addVictoryPoints(WIN_POINTS);
+        assertEquals(Faction.RED, game.getWinner());
+    }
+}
@@ -0,0 +1,31 @@
+package ch.zhaw.catan;
+
+import ch.zhaw.utils.GoldenFiles;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Test class for the {@link SiedlerBoardTextView} class.<br>
+ *
+ * <br>This test class has the following equivalence classes:<br>
+ *
+ * <br>01. RenderingIsUnchanged: Tests that the rendering of the boards of {@link BoardFixtures} matches the golden
+ * files.
+ *
+ * @author StackOverflow
+ * @version 1.0
+ */
+class SiedlerBoardTextViewTest {
+
+    /**
+     * Tests that the rendering of an empty, a mid-game, a fully built and a large synthetic board is identical to the
+     * golden files, hence a different renderer must produce the same characters.
+     * This is a positive test and of the equivalence class 01.
+     */
+    @ParameterizedTest
+    @ValueSource(strings = {"empty", "midGame", "fullyBuilt", "20x20"})
+    public void renderingTest(String board) {
+        GoldenFiles.assertMatches("siedler-" + board, BoardFixtures.createTextView(board).toString());
+    }
+}
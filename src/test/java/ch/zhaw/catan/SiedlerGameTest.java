@@ -9,9 +9,12 @@ import org.junit.jupiter.params.provider.ValueSource;
 import java.awt.*;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.LinkedList;
 import java.util.Map;
+import java.util.Random;
+import java.util.Set;
 
 import static ch.zhaw.catan.Config.*;
 import static org.junit.jupiter.api.Assertions.*;
@@ -50,6 +53,17 @@ import static org.junit.jupiter.api.Assertions.*;
  * <br>28. throwDiceThief: Tests the throwDice method for numbers associated with the thief.
  * <br>29. ThiefWorks: The thief could be successfully placed.
  * <br>30. ThiefDoesNotWork: The thief could not be placed on the selected field.
+ * <br>31. throwDiceBatch: Tests the batch throwDice method against the single throws.
+ * <br>32. ExpectedIncome: Tests the expected income per player and resource.
+ * <br>33. BuildableLocations: Tests the incrementally updated locations for settlements and roads.
+ * <br>34. ThiefPlacements: Tests the ranking of the placements of the thief.
+ * <br>35. PlayerLookup: Tests the seat order, the faction lookup and the current player.
+ * <br>36. ResourceInventory: Tests the resource counts, the total count and the read-only view of a participant.
+ * <br>37. StructureCosts: Tests the precomputed costs of the structures and the payment of a structure.
+ * <br>38. ResourceTransfer: Tests that resource cards are moved between participants all or nothing.
+ * <br>39. DiscardDistribution: Tests that the cards discarded on a 7 are a uniformly random half of the hand.
+ * <br>40. BoardTemplate: Tests that the boards copied from the standard template are independent of each other.
+ * <br>41. GameCopy: Tests that a copied game has the state of the game and is independent of it.
  *
  * @author StackOverflow
  * @version 1.0
@@ -525,6 +539,496 @@ class SiedlerGameTest {
         assertEquals(0, siedlerGame.throwDice(thiefDiceNumber).get(Faction.RED).size());
     }
 
+    /**
+     * Tests the {@link SiedlerGame#throwDice(int[], int[][])} method. This test checks that the batch changes the bank
+     * and the players exactly like the single throws, also when the bank runs out of cards, that the payouts are
+     * counted per faction and resource and that the batch stops before the first 7.
+     * This is a positive test of the equivalence class 31.
+     */
+    @Test
+    public void throwDiceBatchTest() {
+        int[] diceThrows = {4, 6, 8, 12, 5, 4, 11, 2, 3, 10, 9, 6, 7, 8, 4};
+        SiedlerGame single = ThreePlayerStandard.getAfterSetupPhaseAlmostEmptyBank(winPoints);
+        SiedlerGame batch = ThreePlayerStandard.getAfterSetupPhaseAlmostEmptyBank(winPoints);
+        assertTrue(single.buildCity(new Point(5, 7)));
+        assertTrue(batch.buildCity(new Point(5, 7)));
+
+        int[][] expected = new int[Faction.values().length][Resource.values().length];
+        int thiefIndex = 12;
+        for (int i = 0; i < thiefIndex; i++) {
+            for (Map.Entry<Faction, List<Resource>> entry : single.throwDice(diceThrows[i]).entrySet()) {
+                for (Resource resource : entry.getValue()) {
+                    expected[entry.getKey().ordinal()][resource.ordinal()]++;
+                }
+            }
+        }
+
+        int[][] payouts = new int[Faction.values().length][Resource.values().length];
+        assertEquals(thiefIndex, batch.throwDice(diceThrows, payouts));
+        assertArrayEquals(expected, payouts);
+        assertEquals(single.getStateHash(), batch.getStateHash());
+        for (Resource resource : Resource.values()) {
+            assertEquals(single.getBank().getResourceCount(resource), batch.getBank().getResourceCount(resource));
+            for (int i = 0; i < single.getPlayers().size(); i++) {
+                assertEquals(single.getPlayers().get(i).getResourceCount(resource),
+                        batch.getPlayers().get(i).getResourceCount(resource));
+            }
+        }
+
+        assertEquals(2, batch.throwDice(new int[]{4, 4}, payouts));
+        assertThrows(IllegalArgumentException.class, () -> batch.throwDice(new int[]{4, 13}, payouts));
+    }
+
+    /**
+     * Tests the {@link SiedlerGame#getExpectedIncome(Faction, Resource)} method. This test checks the incrementally
+     * updated income against a scan of the board after building a city and moving the thief.
+     * This is a positive test of the equivalence class 32.
+     */
+    @Test
+    public void expectedIncomeTest() {
+        siedlerGame = ThreePlayerStandard.getAfterSetupPhaseAlmostEmptyBank(winPoints);
+        assertExpectedIncome(siedlerGame);
+
+        // the settlement at (5, 7) is next to the mountain at (6, 8) with a 4, which has 3 of 36 dice combinations
+        double ore = siedlerGame.getExpectedIncome(Faction.RED, Resource.ORE);
+        assertTrue(siedlerGame.buildCity(new Point(5, 7)));
+        assertEquals(ore + 3 / 36.0, siedlerGame.getExpectedIncome(Faction.RED, Resource.ORE), 1e-9);
+        assertExpectedIncome(siedlerGame);
+
+        assertTrue(siedlerGame.placeThiefAndStealCard(new Point(5, 11)));
+        assertExpectedIncome(siedlerGame);
+        assertTrue(siedlerGame.placeThiefAndStealCard(new Point(6, 8)));
+        assertExpectedIncome(siedlerGame);
+        assertEquals(ore - 3 / 36.0, siedlerGame.getExpectedIncome(Faction.RED, Resource.ORE), 1e-9);
+        assertEquals(Resource.values().length, siedlerGame.getExpectedIncome(Faction.BLUE).size());
+    }
+
+    private static void assertExpectedIncome(SiedlerGame game) {
+        SiedlerBoard board = game.getBoard();
+        for (Faction faction : game.getPlayerFactions()) {
+            Map<Resource, Double> expected = new HashMap<>();
+            for (Point field : board.getFields()) {
+                Resource resource = board.getField(field).getResource();
+                if (resource == null || field.equals(game.getFieldOccupiedByThief())) {
+                    continue;
+                }
+                for (String corner : board.getCornersOfField(field)) {
+                    int multiplier = corner.equals(faction.toString()) ? 1 : corner.equalsIgnoreCase(faction.toString()) ? 2 : 0;
+                    double probability = (6 - Math.abs(7 - board.getDiceValue(field))) / 36.0;
+                    expected.merge(resource, multiplier * probability, Double::sum);
+                }
+            }
+            for (Resource resource : Resource.values()) {
+                assertEquals(expected.getOrDefault(resource, 0.0), game.getExpectedIncome(faction, resource), 1e-9);
+            }
+        }
+    }
+
+    /**
+     * Tests the {@link SiedlerGame#getSettlementLocations()}, {@link SiedlerGame#getRoadLocations()},
+     * {@link SiedlerGame#getInitialSettlementLocations()} and {@link SiedlerGame#getInitialRoadLocations(Point)}
+     * methods. This test checks the incrementally updated locations against the rules applied to every corner and
+     * edge of the board, from the empty board to the building of roads, settlements and cities, that the founder's
+     * roads start at the given settlement and that changing the returned points does not change the game.
+     * This is a positive test of the equivalence class 33.
+     */
+    @Test
+    public void buildableLocationsTest() {
+        siedlerGame = new SiedlerGame(winPoints, ThreePlayerStandard.NUMBER_OF_PLAYERS);
+        assertBuildableLocations(siedlerGame);
+
+        siedlerGame = ThreePlayerStandard.getAfterSetupPhaseAlmostEmptyBank(winPoints);
+        assertBuildableLocations(siedlerGame);
+        Point settlement = ThreePlayerStandard.INITIAL_SETTLEMENT_POSITIONS.get(Faction.RED).second;
+        List<Point[]> initialRoads = siedlerGame.getInitialRoadLocations(settlement);
+        assertFalse(initialRoads.isEmpty());
+        assertTrue(initialRoads.size() < siedlerGame.getRoadLocations().size());
+        for (Point[] edge : initialRoads) {
+            assertEquals(settlement, edge[0]);
+            assertTrue(siedlerGame.getBoard().isRoadLocation(Faction.RED, edge[0], edge[1]));
+        }
+
+        siedlerGame.getRoadLocations().iterator().next()[0].translate(100, 100);
+        siedlerGame.getSettlementLocations().forEach(corner -> corner.translate(100, 100));
+        siedlerGame.getInitialSettlementLocations().forEach(corner -> corner.translate(100, 100));
+        assertBuildableLocations(siedlerGame);
+        assertTrue(siedlerGame.buildRoad(new Point(6, 6), new Point(7, 7)));
+        assertTrue(siedlerGame.buildRoad(new Point(7, 7), new Point(8, 6)));
+        assertBuildableLocations(siedlerGame);
+        assertTrue(siedlerGame.getSettlementLocations().contains(new Point(7, 7)));
+        assertTrue(siedlerGame.buildSettlement(new Point(7, 7)));
+        assertFalse(siedlerGame.getSettlementLocations().contains(new Point(7, 7)));
+        assertTrue(siedlerGame.buildCity(new Point(7, 7)));
+        assertBuildableLocations(siedlerGame);
+    }
+
+    private static void assertBuildableLocations(SiedlerGame game) {
+        SiedlerBoard board = game.getBoard();
+        for (int i = 0; i < game.getPlayerFactions().size(); i++) {
+            String faction = game.getCurrentPlayerFaction().toString();
+            Set<Point> initialSettlements = new HashSet<>();
+            Set<Point> settlements = new HashSet<>();
+            for (Point corner : board.getCornerPositions()) {
+                boolean isFree = board.getCorner(corner) == null && board.getNeighboursOfCorner(corner).isEmpty()
+                        && !isOnlyNextToWater(board, corner);
+                if (isFree) {
+                    initialSettlements.add(corner);
+                    if (board.getAdjacentEdges(corner).contains(faction)) {
+                        settlements.add(corner);
+                    }
+                }
+            }
+            Set<List<Point>> roads = new HashSet<>();
+            for (Point[] edge : board.getEdgePositions()) {
+                boolean isNextToOwnBuilding = faction.equalsIgnoreCase(board.getCorner(edge[0]))
+                        || faction.equalsIgnoreCase(board.getCorner(edge[1]));
+                boolean isNextToOwnRoad = board.getAdjacentEdges(edge[0]).contains(faction)
+                        || board.getAdjacentEdges(edge[1]).contains(faction);
+                if (board.getEdge(edge[0], edge[1]) == null && (isNextToOwnBuilding || isNextToOwnRoad)
+                        && !isOnlyNextToWater(board, edge[0]) && !isOnlyNextToWater(board, edge[1])) {
+                    roads.add(List.of(edge));
+                }
+            }
+            Set<List<Point>> actualRoads = new HashSet<>();
+            for (Point[] edge : game.getRoadLocations()) {
+                actualRoads.add(List.of(edge));
+            }
+
+            assertEquals(initialSettlements, game.getInitialSettlementLocations());
+            assertEquals(settlements, game.getSettlementLocations());
+            assertEquals(roads, actualRoads);
+            game.switchToNextPlayer();
+        }
+    }
+
+    private static boolean isOnlyNextToWater(SiedlerBoard board, Point corner) {
+        for (Land land : board.getFields(corner)) {
+            if (land != Land.WATER) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Tests the {@link SiedlerGame#rankThiefPlacements()} method. This test checks that every field except water and
+     * the field of the thief is ranked, that the ranking is ordered by the score and that the blocked income and the
+     * chance to steal a card of a missing resource match the board and the hands.
+     * This is a positive test of the equivalence class 34.
+     */
+    @Test
+    public void rankThiefPlacementsTest() {
+        siedlerGame = ThreePlayerStandard.getAfterSetupPhaseAlmostEmptyBank(winPoints);
+        SiedlerBoard board = siedlerGame.getBoard();
+
+        Set<Point> fields = new HashSet<>();
+        for (Point field : board.getFields()) {
+            if (board.getField(field) != Land.WATER && !field.equals(siedlerGame.getFieldOccupiedByThief())) {
+                fields.add(field);
+            }
+        }
+        Set<Point> rankedFields = new HashSet<>();
+        Player thief = siedlerGame.getCurrentPlayer();
+        assertTrue(thief.transferTo(siedlerGame.getBank(), Resource.WOOL, thief.getResourceCount(Resource.WOOL)));
+        List<ThiefPlacement> placements = siedlerGame.rankThiefPlacements();
+        boolean canSteal = false;
+        for (int i = 0; i < placements.size(); i++) {
+            ThiefPlacement placement = placements.get(i);
+            Point field = placement.getField();
+            rankedFields.add(field);
+            if (i > 0) {
+                assertTrue(placements.get(i - 1).getScore() >= placement.getScore());
+            }
+
+            double blockedOpponentIncome = 0;
+            boolean isNextToOpponent = false;
+            List<Player> victims = new ArrayList<>();
+            for (Player player : siedlerGame.getPlayers()) {
+                if (player.getFaction() != thief.getFaction()) {
+                    blockedOpponentIncome += board.getFieldProductionWeight(field, player.getFaction()) / 36.0;
+                    for (String corner : board.getCornersOfField(field)) {
+                        if (player.getFaction().toString().equalsIgnoreCase(corner)) {
+                            isNextToOpponent = true;
+                            if (player.hasResources()) {
+                                victims.add(player);
+                            }
+                        }
+                    }
+                }
+            }
+            double stealChance = 0;
+            for (Player victim : victims) {
+                Set<Resource> types = victim.getAvailableResources().keySet();
+                long missingTypes = types.stream().filter(resource -> thief.getResourceCount(resource) == 0).count();
+                stealChance += (double) missingTypes / types.size() / victims.size();
+            }
+            assertEquals(blockedOpponentIncome, placement.getBlockedOpponentIncome(), 1e-9);
+            assertEquals(stealChance, placement.getStealChance(), 1e-9);
+            canSteal |= isNextToOpponent;
+        }
+        assertEquals(fields, rankedFields);
+        assertTrue(canSteal);
+        assertTrue(placements.stream().anyMatch(placement -> placement.getStealChance() == 0.5));
+        assertTrue(placements.get(0).getBlockedOpponentIncome() > 0);
+        assertTrue(siedlerGame.placeThiefAndStealCard(placements.get(0).getField()));
+        assertFalse(siedlerGame.rankThiefPlacements().stream()
+                .anyMatch(placement -> placement.getField().equals(siedlerGame.getFieldOccupiedByThief())));
+    }
+
+    /**
+     * Tests that the factions keep the seat order and cannot be modified, that the current player follows the
+     * switches of the player and that the players returned are a copy in seat order.
+     * This is a positive test of the equivalence class 35.
+     */
+    @Test
+    public void playerLookupTest() {
+        siedlerGame = new SiedlerGame(winPoints, 4);
+        List<Faction> factions = siedlerGame.getPlayerFactions();
+        assertEquals(List.of(Faction.RED, Faction.BLUE, Faction.GREEN, Faction.YELLOW), factions);
+        assertThrows(UnsupportedOperationException.class, () -> factions.add(Faction.RED));
+
+        siedlerGame.switchToPreviousPlayer();
+        assertEquals(Faction.YELLOW, siedlerGame.getCurrentPlayerFaction());
+        assertSame(siedlerGame.getPlayers().getLast(), siedlerGame.getCurrentPlayer());
+        siedlerGame.switchToNextPlayer();
+        siedlerGame.switchToNextPlayer();
+        assertEquals(Faction.BLUE, siedlerGame.getCurrentPlayerFaction());
+        assertSame(siedlerGame.getPlayers().get(1), siedlerGame.getCurrentPlayer());
+
+        siedlerGame.getPlayers().clear();
+        assertEquals(4, siedlerGame.getPlayers().size());
+    }
+
+    /**
+     * Tests that the total count follows every change of the stock, that a failed removal changes nothing and that
+     * the resources are a read-only view with every resource, which equals a map with the same counts.
+     * This is a positive test of the equivalence class 36.
+     */
+    @Test
+    public void resourceInventoryTest() {
+        Player player = new Player(Faction.RED);
+        Map<Resource, Integer> resources = player.getResources();
+        assertEquals(Resource.values().length, resources.size());
+        assertEquals(0, player.getTotalResourceCount());
+        assertFalse(player.hasResources());
+
+        player.addResource(Resource.ORE, 3);
+        player.addResource(Resource.WOOL, 1);
+        assertFalse(player.removeResource(Resource.WOOL, 2));
+        assertTrue(player.removeResource(Resource.ORE, 1));
+        player.setResourceCount(Resource.BRICK, 4);
+        assertEquals(7, player.getTotalResourceCount());
+        assertEquals(Map.of(Resource.LUMBER, 0, Resource.BRICK, 4, Resource.WOOL, 1, Resource.GRAIN, 0,
+                Resource.ORE, 2), resources);
+        assertEquals(2, resources.get(Resource.ORE));
+        assertThrows(UnsupportedOperationException.class, () -> resources.put(Resource.ORE, 5));
+
+        Bank bank = new Bank();
+        assertEquals(Config.INITIAL_RESOURCE_CARDS_BANK, bank.getResources());
+        assertEquals(5 * 19, bank.getTotalResourceCount());
+    }
+
+    /**
+     * Tests that the cost counts match the cost lists and that paying a structure moves all of its cards from the
+     * player to the bank, or none if the player cannot pay it.
+     * This is a positive test of the equivalence class 37.
+     */
+    @Test
+    public void structureCostsTest() {
+        for (Structure structure : Structure.values()) {
+            for (Resource resource : Resource.values()) {
+                long expected = structure.getCosts().stream().filter(r -> r == resource).count();
+                assertEquals(expected, structure.getCostCount(resource));
+                assertEquals(expected, structure.getCostsAsMap().getOrDefault(resource, 0L));
+            }
+        }
+        assertThrows(UnsupportedOperationException.class, () -> Structure.ROAD.getCostsAsMap().clear());
+
+        Player player = new Player(Faction.RED);
+        Bank bank = new Bank();
+        player.addResource(Resource.ORE, 3);
+        player.addResource(Resource.GRAIN, 1);
+        player.removeResourcesForStructure(Structure.CITY);
+        assertEquals(4, player.getTotalResourceCount());
+
+        player.addResource(Resource.GRAIN, 1);
+        player.removeResourcesForStructure(Structure.CITY);
+        bank.addResourcesForStructure(Structure.CITY);
+        assertEquals(0, player.getTotalResourceCount());
+        assertEquals(19 + 3, bank.getResourceCount(Resource.ORE));
+        assertEquals(19 + 2, bank.getResourceCount(Resource.GRAIN));
+        assertEquals(5 * 19 + 5, bank.getTotalResourceCount());
+    }
+
+    /**
+     * Tests that a trade with the bank which the bank cannot pay moves no resource cards, neither from the player
+     * nor to the bank.
+     * This is a negative test of the equivalence class 38.
+     */
+    @Test
+    public void tradeWithBankWithoutStockTest() {
+        SiedlerGame model = ThreePlayerStandard.getAfterSetupPhaseAlmostEmptyBank(winPoints);
+        Player player = model.getCurrentPlayer();
+        Map<Resource, Integer> playerResources = new HashMap<>(player.getResources());
+        Map<Resource, Integer> bankResources = new HashMap<>(model.getBank().getResources());
+        assertTrue(player.getResourceCount(Resource.LUMBER) >= SiedlerGame.FOUR_TO_ONE_TRADE_OFFER);
+        assertEquals(0, model.getBank().getResourceCount(Resource.WOOL));
+
+        assertFalse(model.tradeWithBankFourToOne(Resource.LUMBER, Resource.WOOL));
+        assertEquals(playerResources, player.getResources());
+        assertEquals(bankResources, model.getBank().getResources());
+    }
+
+    /**
+     * Tests that concurrent transfers and exchanges in opposite directions neither deadlock nor lose or create
+     * resource cards.
+     * This is a positive test of the equivalence class 38.
+     */
+    @Test
+    public void concurrentTransferTest() throws InterruptedException {
+        Player red = new Player(Faction.RED);
+        Player blue = new Player(Faction.BLUE);
+        red.addResource(Resource.ORE, 50);
+        blue.addResource(Resource.GRAIN, 50);
+        int[] ore = new int[Resource.values().length];
+        int[] grain = new int[Resource.values().length];
+        ore[Resource.ORE.ordinal()] = 2;
+        grain[Resource.GRAIN.ordinal()] = 3;
+
+        Thread redToBlue = new Thread(() -> {
+            for (int i = 0; i < 20_000; i++) {
+                red.exchange(blue, ore, grain);
+                red.transferTo(blue, Resource.GRAIN, 1);
+            }
+        });
+        Thread blueToRed = new Thread(() -> {
+            for (int i = 0; i < 20_000; i++) {
+                blue.exchange(red, ore, grain);
+                blue.transferTo(red, Resource.GRAIN, 1);
+            }
+        });
+        redToBlue.start();
+        blueToRed.start();
+        redToBlue.join(10_000);
+        blueToRed.join(10_000);
+
+        assertFalse(redToBlue.isAlive() || blueToRed.isAlive());
+        assertEquals(50, red.getResourceCount(Resource.ORE) + blue.getResourceCount(Resource.ORE));
+        assertEquals(50, red.getResourceCount(Resource.GRAIN) + blue.getResourceCount(Resource.GRAIN));
+        assertEquals(100, red.getTotalResourceCount() + blue.getTotalResourceCount());
+        assertFalse(red.transferTo(blue, Resource.WOOL, 1));
+        assertThrows(IllegalArgumentException.class, () -> red.transferTo(red, Resource.ORE, 1));
+    }
+
+    /**
+     * Tests that the discarded cards have the distribution of a shuffled hand of which the first half is taken: the
+     * number of discarded cards of every resource follows the hypergeometric distribution. The observed frequencies
+     * are compared with the exact probabilities by a chi-squared test at the significance level 0.001.
+     * This is a positive test of the equivalence class 39.
+     */
+    @Test
+    public void discardDistributionTest() {
+        int[] hand = {6, 3, 1, 0, 2};
+        int total = 12;
+        int draws = total / 2;
+        int samples = 20_000;
+        double[] criticalValues = {0, 10.83, 13.82, 16.27, 18.47, 20.52, 22.46};
+        int[][] frequencies = new int[hand.length][draws + 1];
+        int[] drawn = new int[hand.length];
+        Random random = new Random(42);
+        for (int sample = 0; sample < samples; sample++) {
+            SiedlerGame.drawWithoutReplacement(hand, total, draws, random, drawn);
+            int sum = 0;
+            for (int i = 0; i < hand.length; i++) {
+                assertTrue(drawn[i] <= hand[i]);
+                sum += drawn[i];
+                frequencies[i][drawn[i]]++;
+            }
+            assertEquals(draws, sum);
+        }
+
+        for (int i = 0; i < hand.length; i++) {
+            int max = Math.min(hand[i], draws);
+            if (max == 0) {
+                assertEquals(samples, frequencies[i][0]);
+                continue;
+            }
+            double chiSquared = 0;
+            for (int count = 0; count <= max; count++) {
+                double expected = samples * binomial(hand[i], count) * binomial(total - hand[i], draws - count)
+                        / binomial(total, draws);
+                chiSquared += Math.pow(frequencies[i][count] - expected, 2) / expected;
+            }
+            assertTrue(chiSquared < criticalValues[max], Resource.values()[i] + ": chi-squared " + chiSquared);
+        }
+    }
+
+    /**
+     * Tests that the standard layout is shared and cannot be modified, that a board copied from the template equals a
+     * board built from the layout and that changes of a board do not show on the next board.
+     * This is a positive test of the equivalence class 40.
+     */
+    @Test
+    public void boardTemplateTest() {
+        assertSame(Config.getStandardLandPlacement(), Config.getStandardLandPlacement());
+        assertThrows(UnsupportedOperationException.class, () -> Config.getStandardDiceNumberPlacement().clear());
+
+        SiedlerBoard built = new SiedlerBoard(Config.getStandardLandPlacement(), Config.getStandardDiceNumberPlacement());
+        SiedlerBoard changed = new SiedlerBoard();
+        changed.setCorner(new Point(5, 7), Faction.RED.toString());
+        changed.setEdge(new Point(5, 7), new Point(6, 6), Faction.RED.toString());
+        changed.addAllBuildingElementOnBoard(new Settlement(new Point(5, 7), Structure.SETTLEMENT, Faction.RED));
+
+        SiedlerBoard copied = new SiedlerBoard();
+        assertNull(copied.getCorner(new Point(5, 7)));
+        assertNull(copied.getEdge(new Point(5, 7), new Point(6, 6)));
+        assertTrue(copied.getAllBuildingElementOnBoard(Faction.RED, Structure.SETTLEMENT).isEmpty());
+        assertEquals(built.getZobristHash(), copied.getZobristHash());
+        assertEquals(built.getInitialSettlementLocations(), copied.getInitialSettlementLocations());
+        assertEquals(built.getCornerPositions(), copied.getCornerPositions());
+        assertEquals(new SiedlerBoardTextView(built).toString(), new SiedlerBoardTextView(copied).toString());
+    }
+
+    /**
+     * Tests that a copied game has the same state, victory points and current player as the game and that moves in
+     * the copy do not change the game.
+     * This is a positive test of the equivalence class 41.
+     */
+    @Test
+    public void gameCopyTest() {
+        SiedlerGame game = ThreePlayerStandard.getAfterSetupPhaseAlmostEmptyBank(winPoints);
+        game.switchToNextPlayer();
+        SiedlerGame copy = new SiedlerGame(game);
+
+        assertEquals(game.getStateHash(), copy.getStateHash());
+        assertEquals(game.getCurrentPlayerFaction(), copy.getCurrentPlayerFaction());
+        assertEquals(game.getScoreLedger().getLeaderboard(), copy.getScoreLedger().getLeaderboard());
+        for (Faction faction : game.getPlayerFactions()) {
+            assertEquals(game.getScoreLedger().getPoints(faction, ScoreLedger.Source.SETTLEMENT),
+                    copy.getScoreLedger().getPoints(faction, ScoreLedger.Source.SETTLEMENT));
+        }
+        assertEquals(new SiedlerBoardTextView(game.getBoard()).toString(),
+                new SiedlerBoardTextView(copy.getBoard()).toString());
+
+        long hash = game.getStateHash();
+        Map<Resource, Integer> stock = game.getCurrentPlayer().getResources();
+        copy.switchToPreviousPlayer();
+        assertTrue(copy.buildCity(new Point(5, 7)));
+        assertEquals(hash, game.getStateHash());
+        assertEquals(stock, game.getCurrentPlayer().getResources());
+        assertEquals(Faction.values()[0].toString(), game.getBoard().getCorner(new Point(5, 7)));
+        assertEquals(2, game.getScoreLedger().getPoints(Faction.values()[0]));
+        assertEquals(3, copy.getScoreLedger().getPoints(Faction.values()[0]));
+    }
+
+    private static double binomial(int n, int k) {
+        double result = 1;
+        for (int i = 1; i <= k; i++) {
+            result = result * (n - k + i) / i;
+        }
+        return result;
+    }
+
     /**
      * This method places a city at a desired point without checking if the resources are available or whether the position is valid.
      * Only allowed to use during testing.
@@ -0,0 +1,99 @@
+package ch.zhaw.catan;
+
+import ch.zhaw.catan.games.ThreePlayerStandard;
+
+import org.junit.jupiter.api.Test;
+
+import java.awt.*;
+
+import static ch.zhaw.catan.Config.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for {@link SiedlerGame#getStateHash()} and the {@link TranspositionTable} class.<br>
+ *
+ * <br>This test class has the following equivalence classes:<br>
+ *
+ * <br>01. EqualStatesHaveEqualHashes: Tests if equal states reached in different ways have equal hashes.
+ * <br>02. DifferentStatesHaveDifferentHashes: Tests if mutations change the hash.
+ * <br>03. TranspositionTableWorks: Tests storing, retrieving and replacing entries.
+ *
+ * @author StackOverflow
+ * @version 1.0
+ */
+class StateHashTest {
+
+    private static final int WIN_POINTS = 7;
+
+    /**
+     * Tests that building the same roads in a different order and restoring a snapshot result in the same hash.
+     * This is a positive test and of the equivalence class 01.
+     */
+    @Test
+    public void equalStatesTest() {
+        SiedlerGame first = ThreePlayerStandard.getAfterSetupPhaseAlmostEmptyBank(WIN_POINTS);
+        SiedlerGame second = ThreePlayerStandard.getAfterSetupPhaseAlmostEmptyBank(WIN_POINTS);
+        assertEquals(first.getStateHash(), second.getStateHash());
+
+        assertTrue(first.buildRoad(new Point(6, 6), new Point(7, 7)));
+        assertTrue(first.buildRoad(new Point(6, 6), new Point(6, 4)));
+        assertTrue(second.buildRoad(new Point(6, 4), new Point(6, 6)));
+        assertTrue(second.buildRoad(new Point(7, 7), new Point(6, 6)));
+        assertEquals(first.getStateHash(), second.getStateHash());
+
+        assertEquals(first.getStateHash(), GameSnapshot.restore(GameSnapshot.save(first)).getStateHash());
+    }
+
+    /**
+     * Tests that building, trading, moving the thief and switching the player change the hash and that undoing a
+     * change restores it. This is a positive test and of the equivalence class 02.
+     */
+    @Test
+    public void differentStatesTest() {
+        SiedlerGame game = ThreePlayerStandard.getAfterSetupPhaseAlmostEmptyBank(WIN_POINTS);
+        long initial = game.getStateHash();
+
+        game.switchToNextPlayer();
+        assertNotEquals(initial, game.getStateHash());
+        game.switchToPreviousPlayer();
+        assertEquals(initial, game.getStateHash());
+
+        assertTrue(game.tradeWithBankFourToOne(Resource.LUMBER, Resource.ORE));
+        long afterTrade = game.getStateHash();
+        assertNotEquals(initial, afterTrade);
+
+        assertTrue(game.buildCity(new Point(5, 7)));
+        long afterCity = game.getStateHash();
+        assertNotEquals(afterTrade, afterCity);
+
+        assertTrue(game.placeThiefAndStealCard(new Point(5, 11)));
+        assertNotEquals(afterCity, game.getStateHash());
+    }
+
+    /**
+     * Tests that the transposition table returns stored values and follows its replacement policy.
+     * This is a positive test and of the equivalence class 03.
+     */
+    @Test
+    public void transpositionTableTest() {
+        TranspositionTable<String> table = new TranspositionTable<>(3);
+        assertEquals(4, table.getCapacity());
+
+        assertTrue(table.put(1, "deep", 5));
+        assertEquals("deep", table.get(1));
+        assertNull(table.get(5));
+
+        assertFalse(table.put(5, "shallow", 2));
+        assertEquals("deep", table.get(1));
+
+        table.newGeneration();
+        assertTrue(table.put(5, "newer", 1));
+        assertEquals("newer", table.get(5));
+        assertNull(table.get(1));
+        assertEquals(1, table.size());
+
+        table.clear();
+        assertNull(table.get(5));
+        assertThrows(IllegalArgumentException.class, () -> new TranspositionTable<>(0));
+    }
+}
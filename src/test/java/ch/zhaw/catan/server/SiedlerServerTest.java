@@ -0,0 +1,263 @@
+package ch.zhaw.catan.server;
+
+import ch.zhaw.catan.Config.Faction;
+import ch.zhaw.utils.Metrics;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for the {@link SiedlerServer} and {@link SiedlerLoadGenerator} classes.<br>
+ *
+ * <br>This test class has the following equivalence classes:<br>
+ *
+ * <br>01. FounderPhaseWorks: Tests the founder's phase over the line protocol.
+ * <br>02. InvalidCommandsAreRejected: Tests that invalid commands are answered with an error.
+ * <br>03. ConcurrentGamesWork: Tests many games played concurrently by the load generator.
+ * <br>04. SeatsAreEnforced: Tests that clients are seated on one faction and only send commands on their turn.
+ * <br>05. StoppedGamesAreClosed: Tests that stopped games reject joins and commands and that the gauge is removed.
+ * <br>06. JournaledGamesAreResumed: Tests that a restarted server resumes the journaled games.
+ *
+ * @author StackOverflow
+ * @version 1.0
+ */
+class SiedlerServerTest {
+
+    private SiedlerServer server;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        server = new SiedlerServer(0);
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        server.close();
+    }
+
+    /**
+     * Tests that two players can play the founder's phase and that the dice are thrown afterwards.
+     * This is a positive test and of the equivalence class 01.
+     */
+    @Test
+    public void founderPhaseTest() throws IOException {
+        try (Connection red = new Connection(server.getPort());
+             Connection blue = new Connection(server.getPort())) {
+            String created = red.send("NEW 7 2");
+            assertTrue(created.startsWith("OK ") && created.endsWith(" RED"));
+            assertEquals(1, server.getNumberOfGames());
+            assertEquals("OK " + created.split(" ")[1] + " BLUE", blue.send("JOIN " + created.split(" ")[1]));
+
+            assertEquals("OK RED", red.send("BUILD SETTLEMENT 5 7"));
+            assertEquals("OK RED NEXT BLUE", red.send("BUILD ROAD 5 7 6 6"));
+            assertEquals("OK BLUE", blue.send("BUILD SETTLEMENT 11 13"));
+            assertEquals("OK BLUE NEXT BLUE", blue.send("BUILD ROAD 11 13 12 12"));
+            assertEquals("OK BLUE", blue.send("BUILD SETTLEMENT 8 4"));
+            assertEquals("OK BLUE NEXT RED", blue.send("BUILD ROAD 8 4 8 6"));
+            assertEquals("OK RED", red.send("BUILD SETTLEMENT 10 16"));
+            assertTrue(red.send("BUILD ROAD 10 16 9 15").startsWith("OK RED DICE "));
+
+            String board = red.send("PRINT_BOARD");
+            int lines = Integer.parseInt(board.substring(3));
+            for (int i = 0; i < lines; i++) {
+                assertNotNull(red.in.readLine());
+            }
+            assertTrue(red.send("PRINT_INVENTORY").startsWith("OK RED GRAIN="));
+        }
+    }
+
+    /**
+     * Tests that commands without a game, unknown commands, invalid arguments and commands in the wrong phase are
+     * rejected.
+     * This is a negative test and of the equivalence class 02.
+     */
+    @Test
+    public void invalidCommandsTest() throws IOException {
+        try (Connection connection = new Connection(server.getPort())) {
+            assertTrue(connection.send("FINISH_MOVE").startsWith("ERR"));
+            assertTrue(connection.send("NEW 7 9").startsWith("ERR"));
+            assertTrue(connection.send("JOIN 4711").startsWith("ERR"));
+            assertTrue(connection.send("JOIN RED").startsWith("ERR Usage"));
+            assertTrue(connection.send("NEW 7 2").startsWith("OK"));
+            assertTrue(connection.send("JUMP").startsWith("ERR"));
+            assertTrue(connection.send("FINISH_MOVE").startsWith("ERR"));
+            assertTrue(connection.send("TRADE LUMBER ORE").startsWith("ERR"));
+            assertTrue(connection.send("THIEF 5 11").startsWith("ERR"));
+            assertTrue(connection.send("BUILD ROAD 5 7 6 6").startsWith("ERR"));
+            assertTrue(connection.send("BUILD SETTLEMENT 5").startsWith("ERR"));
+            assertEquals("ERR Usage: BUILD <SETTLEMENT|CITY|ROAD> <coordinates>", connection.send("BUILD CASTLE 5 7"));
+            assertEquals("ERR The coordinates must be integers.", connection.send("BUILD SETTLEMENT 5 x"));
+        }
+    }
+
+    /**
+     * Tests that the load generator can play many games concurrently.
+     * This is a positive test and of the equivalence class 03.
+     */
+    @Test
+    public void concurrentGamesTest() throws Exception {
+        long[] latencies = SiedlerLoadGenerator.run(server.getPort(), 20, 10);
+        assertTrue(latencies.length >= 20 * 9);
+        for (int i = 1; i < latencies.length; i++) {
+            assertTrue(latencies[i - 1] <= latencies[i]);
+        }
+    }
+
+    /**
+     * Tests that every client takes one seat, that a full game rejects further clients and that only the client on
+     * turn may change the game.
+     * This is a negative test and of the equivalence class 04.
+     */
+    @Test
+    public void seatsTest() throws IOException, InterruptedException {
+        try (Connection red = new Connection(server.getPort());
+             Connection blue = new Connection(server.getPort());
+             Connection third = new Connection(server.getPort())) {
+            String id = red.send("NEW 7 2").split(" ")[1];
+            assertEquals("OK " + id + " BLUE", blue.send("JOIN " + id));
+            assertEquals("ERR The game " + id + " is full.", third.send("JOIN " + id));
+            assertTrue(third.send("BUILD SETTLEMENT 5 7").startsWith("ERR Create or join"));
+
+            assertEquals("ERR BLUE is not on turn, it is the turn of RED", blue.send("BUILD SETTLEMENT 5 7"));
+            assertTrue(blue.send("PRINT_INVENTORY").startsWith("ERR BLUE is not on turn"));
+            int lines = Integer.parseInt(blue.send("PRINT_BOARD").substring(3));
+            for (int i = 0; i < lines; i++) {
+                assertNotNull(blue.in.readLine());
+            }
+            assertEquals("OK RED", red.send("BUILD SETTLEMENT 5 7"));
+            assertEquals("OK RED NEXT BLUE", red.send("BUILD ROAD 5 7 6 6"));
+
+            blue.send("QUIT");
+            awaitUntil(() -> !third.send("JOIN " + id).contains("full"));
+            assertEquals(1, server.getNumberOfGames());
+            assertEquals("OK BLUE", third.send("BUILD SETTLEMENT 11 13"));
+        }
+    }
+
+    /**
+     * Tests that a game whose last client has left cannot be joined, that a stopped game rejects commands instead of
+     * blocking and that a closed server removes its gauge.
+     * This is a negative test and of the equivalence class 05.
+     */
+    @Test
+    public void stoppedGameTest() throws IOException, InterruptedException {
+        try (Connection creator = new Connection(server.getPort());
+             Connection connection = new Connection(server.getPort())) {
+            String id = creator.send("NEW 7 2").split(" ")[1];
+            creator.send("QUIT");
+            awaitUntil(() -> server.getNumberOfGames() == 0);
+            assertEquals("ERR There is no game " + id + ".", connection.send("JOIN " + id));
+        }
+
+        GameSession session = new GameSession(1, 7, 2);
+        assertEquals(Faction.RED, session.attach());
+        assertTrue(session.detach(Faction.RED));
+        assertNull(session.attach());
+        assertEquals("ERR The game has been stopped.", session.execute(Faction.RED, "PRINT_BOARD"));
+
+        assertTrue(Metrics.toText().contains("gauge server.games "));
+        server.close();
+        assertFalse(Metrics.toText().contains("gauge server.games "));
+    }
+
+    /**
+     * Tests that a restarted server resumes a journaled game in the middle of the founder's phase under its id, that
+     * new games get new ids and that the journal of an abandoned game is deleted.
+     * This is a positive test and of the equivalence class 06.
+     */
+    @Test
+    public void resumeJournaledGameTest(@TempDir Path journals) throws IOException, InterruptedException {
+        server.close();
+        server = new SiedlerServer(0, journals);
+        String id;
+        try (Connection red = new Connection(server.getPort());
+             Connection blue = new Connection(server.getPort())) {
+            id = red.send("NEW 7 2").split(" ")[1];
+            blue.send("JOIN " + id);
+            assertEquals("OK RED", red.send("BUILD SETTLEMENT 5 7"));
+            assertEquals("OK RED NEXT BLUE", red.send("BUILD ROAD 5 7 6 6"));
+            assertEquals("OK BLUE", blue.send("BUILD SETTLEMENT 11 13"));
+            server.close();
+        }
+        Path journal = journals.resolve("game-" + id + ".journal");
+        assertTrue(Files.exists(journal));
+
+        server = new SiedlerServer(0, journals);
+        assertEquals(1, server.getNumberOfGames());
+        try (Connection red = new Connection(server.getPort());
+             Connection blue = new Connection(server.getPort())) {
+            assertEquals("OK " + id + " RED", red.send("JOIN " + id));
+            assertEquals("OK " + id + " BLUE", blue.send("JOIN " + id));
+            assertEquals("ERR RED is not on turn, it is the turn of BLUE", red.send("BUILD SETTLEMENT 8 4"));
+            assertTrue(blue.send("BUILD SETTLEMENT 8 4").startsWith("ERR Place a settlement and then a road"));
+            assertEquals("OK BLUE NEXT BLUE", blue.send("BUILD ROAD 11 13 12 12"));
+            assertEquals("OK BLUE", blue.send("BUILD SETTLEMENT 8 4"));
+
+            try (Connection other = new Connection(server.getPort())) {
+                String created = other.send("NEW 7 2");
+                assertEquals("OK " + (Long.parseLong(id) + 1) + " RED", created);
+            }
+            awaitUntil(() -> !Files.exists(journals.resolve("game-" + (Long.parseLong(id) + 1) + ".journal")));
+
+            red.send("QUIT");
+            blue.send("QUIT");
+            awaitUntil(() -> !Files.exists(journal));
+        }
+    }
+
+    /**
+     * Waits until the server has noticed a closed connection, which happens asynchronously.
+     */
+    private static void awaitUntil(Condition condition) throws IOException, InterruptedException {
+        for (int i = 0; i < 200; i++) {
+            if (condition.holds()) {
+                return;
+            }
+            Thread.sleep(10);
+        }
+        fail("The server has not noticed the closed connection.");
+    }
+
+    private interface Condition {
+        boolean holds() throws IOException;
+    }
+
+    /**
+     * A client connection to the server.
+     */
+    private static final class Connection implements AutoCloseable {
+        private final Socket socket;
+        private final BufferedReader in;
+        private final PrintWriter out;
+
+        private Connection(int port) throws IOException {
+            socket = new Socket(InetAddress.getLoopbackAddress(), port);
+            in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+            out = new PrintWriter(socket.getOutputStream(), true, StandardCharsets.UTF_8);
+        }
+
+        private String send(String command) throws IOException {
+            out.println(command);
+            return command.equals("QUIT") ? "" : in.readLine();
+        }
+
+        @Override
+        public void close() throws IOException {
+            socket.close();
+        }
+    }
+}
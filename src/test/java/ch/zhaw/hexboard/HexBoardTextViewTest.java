@@ -0,0 +1,61 @@
+package ch.zhaw.hexboard;
+
+import ch.zhaw.utils.GoldenFiles;
+
+import java.awt.Point;
+import org.junit.jupiter.api.Test;
+
+/***
+ * <p>
+ * Tests for the class {@link HexBoardTextView}. The rendering is compared with
+ * golden files (see {@link GoldenFiles}).
+ * </p>
+ * @author tebe
+ */
+class HexBoardTextViewTest {
+
+  @Test
+  void emptyBoard() {
+    HexBoard<String, String, String, String> board = new HexBoard<>();
+    GoldenFiles.assertMatches("hexboard-empty", new HexBoardTextView<>(board).toString());
+  }
+
+  /**
+   * Renders a synthetic board of 6 x 6 fields with data on every field, on
+   * every second corner, on every third edge and with some lower field labels.
+   */
+  @Test
+  void syntheticBoard() {
+    HexBoard<String, String, String, String> board = new HexBoard<>();
+    HexBoardTextView<String, String, String, String> view = new HexBoardTextView<>(board);
+    int i = 0;
+    for (int row = 0; row < 6; row++) {
+      for (int column = 0; column < 6; column++) {
+        Point field = new Point(2 * column + (row % 2 == 0 ? 2 : 1), 2 + 3 * row);
+        board.addField(field, "F" + i % 10);
+        if (i % 4 == 0) {
+          view.setLowerFieldLabel(field, new Label('L', Character.forDigit(i % 10, 10)));
+        }
+        i++;
+      }
+    }
+    i = 0;
+    for (int row = 0; row < 6; row++) {
+      for (int column = 0; column < 6; column++) {
+        Point field = new Point(2 * column + (row % 2 == 0 ? 2 : 1), 2 + 3 * row);
+        Point top = new Point(field.x, field.y - 2);
+        Point upperRight = new Point(field.x + 1, field.y - 1);
+        Point lowerRight = new Point(field.x + 1, field.y + 1);
+        if (i % 2 == 0) {
+          board.setCorner(top, "c" + i % 10);
+        }
+        if (i % 3 == 0) {
+          board.setEdge(top, upperRight, "e" + i % 10);
+          board.setEdge(upperRight, lowerRight, "E");
+        }
+        i++;
+      }
+    }
+    GoldenFiles.assertMatches("hexboard-synthetic", view.toString());
+  }
+}
@@ -0,0 +1,72 @@
+package ch.zhaw.utils;
+
+import java.lang.management.ManagementFactory;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * This class measures the bytes allocated per call of an operation with the allocation counter of the current
+ * thread ({@link com.sun.management.ThreadMXBean#getCurrentThreadAllocatedBytes()}).
+ * <p>
+ * The operation is warmed up first, so that the just-in-time compiler can remove allocations which do not escape,
+ * and then measured over many calls in a few rounds. The result is the lowest average of the rounds, so that a
+ * single recompilation does not count, hence a budget of less than one byte per call means that the operation does
+ * not allocate at all.
+ * </p>
+ *
+ * @author StackOverflow
+ * @version 1.0
+ */
+public final class Allocations {
+    private static final int WARMUP_CALLS = 50_000;
+    private static final int MEASURED_CALLS = 20_000;
+    private static final int ROUNDS = 3;
+
+    private Allocations() {
+    }
+
+    /**
+     * Returns the average number of bytes allocated per call of the operation.
+     *
+     * @param operation the operation.
+     * @return the allocated bytes per call.
+     */
+    public static double bytesPerCall(Runnable operation) {
+        com.sun.management.ThreadMXBean threads = threadBean();
+        for (int i = 0; i < WARMUP_CALLS; i++) {
+            operation.run();
+        }
+        long lowest = Long.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            long before = threads.getCurrentThreadAllocatedBytes();
+            for (int i = 0; i < MEASURED_CALLS; i++) {
+                operation.run();
+            }
+            lowest = Math.min(lowest, threads.getCurrentThreadAllocatedBytes() - before);
+        }
+        return (double) lowest / MEASURED_CALLS;
+    }
+
+    /**
+     * Asserts that the operation allocates at most the given number of bytes per call on average. The test is skipped
+     * if the virtual machine cannot count the allocated bytes.
+     *
+     * @param name      the name of the operation, for the failure message.
+     * @param budget    the allowed bytes per call.
+     * @param operation the operation.
+     */
+    public static void assertWithinBudget(String name, double budget, Runnable operation) {
+        double bytes = bytesPerCall(operation);
+        assertTrue(bytes <= budget, name + " allocates " + bytes + " bytes per call, the budget is " + budget);
+    }
+
+    private static com.sun.management.ThreadMXBean threadBean() {
+        java.lang.management.ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        assumeTrue(threads instanceof com.sun.management.ThreadMXBean, "The allocated bytes cannot be counted.");
+        com.sun.management.ThreadMXBean allocations = (com.sun.management.ThreadMXBean) threads;
+        assumeTrue(allocations.isThreadAllocatedMemorySupported(), "The allocated bytes cannot be counted.");
+        allocations.setThreadAllocatedMemoryEnabled(true);
+        return allocations;
+    }
+}
@@ -0,0 +1,48 @@
+package ch.zhaw.utils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * This class compares output with golden files, i.e. with the output of a known good version stored in
+ * {@code src/test/resources/golden}.
+ * <p>
+ * The line separators of the platform are replaced with {@code \n} before the comparison, otherwise the output must be
+ * identical character by character. If the output changes on purpose, run the tests with
+ * {@code -Dgolden.update=true} to rewrite the golden files and review their diff.
+ * </p>
+ *
+ * @author StackOverflow
+ * @version 1.0
+ */
+public final class GoldenFiles {
+    private static final Path DIRECTORY = Path.of("src", "test", "resources", "golden");
+
+    private GoldenFiles() {
+    }
+
+    /**
+     * Asserts that the output is identical to the golden file with the given name.
+     *
+     * @param name   the name of the golden file, without the extension.
+     * @param actual the output.
+     */
+    public static void assertMatches(String name, String actual) {
+        Path file = DIRECTORY.resolve(name + ".txt");
+        String normalized = actual.replace(System.lineSeparator(), "\n");
+        try {
+            if (Boolean.getBoolean("golden.update")) {
+                Files.createDirectories(DIRECTORY);
+                Files.writeString(file, normalized, StandardCharsets.UTF_8);
+            }
+            assertEquals(Files.readString(file, StandardCharsets.UTF_8), normalized, "The output differs from " + file);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package ch.zhaw.utils;
+
+import ch.zhaw.catan.SiedlerBoardTextView;
+import ch.zhaw.catan.SiedlerGame;
+import ch.zhaw.catan.games.ThreePlayerStandard;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.awt.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for the {@link Metrics} class.<br>
+ *
+ * <br>This test class has the following equivalence classes:<br>
+ *
+ * <br>01. DisabledMetricsAreIgnored: Tests that nothing is recorded while the metrics are disabled.
+ * <br>02. HistogramIsAccurate: Tests the buckets and percentiles of the histogram.
+ * <br>03. SnapshotsAreDumped: Tests the text and JSON snapshots of instrumented game operations.
+ *
+ * @author StackOverflow
+ * @version 1.0
+ */
+class MetricsTest {
+
+    @AfterEach
+    public void tearDown() {
+        Metrics.setEnabled(false);
+        Metrics.reset();
+    }
+
+    /**
+     * Tests that counters and histograms do not change while the metrics are disabled.
+     * This is a negative test and of the equivalence class 01.
+     */
+    @Test
+    public void disabledMetricsTest() {
+        Metrics.setEnabled(false);
+        Metrics.Counter counter = Metrics.counter("test.disabled.counter");
+        Metrics.Histogram histogram = Metrics.histogram("test.disabled.histogram");
+        counter.increment();
+        histogram.stop(histogram.start());
+        histogram.record(42);
+
+        assertEquals(0, counter.get());
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.start());
+        assertSame(counter, Metrics.counter("test.disabled.counter"));
+    }
+
+    /**
+     * Tests that every value is counted in a bucket whose upper bound is at most about 6 percent above the value and
+     * that the percentiles, the mean and the maximum match the recorded values.
+     * This is a positive test and of the equivalence class 02.
+     */
+    @Test
+    public void histogramTest() {
+        for (long value = 0; value < 1_000_000; value = value * 2 + 1) {
+            for (long v = value; v < value + 3; v++) {
+                long upperBound = Metrics.Histogram.upperBoundOf(Metrics.Histogram.bucketOf(v));
+                assertTrue(upperBound >= v);
+                assertTrue(upperBound <= v + v / 16);
+            }
+        }
+        assertEquals(Long.MAX_VALUE, Metrics.Histogram.upperBoundOf(Metrics.Histogram.bucketOf(Long.MAX_VALUE)));
+
+        Metrics.setEnabled(true);
+        Metrics.Histogram histogram = Metrics.histogram("test.histogram");
+        for (int value = 1; value <= 1000; value++) {
+            histogram.record(value);
+        }
+        assertEquals(1000, histogram.getCount());
+        assertEquals(500.5, histogram.getMean(), 1e-9);
+        assertEquals(1000, histogram.getMax());
+        assertEquals(1000, histogram.getPercentile(100));
+        assertEquals(1, histogram.getPercentile(0));
+        assertEquals(500, histogram.getPercentile(50), 500 / 16.0);
+        assertEquals(990, histogram.getPercentile(99), 990 / 16.0);
+    }
+
+    /**
+     * Tests that the operations of a game, the board queries and the board rendering are timed and that the snapshots
+     * contain them.
+     * This is a positive test and of the equivalence class 03.
+     */
+    @Test
+    public void snapshotTest() {
+        Metrics.setEnabled(true);
+        SiedlerGame game = ThreePlayerStandard.getAfterSetupPhase(7);
+        Metrics.reset();
+        game.throwDice(7);
+        game.buildRoad(new Point(6, 6), new Point(7, 7));
+        game.getBoard().getFields(new Point(6, 6));
+        new SiedlerBoardTextView(game.getBoard()).toString();
+        Metrics.gauge("test.gauge", () -> 4711);
+
+        assertEquals(1, Metrics.histogram("game.throwDice").getCount());
+        assertEquals(1, Metrics.histogram("game.buildRoad").getCount());
+        assertEquals(1, Metrics.counter("game.thiefThrows").get());
+        assertEquals(1, Metrics.histogram("board.getFieldsOfCorner").getCount());
+        assertEquals(1, Metrics.histogram("board.textView.render").getCount());
+
+        String text = Metrics.toText();
+        assertTrue(text.contains("counter game.thiefThrows 1\n"));
+        assertTrue(text.contains("gauge test.gauge 4711\n"));
+        assertTrue(text.contains("histogram game.buildRoad count=1 "));
+
+        String json = Metrics.toJson();
+        assertTrue(json.startsWith("{\"counters\":{"));
+        assertTrue(json.contains("\"game.thiefThrows\":1"));
+        assertTrue(json.contains("\"test.gauge\":4711"));
+        assertTrue(json.contains("\"game.buildRoad\":{\"count\":1,"));
+        assertTrue(json.endsWith("}}"));
+    }
+}